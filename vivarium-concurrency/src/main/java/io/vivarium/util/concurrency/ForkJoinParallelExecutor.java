@@ -0,0 +1,68 @@
+package io.vivarium.util.concurrency;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import io.vivarium.util.ParallelExecutor;
+
+/**
+ * A ParallelExecutor which runs tasks on a fork-join pool. Constructing one installs a TaskRandAllocator so that each
+ * task draws from its own seeded random stream.
+ */
+public class ForkJoinParallelExecutor implements ParallelExecutor
+{
+    private final ForkJoinPool _pool;
+    private final TaskRandAllocator _randAllocator;
+
+    /**
+     * Creates an executor which runs tasks on the common fork-join pool.
+     */
+    public ForkJoinParallelExecutor()
+    {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ForkJoinParallelExecutor(ForkJoinPool pool)
+    {
+        _pool = pool;
+        _randAllocator = TaskRandAllocator.install();
+    }
+
+    @Override
+    public void invokeAll(Runnable[] tasks, int[] seeds, int taskCount)
+    {
+        final ForkJoinTask<?>[] forkJoinTasks = new ForkJoinTask<?>[taskCount];
+        for (int i = 0; i < taskCount; i++)
+        {
+            forkJoinTasks[i] = new SeededTask(tasks[i], seeds[i]);
+        }
+        _pool.invoke(new RecursiveAction()
+        {
+            @Override
+            protected void compute()
+            {
+                ForkJoinTask.invokeAll(forkJoinTasks);
+            }
+        });
+    }
+
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private class SeededTask extends RecursiveAction
+    {
+        private final Runnable _task;
+        private final int _seed;
+
+        SeededTask(Runnable task, int seed)
+        {
+            _task = task;
+            _seed = seed;
+        }
+
+        @Override
+        protected void compute()
+        {
+            _randAllocator.runSeeded(_task, _seed);
+        }
+    }
+}
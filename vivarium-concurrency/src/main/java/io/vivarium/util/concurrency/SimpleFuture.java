@@ -79,7 +79,7 @@ public class SimpleFuture<T> implements Future<T>
     {
         long timeoutInMS = unit.toMillis(timeout);
         long startWaitTime = System.currentTimeMillis();
-        while (!isDone() && startWaitTime + timeoutInMS < System.currentTimeMillis())
+        while (!isDone() && System.currentTimeMillis() < startWaitTime + timeoutInMS)
         {
             Thread.sleep(0);
         }
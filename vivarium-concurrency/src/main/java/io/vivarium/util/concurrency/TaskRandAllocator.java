@@ -0,0 +1,86 @@
+package io.vivarium.util.concurrency;
+
+import io.vivarium.util.Rand;
+import io.vivarium.util.RandAllocator;
+
+/**
+ * A RandAllocator which lets a thread temporarily substitute its own Rand instance while running a task, falling back
+ * to the previously installed allocator otherwise. This is how ParallelExecutor implementations give each task a
+ * private, seeded random stream without the task code needing to know about it.
+ */
+public class TaskRandAllocator implements RandAllocator
+{
+    private final RandAllocator _fallback;
+    private final ThreadLocal<Rand> _taskInstances = new ThreadLocal<Rand>();
+
+    private TaskRandAllocator(RandAllocator fallback)
+    {
+        _fallback = fallback;
+    }
+
+    /**
+     * Installs a TaskRandAllocator as the global allocator, wrapping the allocator currently installed, unless one is
+     * already installed.
+     *
+     * @return the installed TaskRandAllocator
+     */
+    public static TaskRandAllocator install()
+    {
+        synchronized (Rand.class)
+        {
+            RandAllocator current = Rand.getAllocator();
+            if (current instanceof TaskRandAllocator)
+            {
+                return (TaskRandAllocator) current;
+            }
+            TaskRandAllocator allocator = new TaskRandAllocator(current);
+            Rand.setAllocator(allocator);
+            return allocator;
+        }
+    }
+
+    @Override
+    public Rand getInstance()
+    {
+        Rand taskInstance = _taskInstances.get();
+        return taskInstance != null ? taskInstance : _fallback.getInstance();
+    }
+
+    /**
+     * Runs a task on the current thread with Rand.getInstance() returning a new Rand seeded with the given seed.
+     *
+     * @param task
+     *            the task to run
+     * @param seed
+     *            the seed for the task's random stream, must not be zero
+     */
+    public void runSeeded(Runnable task, int seed)
+    {
+        Rand taskInstance = new Rand();
+        taskInstance.setRandomSeed(seed);
+        runWith(task, taskInstance);
+    }
+
+    /**
+     * Runs a task on the current thread with Rand.getInstance() returning the given Rand, so that a long running task
+     * can keep its own random stream across several calls.
+     *
+     * @param task
+     *            the task to run
+     * @param taskInstance
+     *            the Rand for the task to draw from
+     */
+    public void runWith(Runnable task, Rand taskInstance)
+    {
+        Rand previous = _taskInstances.get();
+        _taskInstances.set(taskInstance);
+        try
+        {
+            task.run();
+        }
+        finally
+        {
+            _taskInstances.set(previous);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.vivarium.util.concurrency;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import io.vivarium.core.World;
+import io.vivarium.util.Rand;
+
+/**
+ * Runs many independent worlds at once on a shared fork-join pool, ticking each one until its stop condition is met.
+ * Each world is ticked on one thread at a time and draws from its own seeded random stream, so the results match
+ * ticking the worlds one after another with the same seeds, regardless of how many threads the pool has.
+ *
+ * Worlds should be fully built before they are added. Once run, the runner reports how many creature-ticks it
+ * simulated, which is the sum over every tick of every world of the number of creatures in the world.
+ */
+public class WorldBatchRunner
+{
+    private final ForkJoinPool _pool;
+    private final TaskRandAllocator _randAllocator;
+    private final ArrayList<WorldRun> _runs = new ArrayList<>();
+
+    private long _tickCount;
+    private long _creatureTickCount;
+    private long _elapsedNanoseconds;
+
+    /**
+     * Creates a runner which runs worlds on the common fork-join pool.
+     */
+    public WorldBatchRunner()
+    {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public WorldBatchRunner(ForkJoinPool pool)
+    {
+        _pool = pool;
+        _randAllocator = TaskRandAllocator.install();
+    }
+
+    /**
+     * Adds a world to be run until a condition is met.
+     *
+     * @param world
+     *            the world to run, which must not be ticked elsewhere while the batch runs
+     * @param stopCondition
+     *            the condition to check before each tick
+     * @param seed
+     *            the seed for the world's random stream, must not be zero
+     */
+    public void addWorld(World world, WorldStopCondition stopCondition, int seed)
+    {
+        _runs.add(new WorldRun(world, stopCondition, seed));
+    }
+
+    /**
+     * Adds a world to be run for a fixed number of ticks.
+     *
+     * @param world
+     *            the world to run, which must not be ticked elsewhere while the batch runs
+     * @param tickCount
+     *            the number of ticks to run the world for
+     * @param seed
+     *            the seed for the world's random stream, must not be zero
+     */
+    public void addWorld(World world, int tickCount, int seed)
+    {
+        final int finalTick = world.getTickCounter() + tickCount;
+        addWorld(world, new WorldStopCondition()
+        {
+            @Override
+            public boolean isFinished(World w)
+            {
+                return w.getTickCounter() >= finalTick;
+            }
+        }, seed);
+    }
+
+    /**
+     * Runs every world added since the last run until each one's stop condition is met, and blocks until they are all
+     * finished.
+     */
+    public void run()
+    {
+        final ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[_runs.size()];
+        for (int i = 0; i < tasks.length; i++)
+        {
+            tasks[i] = new WorldTask(_runs.get(i));
+        }
+        long startTime = System.nanoTime();
+        _pool.invoke(new RecursiveAction()
+        {
+            @Override
+            protected void compute()
+            {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+        _elapsedNanoseconds += System.nanoTime() - startTime;
+        for (WorldRun run : _runs)
+        {
+            _tickCount += run._tickCount;
+            _creatureTickCount += run._creatureTickCount;
+        }
+        _runs.clear();
+    }
+
+    /**
+     * Returns the number of world ticks simulated by every run so far.
+     */
+    public long getTickCount()
+    {
+        return _tickCount;
+    }
+
+    /**
+     * Returns the number of creature-ticks simulated by every run so far.
+     */
+    public long getCreatureTickCount()
+    {
+        return _creatureTickCount;
+    }
+
+    /**
+     * Returns the wall clock time spent in every run so far.
+     */
+    public long getElapsedNanoseconds()
+    {
+        return _elapsedNanoseconds;
+    }
+
+    /**
+     * Returns the aggregate throughput of every run so far, across all the worlds and threads.
+     */
+    public double getCreatureTicksPerSecond()
+    {
+        return _elapsedNanoseconds == 0 ? 0 : _creatureTickCount * 1_000_000_000.0 / _elapsedNanoseconds;
+    }
+
+    private static class WorldRun
+    {
+        private final World _world;
+        private final WorldStopCondition _stopCondition;
+        private final Rand _rand = new Rand();
+        private long _tickCount;
+        private long _creatureTickCount;
+
+        private WorldRun(World world, WorldStopCondition stopCondition, int seed)
+        {
+            _world = world;
+            _stopCondition = stopCondition;
+            _rand.setRandomSeed(seed);
+        }
+    }
+
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private class WorldTask extends RecursiveAction
+    {
+        private final WorldRun _run;
+
+        WorldTask(WorldRun run)
+        {
+            _run = run;
+        }
+
+        @Override
+        protected void compute()
+        {
+            _randAllocator.runWith(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    while (!_run._stopCondition.isFinished(_run._world))
+                    {
+                        _run._creatureTickCount += _run._world.getCreatureCount();
+                        _run._world.tick();
+                        _run._tickCount++;
+                    }
+                }
+            }, _run._rand);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.vivarium.util.concurrency;
+
+import io.vivarium.core.World;
+
+@FunctionalInterface
+public interface WorldStopCondition
+{
+    /**
+     * Checks whether a world being run by a WorldBatchRunner is finished, before each of its ticks.
+     *
+     * @param world
+     *            the world to check
+     * @return true if the world should not be ticked any further
+     */
+    boolean isFinished(World world);
+}
@@ -0,0 +1,229 @@
+package io.vivarium.util.concurrency;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.core.Creature;
+import io.vivarium.core.FlatGridWorld;
+import io.vivarium.core.GridWorld;
+import io.vivarium.core.GridWorldBlueprint;
+import io.vivarium.test.FastTest;
+import io.vivarium.test.IntegrationTest;
+import io.vivarium.test.UnitTest;
+import io.vivarium.util.Rand;
+
+public class ForkJoinParallelExecutorTest
+{
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testTasksDrawFromSeededStreams()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        ForkJoinParallelExecutor executor = new ForkJoinParallelExecutor(pool);
+        final long[] draws = new long[32];
+        Runnable[] tasks = new Runnable[draws.length];
+        int[] seeds = new int[draws.length];
+        for (int i = 0; i < draws.length; i++)
+        {
+            final int task = i;
+            tasks[i] = new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    draws[task] = Rand.getInstance().getRandomLong();
+                }
+            };
+            seeds[i] = i + 1;
+        }
+        executor.invokeAll(tasks, seeds, tasks.length);
+        pool.shutdown();
+
+        for (int i = 0; i < draws.length; i++)
+        {
+            Rand expected = new Rand();
+            expected.setRandomSeed(seeds[i]);
+            Tester.equal("Task should draw from its seeded stream", draws[i], expected.getRandomLong());
+        }
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testParallelPlanIsIndependentOfThreadCount()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(60);
+
+        ForkJoinPool singleThreadPool = new ForkJoinPool(1);
+        Rand.getInstance().setRandomSeed(3);
+        GridWorld singleThreadWorld = new GridWorld(worldBlueprint);
+        singleThreadWorld.setPlanExecutor(new ForkJoinParallelExecutor(singleThreadPool));
+        runWorld(singleThreadWorld);
+        singleThreadPool.shutdown();
+
+        ForkJoinPool multiThreadPool = new ForkJoinPool(4);
+        Rand.getInstance().setRandomSeed(3);
+        GridWorld multiThreadWorld = new GridWorld(worldBlueprint);
+        multiThreadWorld.setPlanExecutor(new ForkJoinParallelExecutor(multiThreadPool));
+        runWorld(multiThreadWorld);
+        multiThreadPool.shutdown();
+
+        assertWorldsMatch(singleThreadWorld, multiThreadWorld);
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testParallelActionsMatchReferenceOrder()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(60);
+
+        Rand.getInstance().setRandomSeed(3);
+        GridWorld referenceWorld = new ReferenceOrderGridWorld(worldBlueprint);
+        runWorld(referenceWorld);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Rand.getInstance().setRandomSeed(3);
+        GridWorld parallelWorld = new GridWorld(worldBlueprint);
+        parallelWorld.setActionExecutor(new ForkJoinParallelExecutor(pool));
+        runWorld(parallelWorld);
+
+        // Flat worlds can not store concurrently and fall back to running tiles one at a time
+        Rand.getInstance().setRandomSeed(3);
+        FlatGridWorld flatWorld = new FlatGridWorld(worldBlueprint);
+        flatWorld.setActionExecutor(new ForkJoinParallelExecutor(pool));
+        runWorld(flatWorld);
+        pool.shutdown();
+
+        assertWorldsMatch(referenceWorld, parallelWorld);
+        assertWorldsMatch(referenceWorld, flatWorld);
+    }
+
+    private static void runWorld(GridWorld world)
+    {
+        // Births are rare for unevolved creatures, so make the females pregnant with births spread over the run
+        for (Creature creature : world.getCreatures())
+        {
+            if (creature.getIsFemale())
+            {
+                creature.setGestation(creature.getBlueprint().getMaximumGestation() - creature.getID() % 50);
+                creature.setFetus(new Creature(creature));
+            }
+        }
+        for (int i = 0; i < 100; i++)
+        {
+            world.tick();
+        }
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    private static void assertWorldsMatch(GridWorld expected, GridWorld actual)
+    {
+        Tester.greaterThan("World should still be populated", expected.getCreatureCount(), 0);
+        Tester.equal("Creature counts should match", actual.getCreatureCount(), expected.getCreatureCount());
+        Tester.equal("Item counts should match", actual.getItemCount(), expected.getItemCount());
+        for (int r = 0; r < expected.getHeight(); r++)
+        {
+            for (int c = 0; c < expected.getWidth(); c++)
+            {
+                Creature creature = expected.getCreature(r, c);
+                Creature otherCreature = actual.getCreature(r, c);
+                if (creature == null)
+                {
+                    Tester.isTrue("Square should be empty at " + r + "," + c, otherCreature == null);
+                }
+                else
+                {
+                    Tester.equal("Creature IDs should match at " + r + "," + c, otherCreature.getID(),
+                            creature.getID());
+                    Tester.equal("Creature food should match at " + r + "," + c, otherCreature.getFood(),
+                            creature.getFood());
+                    Tester.equal("Creature UUIDs should match at " + r + "," + c, otherCreature.getUUID(),
+                            creature.getUUID());
+                    // Fetuses are conceived in the action phase, drawing their UUIDs from the acting tile's stream
+                    Creature fetus = creature.getFetus();
+                    Creature otherFetus = otherCreature.getFetus();
+                    Tester.isTrue("Fetuses should match at " + r + "," + c, fetus == null ? otherFetus == null
+                            : otherFetus != null && otherFetus.getUUID().equals(fetus.getUUID()));
+                }
+            }
+        }
+    }
+
+    /**
+     * A world which acts in the order parallel action execution documents, written out here square by square instead
+     * of through the world's tiles: the four colour waves of 16 by 16 tiles in order, within a wave tiles in row-major
+     * order, and within a tile the creatures in row-major order of where they started the phase. Each tile draws from
+     * its own stream, seeded from the world's stream in tile order before the first wave.
+     */
+    private static class ReferenceOrderGridWorld extends GridWorld
+    {
+        private static final int TILE_SIZE = 16;
+
+        private final TaskRandAllocator _randAllocator = TaskRandAllocator.install();
+
+        private ReferenceOrderGridWorld(GridWorldBlueprint worldBlueprint)
+        {
+            super(worldBlueprint);
+        }
+
+        @Override
+        protected void executeCreaturePlans()
+        {
+            int tileRows = (getHeight() + TILE_SIZE - 1) / TILE_SIZE;
+            int tileColumns = (getWidth() + TILE_SIZE - 1) / TILE_SIZE;
+            final boolean[] occupied = new boolean[getHeight() * getWidth()];
+            for (int r = 0; r < getHeight(); r++)
+            {
+                for (int c = 0; c < getWidth(); c++)
+                {
+                    occupied[r * getWidth() + c] = getCreature(r, c) != null;
+                }
+            }
+            int[] seeds = new int[tileRows * tileColumns];
+            for (int tile = 0; tile < seeds.length; tile++)
+            {
+                seeds[tile] = Rand.getInstance().getRandomInt(Integer.MAX_VALUE - 1) + 1;
+            }
+            for (int wave = 0; wave < 4; wave++)
+            {
+                for (int tileRow = wave / 2; tileRow < tileRows; tileRow += 2)
+                {
+                    for (int tileColumn = wave % 2; tileColumn < tileColumns; tileColumn += 2)
+                    {
+                        final int rowStart = tileRow * TILE_SIZE;
+                        final int columnStart = tileColumn * TILE_SIZE;
+                        _randAllocator.runSeeded(new Runnable()
+                        {
+                            @Override
+                            public void run()
+                            {
+                                actInTile(occupied, rowStart, columnStart);
+                            }
+                        }, seeds[tileRow * tileColumns + tileColumn]);
+                    }
+                }
+            }
+        }
+
+        private void actInTile(boolean[] occupied, int rowStart, int columnStart)
+        {
+            for (int r = rowStart; r < Math.min(rowStart + TILE_SIZE, getHeight()); r++)
+            {
+                for (int c = columnStart; c < Math.min(columnStart + TILE_SIZE, getWidth()); c++)
+                {
+                    Creature creature = getCreature(r, c);
+                    if (occupied[r * getWidth() + c] && creature != null && !creature.hasActed())
+                    {
+                        executeCreaturePlan(r, c);
+                    }
+                }
+            }
+        }
+    }
+}
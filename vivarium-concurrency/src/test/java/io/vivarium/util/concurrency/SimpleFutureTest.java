@@ -0,0 +1,72 @@
+package io.vivarium.util.concurrency;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.test.FastTest;
+import io.vivarium.test.UnitTest;
+
+public class SimpleFutureTest
+{
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testTimedGetReturnsPutValue() throws InterruptedException, ExecutionException, TimeoutException
+    {
+        SimpleFuture<Integer> future = new SimpleFuture<>();
+        future.put(7);
+        Tester.equal("A done future returns its value: ", future.get(10, TimeUnit.MILLISECONDS).intValue(), 7);
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testTimedGetWaitsForTimeout() throws InterruptedException, ExecutionException
+    {
+        SimpleFuture<Integer> future = new SimpleFuture<>();
+        long startTime = System.currentTimeMillis();
+        boolean timedOut = false;
+        try
+        {
+            future.get(20, TimeUnit.MILLISECONDS);
+        }
+        catch (TimeoutException e)
+        {
+            timedOut = true;
+        }
+        Tester.isTrue("An unfinished future times out: ", timedOut);
+        Tester.greaterThan("The future waits out the timeout before giving up: ",
+                System.currentTimeMillis() - startTime, 19);
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testTimedGetReturnsValuePutWhileWaiting()
+            throws InterruptedException, ExecutionException, TimeoutException
+    {
+        final SimpleFuture<Integer> future = new SimpleFuture<>();
+        Thread producer = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    Thread.sleep(5);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                future.put(3);
+            }
+        });
+        producer.start();
+        Tester.equal("A value put while waiting is returned: ", future.get(10, TimeUnit.SECONDS).intValue(), 3);
+        producer.join();
+    }
+}
@@ -0,0 +1,139 @@
+package io.vivarium.util.concurrency;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.core.Creature;
+import io.vivarium.core.GridWorld;
+import io.vivarium.core.GridWorldBlueprint;
+import io.vivarium.core.World;
+import io.vivarium.test.FastTest;
+import io.vivarium.test.IntegrationTest;
+import io.vivarium.util.Rand;
+
+public class WorldBatchRunnerTest
+{
+    private static final int WORLD_COUNT = 12;
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testBatchMatchesWorldsRunInTurn()
+    {
+        // The reference ticks each world to completion in turn, on the calling thread
+        GridWorld[] referenceWorlds = makeWorlds();
+        TaskRandAllocator randAllocator = TaskRandAllocator.install();
+        long referenceCreatureTicks = 0;
+        for (int i = 0; i < WORLD_COUNT; i++)
+        {
+            final GridWorld world = referenceWorlds[i];
+            final int tickCount = getTickCount(i);
+            final long[] creatureTicks = new long[1];
+            randAllocator.runSeeded(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    while (world.getTickCounter() < tickCount && world.getCreatureCount() > 0)
+                    {
+                        creatureTicks[0] += world.getCreatureCount();
+                        world.tick();
+                    }
+                }
+            }, i + 1);
+            referenceCreatureTicks += creatureTicks[0];
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        WorldBatchRunner runner = new WorldBatchRunner(pool);
+        GridWorld[] batchWorlds = makeWorlds();
+        for (int i = 0; i < WORLD_COUNT; i++)
+        {
+            final int tickCount = getTickCount(i);
+            runner.addWorld(batchWorlds[i], new WorldStopCondition()
+            {
+                @Override
+                public boolean isFinished(World world)
+                {
+                    return world.getTickCounter() >= tickCount || world.getCreatureCount() == 0;
+                }
+            }, i + 1);
+        }
+        runner.run();
+        pool.shutdown();
+
+        long tickCount = 0;
+        for (int i = 0; i < WORLD_COUNT; i++)
+        {
+            tickCount += referenceWorlds[i].getTickCounter();
+            Tester.equal("Ticks should match", batchWorlds[i].getTickCounter(), referenceWorlds[i].getTickCounter());
+            Tester.equal("Creature counts should match", batchWorlds[i].getCreatureCount(),
+                    referenceWorlds[i].getCreatureCount());
+            Tester.equal("Maximum creature IDs should match", batchWorlds[i].getMaximimCreatureID(),
+                    referenceWorlds[i].getMaximimCreatureID());
+            for (int r = 0; r < referenceWorlds[i].getHeight(); r++)
+            {
+                for (int c = 0; c < referenceWorlds[i].getWidth(); c++)
+                {
+                    Creature creature = referenceWorlds[i].getCreature(r, c);
+                    Creature otherCreature = batchWorlds[i].getCreature(r, c);
+                    if (creature == null)
+                    {
+                        Tester.isTrue("Square should be empty at " + r + "," + c, otherCreature == null);
+                    }
+                    else
+                    {
+                        Tester.equal("Creature IDs should match at " + r + "," + c, otherCreature.getID(),
+                                creature.getID());
+                    }
+                }
+            }
+        }
+        Tester.equal("Tick counts should match", runner.getTickCount(), tickCount);
+        Tester.equal("Creature-tick counts should match", runner.getCreatureTickCount(), referenceCreatureTicks);
+        Tester.greaterThan("Throughput should be measured", runner.getCreatureTicksPerSecond(), 0.0);
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testFixedTickCount()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(20);
+        GridWorld world = new GridWorld(worldBlueprint);
+        world.tick();
+
+        WorldBatchRunner runner = new WorldBatchRunner();
+        runner.addWorld(world, 25, 1);
+        runner.run();
+        Tester.equal("The world should run for the given number of ticks", world.getTickCounter(), 26);
+        Tester.equal("The runner should count the ticks", runner.getTickCount(), 25L);
+
+        // Worlds are only run once
+        runner.run();
+        Tester.equal("The world should not run again", world.getTickCounter(), 26);
+    }
+
+    private static GridWorld[] makeWorlds()
+    {
+        Rand.getInstance().setRandomSeed(5);
+        GridWorld[] worlds = new GridWorld[WORLD_COUNT];
+        for (int i = 0; i < WORLD_COUNT; i++)
+        {
+            GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+            worldBlueprint.setSize(20 + i % 3 * 5);
+            worlds[i] = new GridWorld(worldBlueprint);
+        }
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+        return worlds;
+    }
+
+    private static int getTickCount(int worldIndex)
+    {
+        return 40 + worldIndex % 4 * 20;
+    }
+}
@@ -3,6 +3,7 @@ package io.vivarium.audit;
 import io.vivarium.core.Action;
 import io.vivarium.core.Creature;
 import io.vivarium.core.CreatureBlueprint;
+import io.vivarium.core.CreatureVisitor;
 import io.vivarium.core.World;
 import io.vivarium.serialization.ClassRegistry;
 import io.vivarium.serialization.SerializedParameter;
@@ -28,6 +29,9 @@ public class ActionFrequencyRecord extends AuditRecord
     @SerializedParameter
     int[][][][][] _tally = new int[16][2][2][Action.values().length][2];
 
+    // Kept between ticks so that recording does not allocate
+    private transient CreatureVisitor _recorder;
+
     protected ActionFrequencyRecord()
     {
     }
@@ -40,14 +44,19 @@ public class ActionFrequencyRecord extends AuditRecord
     @Override
     public void record(World world, int tick)
     {
-        for (Creature creature : world.getCreatures())
+        if (_recorder == null)
         {
-            if (creature != null && creature.getBlueprint() == this._trackedCreatureBlueprint)
+            _recorder = new CreatureVisitor()
             {
-                addRecord((int) creature.getGeneration(), creature.getIsFemale(), creature.getGestation() > 0,
-                        creature.getAction(), creature.wasSuccessful());
-            }
+                @Override
+                public void visit(Creature creature)
+                {
+                    addRecord((int) creature.getGeneration(), creature.getIsFemale(), creature.getGestation() > 0,
+                            creature.getAction(), creature.wasSuccessful());
+                }
+            };
         }
+        world.forEachCreature(this._trackedCreatureBlueprint, _recorder);
     }
 
     private void addRecord(int generation, boolean isFemale, boolean isPregnant, Action action, boolean wasSuccessful)
@@ -0,0 +1,485 @@
+package io.vivarium.core;
+
+import io.vivarium.serialization.ClassRegistry;
+import io.vivarium.serialization.SerializedParameter;
+import io.vivarium.util.Rand;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * A GridWorld for very large, sparsely populated maps. The world is divided into CHUNK_SIZE by CHUNK_SIZE chunks, each
+ * with its own arrays for every layer, and a chunk's arrays are only allocated once something is stored in them, so
+ * regions of the map which are never touched cost nothing but a null reference per layer.
+ *
+ * A chunk with no creatures and no emitters is asleep. The creature and terrain phases of a tick already only visit
+ * creatures and emitters, so they never touch a sleeping chunk. Food spawning is aggregated instead: each chunk
+ * remembers the tick its food was last spawned up to, and only chunks which are awake, or next to an awake chunk, have
+ * their food brought up to date each tick. A square which stayed foodable over k ticks would have spawned food with
+ * probability 1 - (1 - p)^k, so a chunk waking after k ticks asleep spawns food once with that probability. Nothing in
+ * a sleeping chunk can eat food, so the food in a chunk which wakes up follows the same distribution as if it had been
+ * spawned every tick, although the random numbers are drawn differently than by GridWorld. Food waiting to be spawned
+ * in a sleeping chunk is not included in getItem or getItemCount until the chunk wakes.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString
+@SuppressWarnings("serial") // Default serialization is never used for a durable store
+public class ChunkedGridWorld extends GridWorld
+{
+    static
+    {
+        ClassRegistry.getInstance().register(ChunkedGridWorld.class);
+    }
+
+    private static final int CHUNK_SHIFT = 6;
+    public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int CHUNK_AREA = CHUNK_SIZE * CHUNK_SIZE;
+    private static final byte EMPTY_CODE = 0;
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+    private static final TerrainType[] TERRAIN_TYPES = TerrainType.values();
+
+    @SerializedParameter
+    private int _chunkRows;
+    @SerializedParameter
+    private int _chunkColumns;
+
+    // Layers of each chunk, indexed by chunk row * chunk columns + chunk column and then row-major within the chunk. A
+    // layer of a chunk is null until something is first stored in it.
+    @SerializedParameter
+    private byte[][] _chunkItemCodes;
+    @SerializedParameter
+    private byte[][] _chunkTerrainCodes;
+    @SerializedParameter
+    private Creature[][] _chunkCreatures;
+    // The tick each chunk has had its food spawned up to
+    @SerializedParameter
+    private int[] _chunkFoodTicks;
+
+    // Population of each chunk, which decides whether it is asleep. Rebuilt from the layers after deserialization.
+    private transient int[] _chunkCreatureCounts;
+    private transient int[] _chunkEmitterCounts;
+    private transient boolean[] _chunkFoodActive;
+    // Creature index slots of each chunk, allocated along with the chunk's creature layer
+    private transient int[][] _chunkCreatureSquareSlots;
+    // Free squares of each allocated chunk, built by the first addImmigrant like GridWorld's. An unallocated chunk is
+    // empty throughout, so it has no free squares of its own and is sampled directly. The total counts both kinds.
+    private transient FreeSquares[] _chunkFreeSquares;
+    private transient int _freeSquareCount;
+
+    // Private constructor for deserialization
+    @SuppressWarnings("unused")
+    private ChunkedGridWorld()
+    {
+    }
+
+    public ChunkedGridWorld(GridWorldBlueprint gridWorldBlueprint)
+    {
+        super(gridWorldBlueprint);
+    }
+
+    @Override
+    protected void constructGrids()
+    {
+        _chunkRows = (getHeight() + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+        _chunkColumns = (getWidth() + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+        int chunkCount = _chunkRows * _chunkColumns;
+        _chunkItemCodes = new byte[chunkCount][];
+        _chunkTerrainCodes = new byte[chunkCount][];
+        _chunkCreatures = new Creature[chunkCount][];
+        _chunkFoodTicks = new int[chunkCount];
+        countChunkPopulations();
+    }
+
+    @Override
+    public void finalizeSerialization()
+    {
+        countChunkPopulations();
+    }
+
+    private void countChunkPopulations()
+    {
+        int chunkCount = _chunkRows * _chunkColumns;
+        _chunkCreatureCounts = new int[chunkCount];
+        _chunkEmitterCounts = new int[chunkCount];
+        _chunkFoodActive = new boolean[chunkCount];
+        for (int chunk = 0; chunk < chunkCount; chunk++)
+        {
+            if (_chunkCreatures[chunk] != null)
+            {
+                for (int i = 0; i < CHUNK_AREA; i++)
+                {
+                    _chunkCreatureCounts[chunk] += _chunkCreatures[chunk][i] != null ? 1 : 0;
+                }
+            }
+            if (_chunkTerrainCodes[chunk] != null)
+            {
+                for (int i = 0; i < CHUNK_AREA; i++)
+                {
+                    _chunkEmitterCounts[chunk] += isEmitterCode(_chunkTerrainCodes[chunk][i]) ? 1 : 0;
+                }
+            }
+        }
+    }
+
+    private int getChunk(int r, int c)
+    {
+        return (r >> CHUNK_SHIFT) * _chunkColumns + (c >> CHUNK_SHIFT);
+    }
+
+    private static int getChunkSquare(int r, int c)
+    {
+        return ((r & CHUNK_MASK) << CHUNK_SHIFT) | (c & CHUNK_MASK);
+    }
+
+    private static boolean isEmitterCode(byte code)
+    {
+        return code != EMPTY_CODE && TerrainType.isEmitter(TERRAIN_TYPES[code - 1]);
+    }
+
+    /**
+     * Returns the number of chunks which have storage allocated for at least one layer.
+     *
+     * @return the number of allocated chunks
+     */
+    public int getAllocatedChunkCount()
+    {
+        int allocatedChunks = 0;
+        for (int chunk = 0; chunk < _chunkRows * _chunkColumns; chunk++)
+        {
+            if (isChunkAllocated(chunk))
+            {
+                allocatedChunks++;
+            }
+        }
+        return allocatedChunks;
+    }
+
+    private boolean isChunkAllocated(int chunk)
+    {
+        return _chunkItemCodes[chunk] != null || _chunkTerrainCodes[chunk] != null || _chunkCreatures[chunk] != null;
+    }
+
+    /**
+     * Returns whether the chunk holding a square is asleep, which is the case when the chunk has no creatures and no
+     * emitters in it.
+     *
+     * @param r
+     *            the row of the square
+     * @param c
+     *            the column of the square
+     * @return true if the chunk is asleep
+     */
+    public boolean isChunkAsleep(int r, int c)
+    {
+        return isChunkAsleep(getChunk(r, c));
+    }
+
+    private boolean isChunkAsleep(int chunk)
+    {
+        return _chunkCreatureCounts[chunk] == 0 && _chunkEmitterCounts[chunk] == 0;
+    }
+
+    @Override
+    public Creature getCreature(int r, int c)
+    {
+        Creature[] creatures = _chunkCreatures[getChunk(r, c)];
+        return creatures == null ? null : creatures[getChunkSquare(r, c)];
+    }
+
+    @Override
+    public ItemType getItem(int r, int c)
+    {
+        byte[] itemCodes = _chunkItemCodes[getChunk(r, c)];
+        if (itemCodes == null)
+        {
+            return null;
+        }
+        byte code = itemCodes[getChunkSquare(r, c)];
+        return code == EMPTY_CODE ? null : ITEM_TYPES[code - 1];
+    }
+
+    @Override
+    public TerrainType getTerrain(int r, int c)
+    {
+        byte[] terrainCodes = _chunkTerrainCodes[getChunk(r, c)];
+        if (terrainCodes == null)
+        {
+            return null;
+        }
+        byte code = terrainCodes[getChunkSquare(r, c)];
+        return code == EMPTY_CODE ? null : TERRAIN_TYPES[code - 1];
+    }
+
+    @Override
+    protected void storeCreature(Creature creature, int r, int c)
+    {
+        int chunk = getChunk(r, c);
+        Creature[] creatures = _chunkCreatures[chunk];
+        if (creatures == null)
+        {
+            if (creature == null)
+            {
+                return;
+            }
+            creatures = new Creature[CHUNK_AREA];
+            _chunkCreatures[chunk] = creatures;
+        }
+        int square = getChunkSquare(r, c);
+        if (creatures[square] == null && creature != null)
+        {
+            _chunkCreatureCounts[chunk]++;
+        }
+        else if (creatures[square] != null && creature == null)
+        {
+            _chunkCreatureCounts[chunk]--;
+        }
+        creatures[square] = creature;
+    }
+
+    @Override
+    protected void storeItem(ItemType itemType, int r, int c)
+    {
+        int chunk = getChunk(r, c);
+        if (_chunkItemCodes[chunk] == null)
+        {
+            if (itemType == null)
+            {
+                return;
+            }
+            _chunkItemCodes[chunk] = new byte[CHUNK_AREA];
+        }
+        _chunkItemCodes[chunk][getChunkSquare(r, c)] = itemType == null ? EMPTY_CODE : (byte) (itemType.ordinal() + 1);
+    }
+
+    @Override
+    protected void storeTerrain(TerrainType terrainType, int r, int c)
+    {
+        int chunk = getChunk(r, c);
+        byte[] terrainCodes = _chunkTerrainCodes[chunk];
+        if (terrainCodes == null)
+        {
+            if (terrainType == null)
+            {
+                return;
+            }
+            terrainCodes = new byte[CHUNK_AREA];
+            _chunkTerrainCodes[chunk] = terrainCodes;
+        }
+        int square = getChunkSquare(r, c);
+        byte code = terrainType == null ? EMPTY_CODE : (byte) (terrainType.ordinal() + 1);
+        _chunkEmitterCounts[chunk] += (isEmitterCode(code) ? 1 : 0) - (isEmitterCode(terrainCodes[square]) ? 1 : 0);
+        terrainCodes[square] = code;
+    }
+
+    @Override
+    protected boolean hasSquareLocalStorage()
+    {
+        // Storing into a chunk can allocate its layers and changes its population counts
+        return false;
+    }
+
+    @Override
+    protected void constructCreatureSquareSlots()
+    {
+        _chunkCreatureSquareSlots = new int[_chunkRows * _chunkColumns][];
+    }
+
+    @Override
+    protected int getCreatureSquareSlot(int square)
+    {
+        int r = square / getWidth();
+        int c = square % getWidth();
+        int[] slots = _chunkCreatureSquareSlots[getChunk(r, c)];
+        // Slots are stored off by one so that a freshly allocated array reads as empty
+        return slots == null ? NO_CREATURE_SLOT : slots[getChunkSquare(r, c)] - 1;
+    }
+
+    @Override
+    protected void setCreatureSquareSlot(int square, int slot)
+    {
+        int r = square / getWidth();
+        int c = square % getWidth();
+        int chunk = getChunk(r, c);
+        if (_chunkCreatureSquareSlots[chunk] == null)
+        {
+            if (slot == NO_CREATURE_SLOT)
+            {
+                return;
+            }
+            _chunkCreatureSquareSlots[chunk] = new int[CHUNK_AREA];
+        }
+        _chunkCreatureSquareSlots[chunk][getChunkSquare(r, c)] = slot + 1;
+    }
+
+    @Override
+    protected void indexGrid()
+    {
+        for (int chunkRow = 0; chunkRow < _chunkRows; chunkRow++)
+        {
+            for (int chunkColumn = 0; chunkColumn < _chunkColumns; chunkColumn++)
+            {
+                if (isChunkAllocated(chunkRow * _chunkColumns + chunkColumn))
+                {
+                    int top = chunkRow << CHUNK_SHIFT;
+                    int left = chunkColumn << CHUNK_SHIFT;
+                    int bottom = Math.min(top + CHUNK_SIZE, getHeight());
+                    int right = Math.min(left + CHUNK_SIZE, getWidth());
+                    for (int r = top; r < bottom; r++)
+                    {
+                        for (int c = left; c < right; c++)
+                        {
+                            indexSquare(r, c);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    protected int pickFreeSquare()
+    {
+        int chunkCount = _chunkRows * _chunkColumns;
+        if (_chunkFreeSquares == null)
+        {
+            _chunkFreeSquares = new FreeSquares[chunkCount];
+            _freeSquareCount = 0;
+            for (int chunk = 0; chunk < chunkCount; chunk++)
+            {
+                if (isChunkAllocated(chunk))
+                {
+                    buildChunkFreeSquares(chunk);
+                }
+                else
+                {
+                    _freeSquareCount += getChunkHeight(chunk) * getChunkWidth(chunk);
+                }
+            }
+        }
+        if (_freeSquareCount == 0)
+        {
+            return -1;
+        }
+        int pick = Rand.getInstance().getRandomInt(_freeSquareCount);
+        for (int chunk = 0; chunk < chunkCount; chunk++)
+        {
+            FreeSquares freeSquares = _chunkFreeSquares[chunk];
+            int chunkFreeSquareCount = freeSquares != null ? freeSquares.getSize()
+                    : getChunkHeight(chunk) * getChunkWidth(chunk);
+            if (pick < chunkFreeSquareCount)
+            {
+                int top = (chunk / _chunkColumns) << CHUNK_SHIFT;
+                int left = (chunk % _chunkColumns) << CHUNK_SHIFT;
+                if (freeSquares != null)
+                {
+                    int chunkSquare = freeSquares.get(pick);
+                    return (top + (chunkSquare >> CHUNK_SHIFT)) * getWidth() + left + (chunkSquare & CHUNK_MASK);
+                }
+                int chunkWidth = getChunkWidth(chunk);
+                return (top + pick / chunkWidth) * getWidth() + left + pick % chunkWidth;
+            }
+            pick -= chunkFreeSquareCount;
+        }
+        throw new IllegalStateException("Free square count " + _freeSquareCount + " exceeds the free squares");
+    }
+
+    @Override
+    protected void updateFreeSquare(int square)
+    {
+        if (_chunkFreeSquares == null)
+        {
+            return;
+        }
+        int r = square / getWidth();
+        int c = square % getWidth();
+        int chunk = getChunk(r, c);
+        FreeSquares freeSquares = _chunkFreeSquares[chunk];
+        if (freeSquares == null)
+        {
+            if (!isChunkAllocated(chunk))
+            {
+                return;
+            }
+            // The chunk has just been allocated and was counted as empty throughout until now
+            _freeSquareCount -= getChunkHeight(chunk) * getChunkWidth(chunk);
+            buildChunkFreeSquares(chunk);
+            return;
+        }
+        _freeSquareCount -= freeSquares.getSize();
+        freeSquares.update(getChunkSquare(r, c), squareIsEmpty(r, c));
+        _freeSquareCount += freeSquares.getSize();
+    }
+
+    private void buildChunkFreeSquares(int chunk)
+    {
+        FreeSquares freeSquares = new FreeSquares(CHUNK_AREA);
+        int top = (chunk / _chunkColumns) << CHUNK_SHIFT;
+        int left = (chunk % _chunkColumns) << CHUNK_SHIFT;
+        int bottom = top + getChunkHeight(chunk);
+        int right = left + getChunkWidth(chunk);
+        for (int r = top; r < bottom; r++)
+        {
+            for (int c = left; c < right; c++)
+            {
+                freeSquares.update(getChunkSquare(r, c), squareIsEmpty(r, c));
+            }
+        }
+        _chunkFreeSquares[chunk] = freeSquares;
+        _freeSquareCount += freeSquares.getSize();
+    }
+
+    // The chunks along the bottom and right edges are clipped to the world
+    private int getChunkHeight(int chunk)
+    {
+        return Math.min(CHUNK_SIZE, getHeight() - ((chunk / _chunkColumns) << CHUNK_SHIFT));
+    }
+
+    private int getChunkWidth(int chunk)
+    {
+        return Math.min(CHUNK_SIZE, getWidth() - ((chunk % _chunkColumns) << CHUNK_SHIFT));
+    }
+
+    @Override
+    protected void spawnFood()
+    {
+        // Creatures and emitters reach at most one square past their chunk in a tick, so along with the awake chunks
+        // the chunks next to them are brought up to date, and every chunk a tick can touch has its food ready
+        int chunkCount = _chunkRows * _chunkColumns;
+        for (int chunk = 0; chunk < chunkCount; chunk++)
+        {
+            _chunkFoodActive[chunk] = false;
+        }
+        for (int chunkRow = 0; chunkRow < _chunkRows; chunkRow++)
+        {
+            for (int chunkColumn = 0; chunkColumn < _chunkColumns; chunkColumn++)
+            {
+                if (!isChunkAsleep(chunkRow * _chunkColumns + chunkColumn))
+                {
+                    for (int row = Math.max(chunkRow - 1, 0); row <= Math.min(chunkRow + 1, _chunkRows - 1); row++)
+                    {
+                        for (int column = Math.max(chunkColumn - 1, 0); column <= Math
+                                .min(chunkColumn + 1, _chunkColumns - 1); column++)
+                        {
+                            _chunkFoodActive[row * _chunkColumns + column] = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        double probability = getGridWorldBlueprint().getFoodGenerationProbability();
+        int tick = getTickCounter();
+        for (int chunk = 0; chunk < chunkCount; chunk++)
+        {
+            int elapsedTicks = tick - _chunkFoodTicks[chunk];
+            if (_chunkFoodActive[chunk] && elapsedTicks > 0)
+            {
+                double chunkProbability = 1 - Math.pow(1 - probability, elapsedTicks);
+                int top = (chunk / _chunkColumns) << CHUNK_SHIFT;
+                int left = (chunk % _chunkColumns) << CHUNK_SHIFT;
+                spawnFood(top, left, getChunkHeight(chunk), getChunkWidth(chunk), chunkProbability);
+                _chunkFoodTicks[chunk] = tick;
+            }
+        }
+    }
+}
@@ -1,5 +1,12 @@
 package io.vivarium.core;
 
+import java.util.Arrays;
+
+import io.vivarium.core.processor.DecisionTree;
+import io.vivarium.core.processor.DecisionTreeBatch;
+import io.vivarium.core.processor.Multiplexer;
+import io.vivarium.core.processor.NeuralNetwork;
+import io.vivarium.core.processor.NeuralNetworkBatch;
 import io.vivarium.core.processor.Processor;
 import io.vivarium.core.processor.ProcessorBlueprint;
 import io.vivarium.core.sensor.Sensor;
@@ -71,6 +78,15 @@ public class Creature extends VivariumObject
     @SerializedParameter
     private Creature _fetus;
 
+    // The population holding this creature's per tick state while it is in a PopulationGridWorld, in which case the
+    // age, gestation, food, facing, action, health, and has acted fields are stale
+    private transient CreaturePopulation _population;
+    private transient int _populationSlot;
+
+    // Multiplexer buffers private to this creature, so that creatures sharing a blueprint can plan concurrently
+    private transient double[][] _processorInputs;
+    private transient double[][] _processorOutputs;
+
     protected Creature()
     {
 
@@ -100,6 +116,41 @@ public class Creature extends VivariumObject
     {
         this._creatureBlueprint = creatureBlueprint;
 
+        // Sets the size of all the processor i/o arrays
+        _processors = new Processor[_creatureBlueprint.getProcessorBlueprints().length];
+        _inputs = new double[_creatureBlueprint.getMultiplexerInputCount()];
+        _memoryUnits = new double[_creatureBlueprint.getMemoryUnitCount()];
+        _soundInputs = new double[_creatureBlueprint.getSoundChannelCount()];
+        _soundOutputs = new double[_creatureBlueprint.getSoundChannelCount()];
+        _signInputs = new double[_creatureBlueprint.getSignChannelCount()];
+        _signOutputs = new double[_creatureBlueprint.getSignChannelCount()];
+
+        initialize(parent1, parent2, false);
+    }
+
+    /**
+     * Reinitializes a retired creature in place as the offspring of two parents of its blueprint, reusing its arrays
+     * and processors. The creature is left exactly as the constructor would have built it, random draws included.
+     */
+    void reinitializeAsOffspring(Creature parent1, Creature parent2)
+    {
+        renewUUID();
+        _id = 0;
+        _hasActed = true;
+        _wasSuccessful = true;
+        _fetus = null;
+        Arrays.fill(_inputs, 0);
+        Arrays.fill(_memoryUnits, 0);
+        Arrays.fill(_soundInputs, 0);
+        Arrays.fill(_soundOutputs, 0);
+        Arrays.fill(_signInputs, 0);
+        Arrays.fill(_signOutputs, 0);
+
+        initialize(parent1, parent2, true);
+    }
+
+    private void initialize(Creature parent1, Creature parent2, boolean recycleProcessors)
+    {
         // Compute creature generation
         if (parent1 != null)
         {
@@ -119,22 +170,21 @@ public class Creature extends VivariumObject
 
         // Create processors to control the Creature
         ProcessorBlueprint[] processorBlueprints = _creatureBlueprint.getProcessorBlueprints();
-        _processors = new Processor[processorBlueprints.length];
         for (int i = 0; i < processorBlueprints.length; i++)
         {
             Processor processor1 = parent1 != null ? parent1._processors[i] : null;
             Processor processor2 = parent2 != null ? parent2._processors[i] : null;
-            _processors[i] = createProcessor(processorBlueprints[i], processor1, processor2);
+            if (recycleProcessors && processor1 != null)
+            {
+                _processors[i] = processorBlueprints[i].recycleProcessorWithParents(_processors[i], processor1,
+                        processor2 != null ? processor2 : processor1);
+            }
+            else
+            {
+                _processors[i] = createProcessor(processorBlueprints[i], processor1, processor2);
+            }
         }
 
-        // Sets the size of all the processor i/o arrays
-        _inputs = new double[_creatureBlueprint.getMultiplexerInputCount()];
-        _memoryUnits = new double[_creatureBlueprint.getMemoryUnitCount()];
-        _soundInputs = new double[_creatureBlueprint.getSoundChannelCount()];
-        _soundOutputs = new double[_creatureBlueprint.getSoundChannelCount()];
-        _signInputs = new double[_creatureBlueprint.getSignChannelCount()];
-        _signOutputs = new double[_creatureBlueprint.getSignChannelCount()];
-
         // Set gender
         double randomNumber = Rand.getInstance().getRandomPositiveDouble();
         if (randomNumber < _creatureBlueprint.getFemaleThreshold())
@@ -191,6 +241,11 @@ public class Creature extends VivariumObject
 
     public void tick(int flameHit)
     {
+        if (_population != null)
+        {
+            _population.tick(_populationSlot, flameHit);
+            return;
+        }
         // Reset action
         this._hasActed = false;
         // Age
@@ -215,7 +270,7 @@ public class Creature extends VivariumObject
 
     public Action getAction()
     {
-        return (_action);
+        return _population != null ? _population.getAction(_populationSlot) : _action;
     }
 
     public void listenToCreature(Creature u, double distanceSquared)
@@ -240,7 +295,7 @@ public class Creature extends VivariumObject
 
     public void planAction(GridWorld w, int r, int c)
     {
-        _action = determineAction(w, r, c);
+        setAction(determineAction(w, r, c));
     }
 
     private Action determineAction(GridWorld w, int r, int c)
@@ -252,72 +307,160 @@ public class Creature extends VivariumObject
         }
         else
         {
-            // Run sensors
-            int inputIndex = 0;
-            Sensor[] sensors = _creatureBlueprint.getSensors();
-            for (int i = 0; i < sensors.length; i++)
-            {
-                Sensor sensor = sensors[i];
-                inputIndex += sensor.sense(w, _inputs, inputIndex, r, c, this);
-            }
-            // Read memory units
-            System.arraycopy(_memoryUnits, 0, _inputs, _creatureBlueprint.getHardProcessorInputs(),
-                    this._memoryUnits.length);
-            // Read sound inputs
-            for (int i = 0; i < this.getBlueprint().getSoundChannelCount(); i++)
-            {
-                _inputs[_creatureBlueprint.getHardProcessorInputs() + this._memoryUnits.length + i] = _soundInputs[i];
-            }
-            // Read sign inputs
-            for (int i = 0; i < this.getBlueprint().getSignChannelCount(); i++)
-            {
-                _inputs[_creatureBlueprint.getHardProcessorInputs() + this._memoryUnits.length
-                        + this._soundInputs.length + i] = _signInputs[i];
-            }
-            // Main processor computation
-            double[] outputs = this._creatureBlueprint.getMultiplexer().outputs(_inputs, _processors);
-            // Save memory units
-            System.arraycopy(outputs, _creatureBlueprint.getHardProcessorOutputs(), _memoryUnits, 0,
-                    this._memoryUnits.length);
-            // Clear the sound inputs and set the sound outputs
-            for (int i = 0; i < _creatureBlueprint.getSoundChannelCount(); i++)
-            {
-                this._soundInputs[i] = 0;
-                this._soundOutputs[i] = outputs[_creatureBlueprint.getHardProcessorOutputs() + this._memoryUnits.length
-                        + i];
-            }
-            // Clear the sign inputs and set the sign outputs
-            for (int i = 0; i < this.getBlueprint().getSignChannelCount(); i++)
-            {
-                this._signInputs[i] = 0;
-                this._signOutputs[i] = outputs[_creatureBlueprint.getHardProcessorOutputs() + this._memoryUnits.length
-                        + this._soundInputs.length + i];
-            }
-            // Hard coded outputs (actionable outputs)
-            int maxActionOutput = 0;
-            for (int i = 1; i < _creatureBlueprint.getHardProcessorOutputs(); i++)
+            senseInputs(w, r, c);
+            return determineVoluntaryAction(evaluateProcessors());
+        }
+    }
+
+    /**
+     * The first step of batched planning, see GridWorld.setBatchedPlanning. Plans an involuntary action if there is
+     * one, otherwise reads the creature's inputs so that its processors can be evaluated later. Sensing draws no random
+     * numbers, so sensing a run of creatures before evaluating any of them leaves the random stream unchanged.
+     *
+     * @return true if the creature still has to evaluate its processors and finish planning
+     */
+    boolean senseForPlan(GridWorld w, int r, int c)
+    {
+        Action involuntaryAction = getInvoluntaryAction();
+        if (involuntaryAction != null)
+        {
+            setAction(involuntaryAction);
+            return false;
+        }
+        senseInputs(w, r, c);
+        return true;
+    }
+
+    /**
+     * @return the neural network which the creature's processors reduce to, if it can be evaluated in a
+     *         NeuralNetworkBatch, otherwise null
+     */
+    NeuralNetwork getBatchableNetwork()
+    {
+        return _creatureBlueprint.getMultiplexer().getBatchableNetwork(_processors);
+    }
+
+    /**
+     * Adds the creature's sensed inputs to a batch, after which finishBatchedPlan completes its plan once the batch has
+     * been evaluated.
+     */
+    void addToPlanBatch(NeuralNetwork network, NeuralNetworkBatch batch)
+    {
+        _creatureBlueprint.getMultiplexer().addToBatch(_inputs, network, batch);
+    }
+
+    /**
+     * @return the decision tree which the creature's processors reduce to, if it can be evaluated in a
+     *         DecisionTreeBatch, otherwise null
+     */
+    DecisionTree getBatchableTree()
+    {
+        return _creatureBlueprint.getMultiplexer().getBatchableTree(_processors);
+    }
+
+    /**
+     * Adds the creature's sensed inputs to a batch, after which finishBatchedPlan completes its plan once the batch has
+     * been evaluated.
+     */
+    void addToPlanBatch(DecisionTree tree, DecisionTreeBatch batch)
+    {
+        _creatureBlueprint.getMultiplexer().addToBatch(_inputs, tree, batch);
+    }
+
+    void finishBatchedPlan(Processor processor)
+    {
+        setAction(determineVoluntaryAction(processor.outputs()));
+    }
+
+    /**
+     * Completes the plan of a creature which has sensed its inputs but can not be batched.
+     */
+    void finishPlan()
+    {
+        setAction(determineVoluntaryAction(evaluateProcessors()));
+    }
+
+    private void senseInputs(GridWorld w, int r, int c)
+    {
+        // Run sensors
+        int inputIndex = 0;
+        Sensor[] sensors = _creatureBlueprint.getSensors();
+        for (int i = 0; i < sensors.length; i++)
+        {
+            Sensor sensor = sensors[i];
+            inputIndex += sensor.sense(w, _inputs, inputIndex, r, c, this);
+        }
+        // Read memory units
+        System.arraycopy(_memoryUnits, 0, _inputs, _creatureBlueprint.getHardProcessorInputs(),
+                this._memoryUnits.length);
+        // Read sound inputs
+        for (int i = 0; i < this.getBlueprint().getSoundChannelCount(); i++)
+        {
+            _inputs[_creatureBlueprint.getHardProcessorInputs() + this._memoryUnits.length + i] = _soundInputs[i];
+        }
+        // Read sign inputs
+        for (int i = 0; i < this.getBlueprint().getSignChannelCount(); i++)
+        {
+            _inputs[_creatureBlueprint.getHardProcessorInputs() + this._memoryUnits.length
+                    + this._soundInputs.length + i] = _signInputs[i];
+        }
+    }
+
+    private double[] evaluateProcessors()
+    {
+        // Main processor computation
+        Multiplexer multiplexer = _creatureBlueprint.getMultiplexer();
+        if (_processorInputs == null)
+        {
+            _processorInputs = multiplexer.makeInputBuffers();
+            _processorOutputs = new double[_processors.length][];
+        }
+        return multiplexer.outputs(_inputs, _processors, _processorInputs, _processorOutputs);
+    }
+
+    private Action determineVoluntaryAction(double[] outputs)
+    {
+        // Save memory units
+        System.arraycopy(outputs, _creatureBlueprint.getHardProcessorOutputs(), _memoryUnits, 0,
+                this._memoryUnits.length);
+        // Clear the sound inputs and set the sound outputs
+        for (int i = 0; i < _creatureBlueprint.getSoundChannelCount(); i++)
+        {
+            this._soundInputs[i] = 0;
+            this._soundOutputs[i] = outputs[_creatureBlueprint.getHardProcessorOutputs() + this._memoryUnits.length
+                    + i];
+        }
+        // Clear the sign inputs and set the sign outputs
+        for (int i = 0; i < this.getBlueprint().getSignChannelCount(); i++)
+        {
+            this._signInputs[i] = 0;
+            this._signOutputs[i] = outputs[_creatureBlueprint.getHardProcessorOutputs() + this._memoryUnits.length
+                    + this._soundInputs.length + i];
+        }
+        // Hard coded outputs (actionable outputs)
+        int maxActionOutput = 0;
+        for (int i = 1; i < _creatureBlueprint.getHardProcessorOutputs(); i++)
+        {
+            if (outputs[i] > outputs[maxActionOutput])
             {
-                if (outputs[i] > outputs[maxActionOutput])
-                {
-                    maxActionOutput = i;
-                }
+                maxActionOutput = i;
             }
-            // Return the output conversion to action
-            return (Action.convertIntegerToAction(maxActionOutput));
         }
+        // Return the output conversion to action
+        return (Action.convertIntegerToAction(maxActionOutput));
     }
 
     public Action getInvoluntaryAction()
     {
         // Forced actions
         // Old Creatures Die
-        if (this._age > _creatureBlueprint.getMaximumAge() || this._food < 1 || this._health < 1)
+        if (getAge() > _creatureBlueprint.getMaximumAge() || getFood() < 1 || getHealth() < 1)
         {
 
             return (Action.DIE);
         }
         // Pregnant Creatures can give birth
-        else if (this._gestation > _creatureBlueprint.getMaximumGestation())
+        else if (getGestation() > _creatureBlueprint.getMaximumGestation())
         {
             return (Action.BIRTH);
         }
@@ -328,7 +471,7 @@ public class Creature extends VivariumObject
 
     public Direction getFacing()
     {
-        return (this._facing);
+        return _population != null ? _population.getFacing(_populationSlot) : _facing;
     }
 
     public double getRandomSeed()
@@ -378,51 +521,68 @@ public class Creature extends VivariumObject
 
     public void executeAction(Action action)
     {
-        this._hasActed = true;
+        if (_population != null)
+        {
+            _population._acted[_populationSlot] = true;
+        }
+        else
+        {
+            this._hasActed = true;
+        }
         executeAction(action, null);
     }
 
     public void executeAction(Action action, Creature target)
+    {
+        executeAction(action, target, null);
+    }
+
+    /**
+     * Executes an action, taking a breeding female's offspring from a pool of retired creatures if one is given.
+     */
+    void executeAction(Action action, Creature target, CreaturePool pool)
     {
         _wasSuccessful = true;
         switch (action)
         {
             case BIRTH:
-                this._gestation = 0;
+                setGestation(0);
+                // The newborn is in the world now, and a mother still holding it would serialize a second copy
+                this._fetus = null;
                 break;
             case BREED:
                 assert target != null;
-                if (this._gender == Gender.FEMALE && this._gestation < 1)
+                if (this._gender == Gender.FEMALE && getGestation() < 1)
                 {
-                    this._gestation = 1;
-                    this._fetus = createOffspringWith(target);
+                    setGestation(1);
+                    this._fetus = createOffspringWith(target, pool);
                 }
-                this._food += _creatureBlueprint.getBreedingFoodRate();
+                setFood(getFood() + _creatureBlueprint.getBreedingFoodRate());
                 break;
             case MOVE:
-                this._food += _creatureBlueprint.getMovingFoodRate();
+                setFood(getFood() + _creatureBlueprint.getMovingFoodRate());
                 break;
             case REST:
             case DIE:
                 // change nothing
                 break;
             case TURN_LEFT:
-                this._facing = Direction.stepCounterclockwise(this._facing);
+                setFacing(Direction.stepCounterclockwise(getFacing()));
                 break;
             case TURN_RIGHT:
-                this._facing = Direction.stepClockwise(this._facing);
+                setFacing(Direction.stepClockwise(getFacing()));
                 break;
             case EAT:
-                this._food += _creatureBlueprint.getEatingFoodRate();
-                if (this._food > _creatureBlueprint.getMaximumFood())
+                setFood(getFood() + _creatureBlueprint.getEatingFoodRate());
+                if (getFood() > _creatureBlueprint.getMaximumFood())
                 {
-                    this._food = _creatureBlueprint.getMaximumFood();
+                    setFood(_creatureBlueprint.getMaximumFood());
                 }
                 break;
             case FIGHT:
                 assert target != null;
-                target._health += _creatureBlueprint.getFightingDamageAmount();
-                this._food += _creatureBlueprint.getFightingFoodRate();
+                target.setHealth(target.getHealth() + _creatureBlueprint.getFightingDamageAmount());
+                setFood(getFood() + _creatureBlueprint.getFightingFoodRate());
                 break;
             default:
                 System.err.println("Non-Fatal Error, unhandled action");
@@ -440,18 +600,18 @@ public class Creature extends VivariumObject
                 // If gestation has been reached but the birth failed,
                 // let the Creature have a round of freedom before trying to
                 // give birth again
-                this._gestation -= 2;
+                setGestation(getGestation() - 2);
                 break;
             case BREED:
                 // Trying to breed for no good reason is still tiring
-                this._food += _creatureBlueprint.getBreedingFoodRate();
+                setFood(getFood() + _creatureBlueprint.getBreedingFoodRate());
                 break;
             case EAT:
                 // Trying to eat nothing and failing costs nothing (this has been changed because the file format
                 // doesn't have a variable for this cost currently. This cost could be reintroduced later)
                 break;
             case MOVE:
-                this._food += _creatureBlueprint.getMovingFoodRate();
+                setFood(getFood() + _creatureBlueprint.getMovingFoodRate());
                 break;
             case DIE:
                 break;
@@ -461,7 +621,7 @@ public class Creature extends VivariumObject
                 System.err.println("Action class " + action + " should not fail");
                 break;
             case FIGHT:
-                this._food += _creatureBlueprint.getFightingFoodRate();
+                setFood(getFood() + _creatureBlueprint.getFightingFoodRate());
                 break;
             default:
                 System.err.println("Non-Fatal Error, unhandled action");
@@ -470,9 +630,9 @@ public class Creature extends VivariumObject
         }
     }
 
-    private Creature createOffspringWith(Creature breedingTarget)
+    private Creature createOffspringWith(Creature breedingTarget, CreaturePool pool)
     {
-        return new Creature(this, breedingTarget);
+        return pool != null ? pool.makeOffspring(this, breedingTarget) : new Creature(this, breedingTarget);
     }
 
     public int getID()
@@ -485,6 +645,18 @@ public class Creature extends VivariumObject
         return this._creatureBlueprint;
     }
 
+    /**
+     * Swaps this creature's blueprint, and its fetus's, for an equal instance.
+     */
+    void relinkBlueprint(CreatureBlueprint creatureBlueprint)
+    {
+        this._creatureBlueprint = creatureBlueprint;
+        if (this._fetus != null)
+        {
+            this._fetus.relinkBlueprint(creatureBlueprint);
+        }
+    }
+
     public double getGeneration()
     {
         return this._generation;
@@ -492,22 +664,22 @@ public class Creature extends VivariumObject
 
     public int getAge()
     {
-        return (this._age);
+        return _population != null ? _population._ages[_populationSlot] : _age;
     }
 
     public int getGestation()
     {
-        return (this._gestation);
+        return _population != null ? _population._gestations[_populationSlot] : _gestation;
     }
 
     public int getFood()
     {
-        return (this._food);
+        return _population != null ? _population._food[_populationSlot] : _food;
     }
 
     public int getHealth()
     {
-        return (this._health);
+        return _population != null ? _population._healths[_populationSlot] : _health;
     }
 
     public CreatureBlueprint getCreatureBlueprint()
@@ -527,22 +699,74 @@ public class Creature extends VivariumObject
 
     public void setAge(int age)
     {
-        this._age = age;
+        if (_population != null)
+        {
+            _population._ages[_populationSlot] = age;
+        }
+        else
+        {
+            this._age = age;
+        }
     }
 
     public void setGestation(int gestation)
     {
-        this._gestation = gestation;
+        if (_population != null)
+        {
+            _population._gestations[_populationSlot] = gestation;
+        }
+        else
+        {
+            this._gestation = gestation;
+        }
     }
 
     public void setFood(int food)
     {
-        this._food = food;
+        if (_population != null)
+        {
+            _population._food[_populationSlot] = food;
+        }
+        else
+        {
+            this._food = food;
+        }
     }
 
     public void setFacing(Direction facing)
     {
-        this._facing = facing;
+        if (_population != null)
+        {
+            _population.setFacing(_populationSlot, facing);
+        }
+        else
+        {
+            this._facing = facing;
+        }
+    }
+
+    private void setHealth(int health)
+    {
+        if (_population != null)
+        {
+            _population._healths[_populationSlot] = health;
+        }
+        else
+        {
+            this._health = health;
+        }
+    }
+
+    private void setAction(Action action)
+    {
+        if (_population != null)
+        {
+            _population.setAction(_populationSlot, action);
+        }
+        else
+        {
+            this._action = action;
+        }
     }
 
     public void setFetus(Creature fetus)
@@ -555,7 +779,7 @@ public class Creature extends VivariumObject
      */
     public boolean hasActed()
     {
-        return this._hasActed;
+        return _population != null ? _population._acted[_populationSlot] : _hasActed;
     }
 
     public boolean wasSuccessful()
@@ -568,6 +792,51 @@ public class Creature extends VivariumObject
         this._id = id;
     }
 
+    /**
+     * Moves this creature's per tick state into a population slot, after which the population holds it.
+     */
+    void attachToPopulation(CreaturePopulation population, int slot)
+    {
+        population._ages[slot] = _age;
+        population._food[slot] = _food;
+        population._healths[slot] = _health;
+        population._gestations[slot] = _gestation;
+        population.setFacing(slot, _facing);
+        population.setAction(slot, _action);
+        population._acted[slot] = _hasActed;
+        _population = population;
+        _populationSlot = slot;
+    }
+
+    /**
+     * Moves this creature's per tick state back out of its population, after which the creature holds it again.
+     */
+    void detachFromPopulation()
+    {
+        prepareSerialization();
+        _population = null;
+    }
+
+    void setPopulationSlot(int slot)
+    {
+        _populationSlot = slot;
+    }
+
+    @Override
+    public void prepareSerialization()
+    {
+        if (_population != null)
+        {
+            _age = _population._ages[_populationSlot];
+            _food = _population._food[_populationSlot];
+            _health = _population._healths[_populationSlot];
+            _gestation = _population._gestations[_populationSlot];
+            _facing = _population.getFacing(_populationSlot);
+            _action = _population.getAction(_populationSlot);
+            _hasActed = _population._acted[_populationSlot];
+        }
+    }
+
     @Override
     public void finalizeSerialization()
     {
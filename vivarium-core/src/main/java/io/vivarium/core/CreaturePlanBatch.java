@@ -0,0 +1,122 @@
+package io.vivarium.core;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import io.vivarium.core.processor.DecisionTree;
+import io.vivarium.core.processor.DecisionTreeBatch;
+import io.vivarium.core.processor.NeuralNetwork;
+import io.vivarium.core.processor.NeuralNetworkBatch;
+import io.vivarium.core.processor.Processor;
+
+/**
+ * Plans a run of creatures in three passes instead of one creature at a time, see GridWorld.setBatchedPlanning. The
+ * first pass senses the inputs of every creature, the second adds each creature's neural network or decision tree to a
+ * batch for its blueprint, and once every batch has been evaluated the third pass turns the outputs into actions.
+ *
+ * Random numbers are only drawn in the second pass, one creature after another in the same order as sequential
+ * planning, so the plans are identical to planning each creature on its own. Creatures whose processors can not be
+ * batched are planned in full when the second pass reaches them. Plan batches are not thread safe, concurrent planners
+ * each need their own.
+ */
+class CreaturePlanBatch
+{
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final IdentityHashMap<CreatureBlueprint, NeuralNetworkBatch> _batches = new IdentityHashMap<>();
+    private final IdentityHashMap<CreatureBlueprint, DecisionTreeBatch> _treeBatches = new IdentityHashMap<>();
+
+    private Creature[] _creatures = new Creature[INITIAL_CAPACITY];
+    private Processor[] _processors = new Processor[INITIAL_CAPACITY];
+
+    /**
+     * Plans the creatures in a range of squares.
+     */
+    void plan(GridWorld world, int[] squares, int start, int end)
+    {
+        int width = world.getWidth();
+        if (_creatures.length < end - start)
+        {
+            _creatures = new Creature[end - start];
+            _processors = new Processor[end - start];
+        }
+
+        // Sense
+        int planningCount = 0;
+        for (int i = start; i < end; i++)
+        {
+            int r = squares[i] / width;
+            int c = squares[i] % width;
+            Creature creature = world.getCreature(r, c);
+            if (creature.senseForPlan(world, r, c))
+            {
+                _creatures[planningCount++] = creature;
+            }
+        }
+
+        // Gather, drawing random numbers in creature order
+        for (int i = 0; i < planningCount; i++)
+        {
+            Creature creature = _creatures[i];
+            NeuralNetwork network = creature.getBatchableNetwork();
+            DecisionTree tree = network == null ? creature.getBatchableTree() : null;
+            if (network != null)
+            {
+                creature.addToPlanBatch(network, getBatch(creature.getBlueprint(), network));
+                _processors[i] = network;
+            }
+            else if (tree != null)
+            {
+                creature.addToPlanBatch(tree, getTreeBatch(creature.getBlueprint(), tree));
+                _processors[i] = tree;
+            }
+            else
+            {
+                creature.finishPlan();
+            }
+        }
+
+        // Evaluate
+        for (NeuralNetworkBatch batch : _batches.values())
+        {
+            batch.evaluate();
+        }
+        for (DecisionTreeBatch batch : _treeBatches.values())
+        {
+            batch.evaluate();
+        }
+
+        // Scatter
+        for (int i = 0; i < planningCount; i++)
+        {
+            if (_processors[i] != null)
+            {
+                _creatures[i].finishBatchedPlan(_processors[i]);
+            }
+        }
+        Arrays.fill(_creatures, 0, planningCount, null);
+        Arrays.fill(_processors, 0, planningCount, null);
+    }
+
+    private NeuralNetworkBatch getBatch(CreatureBlueprint creatureBlueprint, NeuralNetwork network)
+    {
+        NeuralNetworkBatch batch = _batches.get(creatureBlueprint);
+        if (batch == null)
+        {
+            batch = new NeuralNetworkBatch(network.getInputCount(), network.getOutputCount());
+            _batches.put(creatureBlueprint, batch);
+        }
+        return batch;
+    }
+
+    private DecisionTreeBatch getTreeBatch(CreatureBlueprint creatureBlueprint, DecisionTree tree)
+    {
+        DecisionTreeBatch batch = _treeBatches.get(creatureBlueprint);
+        if (batch == null)
+        {
+            batch = new DecisionTreeBatch(tree.getInputCount());
+            _treeBatches.put(creatureBlueprint, batch);
+        }
+        return batch;
+    }
+}
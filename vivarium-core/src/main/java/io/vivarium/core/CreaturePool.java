@@ -0,0 +1,81 @@
+package io.vivarium.core;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Recycles creatures which have died so that their arrays and processors can be reused for offspring, rather than
+ * discarded and allocated again with each death and birth. Creatures are pooled by blueprint, matched by identity as in
+ * breeding, and offspring made from the pool are identical to those made by the Creature constructor.
+ *
+ * A retired creature is reused, so nothing may hold on to a creature once it has been retired. Pools are not thread
+ * safe.
+ */
+public class CreaturePool
+{
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final IdentityHashMap<CreatureBlueprint, ArrayList<Creature>> _retiredCreatures = new IdentityHashMap<>();
+    private final int _capacity;
+
+    public CreaturePool()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity
+     *            the most retired creatures kept for each blueprint, further creatures are left to the garbage
+     *            collector
+     */
+    public CreaturePool(int capacity)
+    {
+        _capacity = capacity;
+    }
+
+    /**
+     * Retires a creature which has died, along with any fetus it was carrying.
+     */
+    public void retire(Creature creature)
+    {
+        if (creature.getFetus() != null)
+        {
+            retire(creature.getFetus());
+        }
+        ArrayList<Creature> retiredCreatures = _retiredCreatures.get(creature.getBlueprint());
+        if (retiredCreatures == null)
+        {
+            retiredCreatures = new ArrayList<>();
+            _retiredCreatures.put(creature.getBlueprint(), retiredCreatures);
+        }
+        if (retiredCreatures.size() < _capacity)
+        {
+            retiredCreatures.add(creature);
+        }
+    }
+
+    /**
+     * Makes the offspring of two creatures of the same blueprint, as new Creature(parent1, parent2) would, reusing a
+     * retired creature if there is one.
+     */
+    public Creature makeOffspring(Creature parent1, Creature parent2)
+    {
+        ArrayList<Creature> retiredCreatures = _retiredCreatures.get(parent1.getBlueprint());
+        if (retiredCreatures == null || retiredCreatures.isEmpty())
+        {
+            return new Creature(parent1, parent2);
+        }
+        Creature offspring = retiredCreatures.remove(retiredCreatures.size() - 1);
+        offspring.reinitializeAsOffspring(parent1, parent2);
+        return offspring;
+    }
+
+    /**
+     * Returns the number of retired creatures waiting to be reused for a blueprint.
+     */
+    public int getRetiredCount(CreatureBlueprint creatureBlueprint)
+    {
+        ArrayList<Creature> retiredCreatures = _retiredCreatures.get(creatureBlueprint);
+        return retiredCreatures == null ? 0 : retiredCreatures.size();
+    }
+}
@@ -0,0 +1,218 @@
+package io.vivarium.core;
+
+import java.util.Arrays;
+
+/**
+ * Holds the state that changes every tick for the creatures of a world, age, food, health, gestation, facing, action,
+ * and whether the creature has acted, in parallel primitive arrays with one slot per creature, see
+ * PopulationGridWorld. While a creature is in a population its own fields for that state are stale and the creature
+ * acts as a handle, reading and writing its slot instead. The fields are brought up to date when the creature leaves
+ * the population or is serialized, and when its world is compared or printed.
+ *
+ * Slots are kept dense by moving the last creature into a vacated slot, so a sweep over the population touches only
+ * the first getSize() entries of each array.
+ */
+public class CreaturePopulation
+{
+    private static final int NO_SLOT = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final Action[] ACTIONS = Action.values();
+
+    private int _size;
+    private Creature[] _creatures = new Creature[INITIAL_CAPACITY];
+    private int[] _squares = new int[INITIAL_CAPACITY];
+    private final int[] _slotsBySquare;
+
+    // Creature state
+    int[] _ages = new int[INITIAL_CAPACITY];
+    int[] _food = new int[INITIAL_CAPACITY];
+    int[] _healths = new int[INITIAL_CAPACITY];
+    int[] _gestations = new int[INITIAL_CAPACITY];
+    byte[] _facings = new byte[INITIAL_CAPACITY];
+    byte[] _actions = new byte[INITIAL_CAPACITY];
+    boolean[] _acted = new boolean[INITIAL_CAPACITY];
+
+    // Blueprint constants for each slot, so that ticking does not have to reach through to the blueprints
+    private int[] _baseFoodRates = new int[INITIAL_CAPACITY];
+    private int[] _pregnantFoodRates = new int[INITIAL_CAPACITY];
+    private int[] _maximumHealths = new int[INITIAL_CAPACITY];
+    private int[] _flameHits = new int[INITIAL_CAPACITY];
+
+    /**
+     * @param squareCount
+     *            the number of squares in the world the population lives in
+     */
+    public CreaturePopulation(int squareCount)
+    {
+        _slotsBySquare = new int[squareCount];
+        Arrays.fill(_slotsBySquare, NO_SLOT);
+    }
+
+    public int getSize()
+    {
+        return _size;
+    }
+
+    public Creature getCreature(int slot)
+    {
+        return _creatures[slot];
+    }
+
+    public int getSquare(int slot)
+    {
+        return _squares[slot];
+    }
+
+    /**
+     * Adds a creature to the population, taking its state from its fields.
+     */
+    public void add(Creature creature, int square)
+    {
+        if (_size == _creatures.length)
+        {
+            grow();
+        }
+        int slot = _size++;
+        _creatures[slot] = creature;
+        _squares[slot] = square;
+        _slotsBySquare[square] = slot;
+        CreatureBlueprint creatureBlueprint = creature.getBlueprint();
+        _baseFoodRates[slot] = creatureBlueprint.getBaseFoodRate();
+        _pregnantFoodRates[slot] = creatureBlueprint.getPregnantFoodRate();
+        _maximumHealths[slot] = creatureBlueprint.getMaximumHealth();
+        creature.attachToPopulation(this, slot);
+    }
+
+    /**
+     * Removes the creature in a square from the population, writing its state back to its fields.
+     */
+    public void remove(int square)
+    {
+        int slot = _slotsBySquare[square];
+        _creatures[slot].detachFromPopulation();
+        _slotsBySquare[square] = NO_SLOT;
+        int lastSlot = --_size;
+        if (slot != lastSlot)
+        {
+            _creatures[slot] = _creatures[lastSlot];
+            _squares[slot] = _squares[lastSlot];
+            _slotsBySquare[_squares[slot]] = slot;
+            _ages[slot] = _ages[lastSlot];
+            _food[slot] = _food[lastSlot];
+            _healths[slot] = _healths[lastSlot];
+            _gestations[slot] = _gestations[lastSlot];
+            _facings[slot] = _facings[lastSlot];
+            _actions[slot] = _actions[lastSlot];
+            _acted[slot] = _acted[lastSlot];
+            _baseFoodRates[slot] = _baseFoodRates[lastSlot];
+            _pregnantFoodRates[slot] = _pregnantFoodRates[lastSlot];
+            _maximumHealths[slot] = _maximumHealths[lastSlot];
+            _creatures[slot].setPopulationSlot(slot);
+        }
+        _creatures[lastSlot] = null;
+    }
+
+    public void move(int fromSquare, int toSquare)
+    {
+        int slot = _slotsBySquare[fromSquare];
+        _slotsBySquare[fromSquare] = NO_SLOT;
+        _slotsBySquare[toSquare] = slot;
+        _squares[slot] = toSquare;
+    }
+
+    /**
+     * Sets the number of flame hits each creature takes on its next tick.
+     */
+    public void setFlameHits(int slot, int flameHits)
+    {
+        _flameHits[slot] = flameHits;
+    }
+
+    /**
+     * Ages every creature by a tick, exactly as Creature.tick would, using the flame hits that have been set.
+     */
+    public void tick()
+    {
+        int[] ages = _ages;
+        int[] food = _food;
+        int[] healths = _healths;
+        int[] gestations = _gestations;
+        int[] baseFoodRates = _baseFoodRates;
+        int[] pregnantFoodRates = _pregnantFoodRates;
+        int[] maximumHealths = _maximumHealths;
+        int[] flameHits = _flameHits;
+        for (int i = 0; i < _size; i++)
+        {
+            ages[i]++;
+            // Gestate if pregnant
+            int pregnant = gestations[i] > 0 ? 1 : 0;
+            gestations[i] += pregnant;
+            int health = healths[i] - 10 * flameHits[i];
+            // Heal at the cost of food
+            int healing = health < maximumHealths[i] ? 1 : 0;
+            healths[i] = health + healing;
+            food[i] += pregnant * pregnantFoodRates[i] + baseFoodRates[i] - 2 * healing;
+        }
+        Arrays.fill(_acted, 0, _size, false);
+    }
+
+    /**
+     * Ages a single creature by a tick, exactly as Creature.tick would.
+     */
+    void tick(int slot, int flameHit)
+    {
+        _acted[slot] = false;
+        _ages[slot]++;
+        if (_gestations[slot] > 0)
+        {
+            _gestations[slot]++;
+            _food[slot] += _pregnantFoodRates[slot];
+        }
+        _food[slot] += _baseFoodRates[slot];
+        _healths[slot] -= 10 * flameHit;
+        if (_healths[slot] < _maximumHealths[slot])
+        {
+            _healths[slot]++;
+            _food[slot] -= 2;
+        }
+    }
+
+    Direction getFacing(int slot)
+    {
+        return DIRECTIONS[_facings[slot]];
+    }
+
+    void setFacing(int slot, Direction facing)
+    {
+        _facings[slot] = (byte) facing.ordinal();
+    }
+
+    Action getAction(int slot)
+    {
+        return ACTIONS[_actions[slot]];
+    }
+
+    void setAction(int slot, Action action)
+    {
+        _actions[slot] = (byte) action.ordinal();
+    }
+
+    private void grow()
+    {
+        int capacity = _creatures.length * 2;
+        _creatures = Arrays.copyOf(_creatures, capacity);
+        _squares = Arrays.copyOf(_squares, capacity);
+        _ages = Arrays.copyOf(_ages, capacity);
+        _food = Arrays.copyOf(_food, capacity);
+        _healths = Arrays.copyOf(_healths, capacity);
+        _gestations = Arrays.copyOf(_gestations, capacity);
+        _facings = Arrays.copyOf(_facings, capacity);
+        _actions = Arrays.copyOf(_actions, capacity);
+        _acted = Arrays.copyOf(_acted, capacity);
+        _baseFoodRates = Arrays.copyOf(_baseFoodRates, capacity);
+        _pregnantFoodRates = Arrays.copyOf(_pregnantFoodRates, capacity);
+        _maximumHealths = Arrays.copyOf(_maximumHealths, capacity);
+        _flameHits = Arrays.copyOf(_flameHits, capacity);
+    }
+}
@@ -0,0 +1,15 @@
+package io.vivarium.core;
+
+/**
+ * Receives each creature of a world from World.forEachCreature.
+ */
+public interface CreatureVisitor
+{
+    /**
+     * Visits a creature. Visitors must not add creatures to or remove creatures from the world being visited.
+     *
+     * @param creature
+     *            the creature being visited
+     */
+    void visit(Creature creature);
+}
@@ -0,0 +1,197 @@
+package io.vivarium.core;
+
+import java.util.Arrays;
+
+import io.vivarium.serialization.ClassRegistry;
+import io.vivarium.serialization.SerializedParameter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * A GridWorld backed by flat, primitive arrays instead of one reference array per row and layer. Terrain and items are
+ * stored as byte codes and creatures are stored in a dense creature table, with each square holding an int slot index
+ * into that table. All layers are row-major and indexed by r * width + c.
+ *
+ * This layout keeps the per square state of large worlds in a handful of contiguous arrays, which cuts the memory
+ * bandwidth of the full grid sweeps done each tick and leaves the garbage collector with a single reference array to
+ * card mark instead of one per row.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString
+@SuppressWarnings("serial") // Default serialization is never used for a durable store
+public class FlatGridWorld extends GridWorld
+{
+    static
+    {
+        ClassRegistry.getInstance().register(FlatGridWorld.class);
+    }
+
+    private static final byte EMPTY_CODE = 0;
+    private static final int NO_CREATURE = -1;
+    private static final int INITIAL_CREATURE_TABLE_SIZE = 16;
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+    private static final TerrainType[] TERRAIN_TYPES = TerrainType.values();
+
+    @SerializedParameter
+    private byte[] _itemCodes;
+    @SerializedParameter
+    private byte[] _terrainCodes;
+    @SerializedParameter
+    private int[] _creatureSlots;
+    @SerializedParameter
+    private Creature[] _creatureTable;
+    @SerializedParameter
+    private int[] _creatureTableSquares;
+    @SerializedParameter
+    private int _creatureTableSize;
+
+    private transient int _stride;
+
+    // Private constructor for deserialization
+    @SuppressWarnings("unused")
+    private FlatGridWorld()
+    {
+    }
+
+    public FlatGridWorld(GridWorldBlueprint gridWorldBlueprint)
+    {
+        super(gridWorldBlueprint);
+    }
+
+    @Override
+    protected void constructGrids()
+    {
+        _stride = getWidth();
+        int squareCount = getHeight() * getWidth();
+        _itemCodes = new byte[squareCount];
+        _terrainCodes = new byte[squareCount];
+        _creatureSlots = new int[squareCount];
+        Arrays.fill(_creatureSlots, NO_CREATURE);
+        _creatureTable = new Creature[INITIAL_CREATURE_TABLE_SIZE];
+        _creatureTableSquares = new int[INITIAL_CREATURE_TABLE_SIZE];
+        _creatureTableSize = 0;
+    }
+
+    @Override
+    public void finalizeSerialization()
+    {
+        _stride = getWidth();
+    }
+
+    @Override
+    public Creature getCreature(int r, int c)
+    {
+        int slot = _creatureSlots[r * _stride + c];
+        return slot == NO_CREATURE ? null : _creatureTable[slot];
+    }
+
+    @Override
+    public ItemType getItem(int r, int c)
+    {
+        byte code = _itemCodes[r * _stride + c];
+        return code == EMPTY_CODE ? null : ITEM_TYPES[code - 1];
+    }
+
+    @Override
+    public TerrainType getTerrain(int r, int c)
+    {
+        byte code = _terrainCodes[r * _stride + c];
+        return code == EMPTY_CODE ? null : TERRAIN_TYPES[code - 1];
+    }
+
+    @Override
+    protected void storeCreature(Creature creature, int r, int c)
+    {
+        int square = r * _stride + c;
+        int slot = _creatureSlots[square];
+        if (creature == null)
+        {
+            if (slot != NO_CREATURE)
+            {
+                removeFromCreatureTable(slot);
+                _creatureSlots[square] = NO_CREATURE;
+            }
+        }
+        else if (slot != NO_CREATURE)
+        {
+            _creatureTable[slot] = creature;
+        }
+        else
+        {
+            _creatureSlots[square] = addToCreatureTable(creature, square);
+        }
+    }
+
+    @Override
+    protected void storeItem(ItemType itemType, int r, int c)
+    {
+        _itemCodes[r * _stride + c] = itemType == null ? EMPTY_CODE : (byte) (itemType.ordinal() + 1);
+    }
+
+    @Override
+    protected void storeTerrain(TerrainType terrainType, int r, int c)
+    {
+        _terrainCodes[r * _stride + c] = terrainType == null ? EMPTY_CODE : (byte) (terrainType.ordinal() + 1);
+    }
+
+    private int addToCreatureTable(Creature creature, int square)
+    {
+        if (_creatureTableSize == _creatureTable.length)
+        {
+            _creatureTable = Arrays.copyOf(_creatureTable, _creatureTable.length * 2);
+            _creatureTableSquares = Arrays.copyOf(_creatureTableSquares, _creatureTableSquares.length * 2);
+        }
+        int slot = _creatureTableSize++;
+        _creatureTable[slot] = creature;
+        _creatureTableSquares[slot] = square;
+        return slot;
+    }
+
+    private void removeFromCreatureTable(int slot)
+    {
+        // Keep the table dense by moving the last creature into the vacated slot
+        int lastSlot = --_creatureTableSize;
+        if (slot != lastSlot)
+        {
+            _creatureTable[slot] = _creatureTable[lastSlot];
+            _creatureTableSquares[slot] = _creatureTableSquares[lastSlot];
+            _creatureSlots[_creatureTableSquares[slot]] = slot;
+        }
+        _creatureTable[lastSlot] = null;
+    }
+
+    @Override
+    protected boolean hasSquareLocalStorage()
+    {
+        // Storing and clearing creatures grows and compacts the shared creature table
+        return false;
+    }
+
+    @Override
+    public boolean squareIsEmpty(int r, int c)
+    {
+        int square = r * _stride + c;
+        return _creatureSlots[square] == NO_CREATURE && _itemCodes[square] == EMPTY_CODE
+                && _terrainCodes[square] == EMPTY_CODE;
+    }
+
+    @Override
+    public boolean squareIsFlamable(int r, int c)
+    {
+        return _terrainCodes[r * _stride + c] == EMPTY_CODE;
+    }
+
+    @Override
+    public boolean squareIsFoodable(int r, int c)
+    {
+        int square = r * _stride + c;
+        return _itemCodes[square] == EMPTY_CODE && _terrainCodes[square] == EMPTY_CODE;
+    }
+
+    @Override
+    public boolean squareIsPathable(int r, int c)
+    {
+        int square = r * _stride + c;
+        return _creatureSlots[square] == NO_CREATURE && TerrainType.isPathable(getTerrain(r, c));
+    }
+}
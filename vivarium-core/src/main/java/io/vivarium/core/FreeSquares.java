@@ -0,0 +1,58 @@
+package io.vivarium.core;
+
+import java.util.Arrays;
+
+/**
+ * A set of empty squares kept dense with a position map, so that a square can be added, removed, or picked at random
+ * in constant time. Squares are numbered within the region the set covers, a whole world or one chunk of it.
+ */
+final class FreeSquares
+{
+    private static final int NO_SLOT = -1;
+
+    private final int[] _squares;
+    private final int[] _slots;
+    private int _size;
+
+    /**
+     * @param squareCount
+     *            the number of squares in the region the set covers
+     */
+    FreeSquares(int squareCount)
+    {
+        _squares = new int[squareCount];
+        _slots = new int[squareCount];
+        Arrays.fill(_slots, NO_SLOT);
+    }
+
+    int getSize()
+    {
+        return _size;
+    }
+
+    int get(int i)
+    {
+        return _squares[i];
+    }
+
+    /**
+     * Adds a square to or removes it from the set to match whether it is free, which is safe to call more than once.
+     */
+    void update(int square, boolean free)
+    {
+        int slot = _slots[square];
+        if (free && slot == NO_SLOT)
+        {
+            _slots[square] = _size;
+            _squares[_size++] = square;
+        }
+        else if (!free && slot != NO_SLOT)
+        {
+            // Keep the set dense by moving the last square into the vacated slot
+            int lastSquare = _squares[--_size];
+            _squares[slot] = lastSquare;
+            _slots[lastSquare] = slot;
+            _slots[square] = NO_SLOT;
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package io.vivarium.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedList;
+import java.util.List;
 
 import io.vivarium.audit.AuditRecord;
 import io.vivarium.core.GridWorldPopulator.EntityType;
 import io.vivarium.serialization.ClassRegistry;
 import io.vivarium.serialization.SerializedParameter;
+import io.vivarium.util.ParallelExecutor;
 import io.vivarium.util.Rand;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -22,6 +26,18 @@ public class GridWorld extends World
         ClassRegistry.getInstance().register(GridWorld.class);
     }
 
+    protected static final int NO_CREATURE_SLOT = -1;
+    private static final int INITIAL_CREATURE_INDEX_SIZE = 16;
+    private static final int INITIAL_COUNTED_BLUEPRINTS_SIZE = 4;
+    private static final int INITIAL_EMITTER_INDEX_SIZE = 4;
+    // Height of the row bands planned as separate tasks when planning in parallel. The bands, and so the random stream
+    // each creature plans with, depend only on this and the world size, never on the number of threads.
+    static final int PLAN_BAND_HEIGHT = 16;
+    // Side length of the square tiles acted on as separate tasks when executing plans in parallel. Actions reach at
+    // most one square, so any size of two or more keeps same coloured tiles from touching the same squares.
+    static final int ACTION_TILE_SIZE = 16;
+    private static final int ACTION_WAVE_COUNT = 4;
+
     @SerializedParameter
     private int _width;
     @SerializedParameter
@@ -39,9 +55,80 @@ public class GridWorld extends World
     @SerializedParameter
     private DynamicBalancer _balancer;
 
-    // Private constructor for deserialization
-    @SuppressWarnings("unused")
-    private GridWorld()
+    // Index of the squares (r * width + c) holding live creatures, so the creature phases of a tick visit creatures
+    // instead of sweeping the grid. Maintained by addCreature, moveCreature, and removeCreature and rebuilt from the
+    // grid on first use after deserialization. Slots are per square, NO_CREATURE_SLOT marks an empty square.
+    private transient int[] _creatureSquares;
+    private transient int[] _creatureSquareSlots;
+    private transient int _creatureSquareCount;
+    private transient boolean _creatureSquaresSorted;
+    private transient int[] _creatureSquareSnapshot;
+    // Creatures sorted by generation and ID, built by getSortedCreatures and dropped whenever a creature is added or
+    // removed
+    private transient List<Creature> _sortedCreatures;
+
+    // Population counts maintained alongside the creature index so the count queries are O(1). Creature counts are
+    // kept per blueprint instance, in the order each blueprint was first seen.
+    private transient CreatureBlueprint[] _countedBlueprints;
+    private transient int[] _blueprintCreatureCounts;
+    private transient int _countedBlueprintCount;
+    private transient int _itemCount;
+    private transient int _terrainCount;
+
+    // Squares holding emitter terrain, in row-major order, so tickTerrain does not have to sweep the grid to find them
+    private transient int[] _emitterSquares;
+    private transient int _emitterCount;
+
+    // Executor for the plan phase, creatures plan sequentially on the calling thread when this is null
+    private transient ParallelExecutor _planExecutor;
+    private transient PlanBand[] _planBands;
+    private transient int[] _planBandSeeds;
+
+    // Executor for the action phase, creatures act sequentially in row-major order when this is null
+    private transient ParallelExecutor _actionExecutor;
+    private transient ActionTile[][] _actionWaves;
+    private transient int[] _actionTileSeeds;
+    private transient int[] _actionWaveSeeds;
+    private transient int _simulatedTileRowStart;
+    private transient int _simulatedTileRowEnd;
+
+    // Spatial hash of creature squares for sound transmission with a cutoff radius
+    private transient boolean _allPairsSound;
+    private transient int[] _soundBucketStarts;
+    private transient int[] _soundBucketSquares;
+    private transient int[] _soundBucketPositions;
+    private transient int[] _soundBucketEnds;
+    private transient int[] _actionTileSquares;
+    private transient int[] _actionTileStarts;
+
+    // Whether creatures age, exchange signs, and plan in a single sweep, see letCreaturesPlanFused
+    private transient boolean _fusedTick;
+
+    // Whether creatures plan in batches, see setBatchedPlanning, and the batch for sequential planning
+    private transient boolean _batchedPlanning;
+    private transient CreaturePlanBatch _planBatch;
+
+    // Double buffered snapshots for readers on other threads, see setSnapshotPublishing. The published snapshot is
+    // swapped in after each tick and the previous one becomes the spare to build the next snapshot in. The squares
+    // whose item or terrain changed since the spare was built are logged, with the log position of the last publish
+    // marking where the changes since the published snapshot was built start.
+    private transient boolean _snapshotPublishing;
+    private transient volatile GridWorldSnapshot _publishedSnapshot;
+    private transient GridWorldSnapshot _spareSnapshot;
+    private transient int[] _snapshotChangedSquares;
+    private transient int _snapshotChangeCount;
+    private transient int _snapshotChangeMark;
+
+    // Squares with no creature, item, or terrain, so that a random empty square can be picked in constant time. Built
+    // by the first addImmigrant and from then on kept up to date by every change to a square, so that only worlds which
+    // take immigrants pay to maintain it. Subclasses that override pickFreeSquare keep their own and leave this null.
+    private transient FreeSquares _freeSquares;
+
+    // Recycles dead creatures as offspring, see setCreaturePool
+    private transient CreaturePool _creaturePool;
+
+    // Protected constructor for deserialization
+    protected GridWorld()
     {
     }
 
@@ -56,46 +143,442 @@ public class GridWorld extends World
         this._width = gridWorldBlueprint.getWidth();
         this._height = gridWorldBlueprint.getHeight();
 
+        constructGrids();
+        buildIndices();
+
+        initialize();
+    }
+
+    /**
+     * Creates an empty world of the same size as another world which carries on from it, see World(World). The
+     * dynamic balancer is not carried over. No storage is allocated so that subclasses can finish setting up first,
+     * constructGrids has to be called before anything is stored.
+     *
+     * @param world
+     *            the world to carry on from
+     */
+    protected GridWorld(GridWorld world)
+    {
+        super(world);
+        this._gridWorldBlueprint = world._gridWorldBlueprint;
+        this._width = world._width;
+        this._height = world._height;
+    }
+
+    /**
+     * Allocates the storage for the creature, item, and terrain layers of the world. Subclasses which provide a
+     * different storage engine override this method along with the get and store methods for each layer, all other
+     * world logic is written against those methods.
+     */
+    protected void constructGrids()
+    {
         this._creatureGrid = new Creature[_height][_width];
         this._itemGrid = new ItemType[_height][_width];
         this._terrainGrid = new TerrainType[_height][_width];
-
-        initialize();
     }
 
     private void addCreature(Creature creature, int r, int c)
     {
+        ensureIndices();
         creature.setID(this.getNewCreatureID());
-        _creatureGrid[r][c] = creature;
+        storeCreature(creature, r, c);
+        indexCreature(creature, r * _width + c);
     }
 
-    public void addImmigrant(Creature creature)
+    private void addCreature(Creature creature, int r, int c, TileChanges changes)
     {
-        boolean immigrantPlaced = false;
-        while (!immigrantPlaced)
+        if (changes == null)
+        {
+            addCreature(creature, r, c);
+        }
+        else
         {
-            int r = Rand.getInstance().getRandomInt(this._height);
-            int c = Rand.getInstance().getRandomInt(this._width);
-            if (this.squareIsEmpty(r, c))
+            storeCreature(creature, r, c);
+            changes.logAdd(creature, r * _width + c);
+        }
+    }
+
+    /**
+     * Replaces the creature in a square with a creature copied from another world, or clears the square if the
+     * creature is null. Unlike addCreature the creature keeps its ID. A deserialized creature brings its own copy of
+     * its blueprint, which is swapped for this world's equal instance since breeding compares blueprints by identity.
+     */
+    void putCreature(Creature creature, int r, int c)
+    {
+        removeCreature(r, c);
+        if (creature != null)
+        {
+            for (CreatureBlueprint creatureBlueprint : _gridWorldBlueprint.getCreatureBlueprints())
             {
-                addCreature(creature, r, c);
-                immigrantPlaced = true;
+                if (creatureBlueprint == creature.getBlueprint())
+                {
+                    break;
+                }
+                if (creatureBlueprint.equals(creature.getBlueprint()))
+                {
+                    creature.relinkBlueprint(creatureBlueprint);
+                    break;
+                }
             }
+            storeCreature(creature, r, c);
+            indexCreature(creature, r * _width + c);
         }
     }
 
-    private void executeCreaturePlan(int r, int c)
+    private void buildIndices()
+    {
+        _creatureSquares = new int[INITIAL_CREATURE_INDEX_SIZE];
+        constructCreatureSquareSlots();
+        _creatureSquareCount = 0;
+        _creatureSquareSnapshot = new int[0];
+        _sortedCreatures = null;
+        _countedBlueprints = new CreatureBlueprint[INITIAL_COUNTED_BLUEPRINTS_SIZE];
+        _blueprintCreatureCounts = new int[INITIAL_COUNTED_BLUEPRINTS_SIZE];
+        _countedBlueprintCount = 0;
+        _itemCount = 0;
+        _terrainCount = 0;
+        _emitterSquares = new int[INITIAL_EMITTER_INDEX_SIZE];
+        _emitterCount = 0;
+        indexGrid();
+    }
+
+    /**
+     * Adds every occupied square of the grid to the creature, count, and emitter indices. Subclasses which know that
+     * some regions of the grid are empty override this to call indexSquare for only the squares which may be occupied.
+     */
+    protected void indexGrid()
     {
-        Creature creature = _creatureGrid[r][c];
+        for (int r = 0; r < _height; r++)
+        {
+            for (int c = 0; c < _width; c++)
+            {
+                indexSquare(r, c);
+            }
+        }
+    }
+
+    protected final void indexSquare(int r, int c)
+    {
+        Creature creature = getCreature(r, c);
+        if (creature != null)
+        {
+            indexCreature(creature, r * _width + c);
+        }
+        if (getItem(r, c) != null)
+        {
+            _itemCount++;
+        }
+        TerrainType terrain = getTerrain(r, c);
+        if (terrain != null)
+        {
+            _terrainCount++;
+        }
+        if (TerrainType.isEmitter(terrain))
+        {
+            indexEmitter(r * _width + c);
+        }
+    }
+
+    /**
+     * Allocates the per square slot storage of the creature index, with every square set to NO_CREATURE_SLOT.
+     * Subclasses which store the world sparsely override this along with getCreatureSquareSlot and
+     * setCreatureSquareSlot.
+     */
+    protected void constructCreatureSquareSlots()
+    {
+        _creatureSquareSlots = new int[_height * _width];
+        Arrays.fill(_creatureSquareSlots, NO_CREATURE_SLOT);
+    }
+
+    protected int getCreatureSquareSlot(int square)
+    {
+        return _creatureSquareSlots[square];
+    }
+
+    protected void setCreatureSquareSlot(int square, int slot)
+    {
+        _creatureSquareSlots[square] = slot;
+    }
+
+    /**
+     * Builds the creature index and population counts from the grid if they have not been built yet, which is the case
+     * for a world that was just deserialized. Every mutation and count query calls this first.
+     */
+    private void ensureIndices()
+    {
+        if (_creatureSquares == null)
+        {
+            buildIndices();
+        }
+    }
+
+    private int getCountedBlueprintIndex(CreatureBlueprint creatureBlueprint)
+    {
+        for (int i = 0; i < _countedBlueprintCount; i++)
+        {
+            if (_countedBlueprints[i] == creatureBlueprint)
+            {
+                return i;
+            }
+        }
+        if (_countedBlueprintCount == _countedBlueprints.length)
+        {
+            _countedBlueprints = Arrays.copyOf(_countedBlueprints, _countedBlueprints.length * 2);
+            _blueprintCreatureCounts = Arrays.copyOf(_blueprintCreatureCounts, _blueprintCreatureCounts.length * 2);
+        }
+        _countedBlueprints[_countedBlueprintCount] = creatureBlueprint;
+        _blueprintCreatureCounts[_countedBlueprintCount] = 0;
+        return _countedBlueprintCount++;
+    }
+
+    private void indexCreature(Creature creature, int square)
+    {
+        _blueprintCreatureCounts[getCountedBlueprintIndex(creature.getBlueprint())]++;
+        if (_creatureSquareCount == _creatureSquares.length)
+        {
+            _creatureSquares = Arrays.copyOf(_creatureSquares, _creatureSquares.length * 2);
+        }
+        setCreatureSquareSlot(square, _creatureSquareCount);
+        _creatureSquares[_creatureSquareCount++] = square;
+        _creatureSquaresSorted = false;
+        _sortedCreatures = null;
+        updateFreeSquare(square);
+        creatureIndexed(creature, square);
+    }
+
+    private void unindexCreature(Creature creature, int square)
+    {
+        _blueprintCreatureCounts[getCountedBlueprintIndex(creature.getBlueprint())]--;
+        // Keep the index dense by moving the last square into the vacated slot
+        int slot = getCreatureSquareSlot(square);
+        int lastSlot = --_creatureSquareCount;
+        if (slot != lastSlot)
+        {
+            int lastSquare = _creatureSquares[lastSlot];
+            _creatureSquares[slot] = lastSquare;
+            setCreatureSquareSlot(lastSquare, slot);
+            _creatureSquaresSorted = false;
+        }
+        setCreatureSquareSlot(square, NO_CREATURE_SLOT);
+        _sortedCreatures = null;
+        updateFreeSquare(square);
+        creatureUnindexed(creature, square);
+    }
+
+    /**
+     * Called when a creature joins the creature index, which is whenever it is added to the world and once for every
+     * creature when the index is rebuilt after deserialization. Subclasses which keep their own view of the creatures
+     * override this along with creatureUnindexed and creatureReindexed.
+     */
+    protected void creatureIndexed(Creature creature, int square)
+    {
+    }
+
+    /**
+     * Called when a creature leaves the creature index, see creatureIndexed.
+     */
+    protected void creatureUnindexed(Creature creature, int square)
+    {
+    }
+
+    /**
+     * Called when a creature moves between squares, see creatureIndexed.
+     */
+    protected void creatureReindexed(int fromSquare, int toSquare)
+    {
+    }
+
+    private void indexEmitter(int square)
+    {
+        // Emitters are rare and rarely change, so keep them sorted by inserting in place
+        int position = Arrays.binarySearch(_emitterSquares, 0, _emitterCount, square);
+        if (position >= 0)
+        {
+            return;
+        }
+        position = -position - 1;
+        if (_emitterCount == _emitterSquares.length)
+        {
+            _emitterSquares = Arrays.copyOf(_emitterSquares, _emitterSquares.length * 2);
+        }
+        System.arraycopy(_emitterSquares, position, _emitterSquares, position + 1, _emitterCount - position);
+        _emitterSquares[position] = square;
+        _emitterCount++;
+    }
+
+    private void unindexEmitter(int square)
+    {
+        int position = Arrays.binarySearch(_emitterSquares, 0, _emitterCount, square);
+        if (position < 0)
+        {
+            return;
+        }
+        System.arraycopy(_emitterSquares, position + 1, _emitterSquares, position, _emitterCount - position - 1);
+        _emitterCount--;
+    }
+
+    private void reindexCreature(int fromSquare, int toSquare)
+    {
+        int slot = getCreatureSquareSlot(fromSquare);
+        setCreatureSquareSlot(fromSquare, NO_CREATURE_SLOT);
+        setCreatureSquareSlot(toSquare, slot);
+        _creatureSquares[slot] = toSquare;
+        _creatureSquaresSorted = false;
+        updateFreeSquare(fromSquare);
+        updateFreeSquare(toSquare);
+        creatureReindexed(fromSquare, toSquare);
+    }
+
+    /**
+     * Copies the squares of all live creatures, in row-major order, into the creature square snapshot and returns how
+     * many were copied. The creature phases iterate this snapshot rather than the index itself so that creatures can
+     * move, be born, and die while a phase is underway; visiting in row-major order keeps every phase in the same order
+     * as a full sweep of the grid, so results are unchanged and deterministic.
+     */
+    private int snapshotCreatureSquares()
+    {
+        sortCreatureSquares();
+        if (_creatureSquareSnapshot.length < _creatureSquareCount)
+        {
+            _creatureSquareSnapshot = new int[_creatureSquares.length];
+        }
+        System.arraycopy(_creatureSquares, 0, _creatureSquareSnapshot, 0, _creatureSquareCount);
+        return _creatureSquareCount;
+    }
+
+    private void sortCreatureSquares()
+    {
+        ensureIndices();
+        if (!_creatureSquaresSorted)
+        {
+            Arrays.sort(_creatureSquares, 0, _creatureSquareCount);
+            for (int slot = 0; slot < _creatureSquareCount; slot++)
+            {
+                setCreatureSquareSlot(_creatureSquares[slot], slot);
+            }
+            _creatureSquaresSorted = true;
+        }
+    }
+
+    /**
+     * Returns the position in the creature square snapshot of the first creature in the given row or any later row.
+     */
+    private int findSnapshotPosition(int creatureCount, int row)
+    {
+        int position = Arrays.binarySearch(_creatureSquareSnapshot, 0, creatureCount, row * _width);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    /**
+     * The first row of the rows whose creatures are aged, planned, and acted on when the world ticks. Worlds which hold
+     * a partition of a larger world, along with copies of the squares around it, override this and
+     * getSimulatedRowEnd so that only the creatures of the partition are simulated. Every other phase of the tick,
+     * along with sound and sign exchange, still covers the whole world.
+     *
+     * @return the first simulated row
+     */
+    protected int getSimulatedRowStart()
+    {
+        return 0;
+    }
+
+    /**
+     * The row after the last of the rows whose creatures are simulated, see getSimulatedRowStart. When executing plans
+     * in parallel the simulated rows have to start and end on ACTION_TILE_SIZE boundaries.
+     *
+     * @return the row after the last simulated row
+     */
+    protected int getSimulatedRowEnd()
+    {
+        return _height;
+    }
+
+    /**
+     * Adds a creature to a randomly chosen empty square, one with no creature, item, or terrain.
+     *
+     * @param creature
+     *            the creature to add
+     * @return true if the creature was added, false if the world has no empty square
+     */
+    public boolean addImmigrant(Creature creature)
+    {
+        int square = pickFreeSquare();
+        if (square < 0)
+        {
+            return false;
+        }
+        addCreature(creature, square / _width, square % _width);
+        return true;
+    }
+
+    /**
+     * Picks an empty square uniformly at random, building the free squares on first use. Subclasses that store the grid
+     * sparsely can override this together with {@link #updateFreeSquare(int)} to keep the free squares sparse too.
+     *
+     * @return the picked square as row * width + column, or -1 if the world has no empty square
+     */
+    protected int pickFreeSquare()
+    {
+        if (_freeSquares == null)
+        {
+            _freeSquares = new FreeSquares(_height * _width);
+            for (int square = 0; square < _height * _width; square++)
+            {
+                updateFreeSquare(square);
+            }
+        }
+        if (_freeSquares.getSize() == 0)
+        {
+            return -1;
+        }
+        return _freeSquares.get(Rand.getInstance().getRandomInt(_freeSquares.getSize()));
+    }
+
+    /**
+     * Adds a square to or removes it from the free squares to match what is now stored in it, if the free squares have
+     * been built. Called after every change to a square's creature, item, or terrain, and safe to call more than once.
+     */
+    protected void updateFreeSquare(int square)
+    {
+        if (_freeSquares == null)
+        {
+            return;
+        }
+        _freeSquares.update(square, squareIsEmpty(square / _width, square % _width));
+    }
+
+    /**
+     * Executes the plan of the creature in a square, updating the creature index and giving newborns their IDs right
+     * away. Subclasses which override executeCreaturePlans to act in an order of their own call this for each creature.
+     *
+     * @param r
+     *            the row of the creature
+     * @param c
+     *            the column of the creature
+     */
+    protected void executeCreaturePlan(int r, int c)
+    {
+        executeCreaturePlan(r, c, null);
+    }
+
+    private void executeCreaturePlan(int r, int c, TileChanges changes)
+    {
+        Creature creature = getCreature(r, c);
         Action action = creature.getAction();
         Direction facing = creature.getFacing();
         int facingR = r + Direction.getVerticalComponent(facing);
         int facingC = c + Direction.getHorizontalComponent(facing);
+        Creature target = getCreature(facingR, facingC);
         // Death
         if (action == Action.DIE)
         {
             creature.executeAction(action);
-            killCreature(r, c);
+            killCreature(r, c, changes);
+            // Tiles executing concurrently would share the pool
+            if (_creaturePool != null && changes == null)
+            {
+                _creaturePool.retire(creature);
+            }
         }
         // Various actions that always succeed and are simple
         else if (action == Action.TURN_LEFT || action == Action.TURN_RIGHT || action == Action.REST)
@@ -106,42 +589,42 @@ public class GridWorld extends World
         else if (action == Action.MOVE && squareIsPathable(facingR, facingC))
         {
             creature.executeAction(action);
-            moveCreature(r, c, facing);
+            moveCreature(r, c, facing, changes);
         }
         // Eating
-        else if (action == Action.EAT && _itemGrid[r][c] == ItemType.FOOD)
+        else if (action == Action.EAT && getItem(r, c) == ItemType.FOOD)
         {
             creature.executeAction(action);
-            removeFood(r, c);
+            removeFood(r, c, changes);
         }
         // Attempt to breed
         else if (action == Action.BREED
                 // Make sure we're facing another creature
-                && _creatureGrid[facingR][facingC] != null
+                && target != null
                 // And that creature is shares the same creature blueprint as us
-                && _creatureGrid[facingR][facingC].getBlueprint() == creature.getBlueprint()
+                && target.getBlueprint() == creature.getBlueprint()
                 // And that creature also is trying to breed
-                && _creatureGrid[facingR][facingC].getAction() == Action.BREED
+                && target.getAction() == Action.BREED
                 // And that creature is the opposite gender
-                && _creatureGrid[facingR][facingC].getIsFemale() != creature.getIsFemale()
+                && target.getIsFemale() != creature.getIsFemale()
                 // Make sure the creatures are facing each other
-                && creature.getFacing() == Direction.flipDirection(_creatureGrid[facingR][facingC].getFacing()))
+                && creature.getFacing() == Direction.flipDirection(target.getFacing()))
         {
-            creature.executeAction(action, _creatureGrid[facingR][facingC]);
+            creature.executeAction(action, target, changes == null ? _creaturePool : null);
         }
         // Fighting
         else if (action == Action.FIGHT
                 // Make sure we're facing another creature
-                && _creatureGrid[facingR][facingC] != null)
+                && target != null)
         {
-            creature.executeAction(action, _creatureGrid[facingR][facingC]);
+            creature.executeAction(action, target);
         }
         // Giving Birth
         else if (action == Action.BIRTH && squareIsPathable(facingR, facingC))
         {
             Creature spawningCreature = creature.getFetus();
             creature.executeAction(action);
-            addCreature(spawningCreature, facingR, facingC);
+            addCreature(spawningCreature, facingR, facingC, changes);
         }
         // Action failed
         else
@@ -153,22 +636,230 @@ public class GridWorld extends World
     @Override
     protected void executeCreaturePlans()
     {
-        // Creatures act
-        for (int r = 1; r < _height - 1; r++)
+        int creatureCount = snapshotCreatureSquares();
+        if (_actionExecutor == null)
+        {
+            executeCreaturePlans(_creatureSquareSnapshot, findSnapshotPosition(creatureCount, getSimulatedRowStart()),
+                    findSnapshotPosition(creatureCount, getSimulatedRowEnd()), null);
+        }
+        else
+        {
+            executeCreaturePlansInTiles(creatureCount);
+        }
+    }
+
+    private void executeCreaturePlans(int[] squares, int start, int end, TileChanges changes)
+    {
+        // Creatures act, squares vacated earlier in the phase are skipped and creatures that moved into a later square
+        // or were just born have already acted
+        for (int i = start; i < end; i++)
         {
-            for (int c = 1; c < _width - 1; c++)
+            int r = squares[i] / _width;
+            int c = squares[i] % _width;
+            Creature creature = getCreature(r, c);
+            if (creature != null)
             {
-                if (_creatureGrid[r][c] != null)
+                if (!creature.hasActed())
                 {
-                    if (!_creatureGrid[r][c].hasActed())
-                    {
-                        executeCreaturePlan(r, c);
-                    }
+                    executeCreaturePlan(r, c, changes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes plans in parallel by splitting the world into ACTION_TILE_SIZE square tiles, coloured like a two by two
+     * checkerboard, and acting on all tiles of one colour at a time as separate tasks. An action reaches at most one
+     * square from the acting creature, so the squares touched by tiles of the same colour never overlap.
+     *
+     * The results are identical to this sequential reference order: the four colour waves in order (even tile row and
+     * even tile column, even row and odd column, odd row and even column, then odd row and odd column), within a wave
+     * tiles in row-major order, and within a tile creatures in row-major order of where they started the phase, as in
+     * sequential execution. Each tile draws random numbers from its own stream, seeded with
+     * getRandomInt(Integer.MAX_VALUE - 1) + 1 from the world's stream in tile order before the first wave. Bookkeeping
+     * which is shared across tiles, the creature index, population counts, and creature IDs for newborns, is logged per
+     * tile and applied after each wave in tile order. The results therefore do not depend on the number of threads, but
+     * differ from those of sequential row-major execution.
+     */
+    private void executeCreaturePlansInTiles(int creatureCount)
+    {
+        int tileRows = (_height + ACTION_TILE_SIZE - 1) / ACTION_TILE_SIZE;
+        int tileColumns = (_width + ACTION_TILE_SIZE - 1) / ACTION_TILE_SIZE;
+        if (_actionWaves == null)
+        {
+            buildActionWaves(tileRows, tileColumns);
+        }
+
+        if (_actionTileSquares.length < creatureCount)
+        {
+            _actionTileSquares = new int[_creatureSquareSnapshot.length];
+        }
+        bucketCreatureSquares(creatureCount, ACTION_TILE_SIZE, tileColumns, _actionTileStarts, _actionTileSquares);
+
+        // Every tile draws its seed, simulated or not, so that partitions of a world draw the same streams as the world
+        for (int tile = 0; tile < tileRows * tileColumns; tile++)
+        {
+            _actionTileSeeds[tile] = Rand.getInstance().getRandomInt(Integer.MAX_VALUE - 1) + 1;
+        }
+        _simulatedTileRowStart = getSimulatedRowStart() / ACTION_TILE_SIZE;
+        _simulatedTileRowEnd = (getSimulatedRowEnd() + ACTION_TILE_SIZE - 1) / ACTION_TILE_SIZE;
+        int[] waveSeeds = _actionWaveSeeds;
+        for (int wave = 0; wave < ACTION_WAVE_COUNT; wave++)
+        {
+            ActionTile[] tiles = _actionWaves[wave];
+            int births = 0;
+            for (int i = 0; i < tiles.length; i++)
+            {
+                waveSeeds[i] = _actionTileSeeds[tiles[i]._tile];
+            }
+            if (hasSquareLocalStorage())
+            {
+                _actionExecutor.invokeAll(tiles, waveSeeds, tiles.length);
+            }
+            else
+            {
+                // The storage engine can not take concurrent writes, keep the same order and streams but run the
+                // tiles one at a time
+                for (int i = 0; i < tiles.length; i++)
+                {
+                    _actionExecutor.invokeAll(new Runnable[] { tiles[i] }, new int[] { waveSeeds[i] }, 1);
                 }
             }
+            for (int i = 0; i < tiles.length; i++)
+            {
+                births += tiles[i]._changes._births;
+            }
+            onActionWaveActed(wave, births);
+            for (int i = 0; i < tiles.length; i++)
+            {
+                tiles[i]._changes.apply();
+            }
+            onActionWaveApplied(wave);
         }
     }
 
+    /**
+     * Called once the tiles of an action wave have acted, before the changes they logged are applied and newborns are
+     * given their IDs. Does nothing by default, partitions of a world use it to agree on newborn IDs with the other
+     * partitions.
+     *
+     * @param wave
+     *            the wave that acted
+     * @param births
+     *            the number of creatures born in the wave
+     */
+    protected void onActionWaveActed(int wave, int births)
+    {
+        // Do nothing
+    }
+
+    /**
+     * Called once the changes logged by the tiles of an action wave have been applied. Does nothing by default,
+     * partitions of a world use it to share the squares the wave changed with the other partitions.
+     *
+     * @param wave
+     *            the wave that was applied
+     */
+    protected void onActionWaveApplied(int wave)
+    {
+        // Do nothing
+    }
+
+    /**
+     * Whether the creatures in a row act in the given wave when executing plans in parallel. Adjacent tile rows never
+     * act in the same wave, so of two neighbouring rows in different tile rows, only one acts in any wave.
+     *
+     * @param r
+     *            the row
+     * @param wave
+     *            the wave
+     * @return true if the row's tile row acts in the wave
+     */
+    static boolean isRowActingInWave(int r, int wave)
+    {
+        return (r / ACTION_TILE_SIZE) % 2 == wave / 2;
+    }
+
+    /**
+     * Groups the creature squares in the snapshot into buckets of bucketSize by bucketSize squares, numbered in
+     * row-major order, using a counting sort which keeps the squares of each bucket in row-major order.
+     *
+     * @param creatureCount
+     *            the number of squares in the snapshot
+     * @param bucketSize
+     *            the side length of a bucket
+     * @param bucketColumns
+     *            the number of buckets across the world
+     * @param bucketStarts
+     *            filled with where each bucket starts in bucketSquares, must have room for one more than the number of
+     *            buckets so the last entry marks the end of the last bucket
+     * @param bucketSquares
+     *            filled with the grouped squares, must have room for all of them
+     */
+    private void bucketCreatureSquares(int creatureCount, int bucketSize, int bucketColumns, int[] bucketStarts,
+            int[] bucketSquares)
+    {
+        int[] squares = _creatureSquareSnapshot;
+        int bucketCount = bucketStarts.length - 1;
+        Arrays.fill(bucketStarts, 0);
+        for (int i = 0; i < creatureCount; i++)
+        {
+            bucketStarts[getBucket(squares[i], bucketSize, bucketColumns) + 1]++;
+        }
+        for (int bucket = 0; bucket < bucketCount; bucket++)
+        {
+            bucketStarts[bucket + 1] += bucketStarts[bucket];
+        }
+        for (int i = 0; i < creatureCount; i++)
+        {
+            bucketSquares[bucketStarts[getBucket(squares[i], bucketSize, bucketColumns)]++] = squares[i];
+        }
+        // The placement pass advanced each start to the end of its bucket, shift them back
+        System.arraycopy(bucketStarts, 0, bucketStarts, 1, bucketCount);
+        bucketStarts[0] = 0;
+    }
+
+    private int getBucket(int square, int bucketSize, int bucketColumns)
+    {
+        return (square / _width / bucketSize) * bucketColumns + (square % _width) / bucketSize;
+    }
+
+    private void buildActionWaves(int tileRows, int tileColumns)
+    {
+        _actionWaves = new ActionTile[ACTION_WAVE_COUNT][];
+        for (int wave = 0; wave < ACTION_WAVE_COUNT; wave++)
+        {
+            int waveRows = (tileRows - wave / 2 + 1) / 2;
+            int waveColumns = (tileColumns - wave % 2 + 1) / 2;
+            _actionWaves[wave] = new ActionTile[waveRows * waveColumns];
+            int i = 0;
+            for (int tileRow = wave / 2; tileRow < tileRows; tileRow += 2)
+            {
+                for (int tileColumn = wave % 2; tileColumn < tileColumns; tileColumn += 2)
+                {
+                    _actionWaves[wave][i++] = new ActionTile(tileRow * tileColumns + tileColumn, tileRow);
+                }
+            }
+        }
+        _actionTileSeeds = new int[tileRows * tileColumns];
+        // The first wave starts at the first tile row and column, so no wave has more tiles
+        _actionWaveSeeds = new int[_actionWaves[0].length];
+        _actionTileStarts = new int[tileRows * tileColumns + 1];
+        _actionTileSquares = new int[0];
+    }
+
+    /**
+     * Whether storeCreature, storeItem, and storeTerrain only write state belonging to the square being stored to, so
+     * that squares far enough apart can be stored to concurrently. Storage engines which share structures between
+     * squares override this to return false, and parallel action execution then runs its tiles one at a time.
+     *
+     * @return true if stores to distinct squares are independent
+     */
+    protected boolean hasSquareLocalStorage()
+    {
+        return true;
+    }
+
     @Override
     public void finalizeSerialization()
     {
@@ -188,15 +879,15 @@ public class GridWorld extends World
     @Override
     public int getCount(CreatureBlueprint s)
     {
+        ensureIndices();
+        // Counts are kept per blueprint instance, so sum every counted blueprint equal to the one asked about. There
+        // are only as many of these as species in the world.
         int count = 0;
-        for (int r = 0; r < _height; r++)
+        for (int i = 0; i < _countedBlueprintCount; i++)
         {
-            for (int c = 0; c < _width; c++)
+            if (_countedBlueprints[i] == s || _countedBlueprints[i].equals(s))
             {
-                if (this._creatureGrid[r][c] != null && this._creatureGrid[r][c].getBlueprint().equals(s))
-                {
-                    count++;
-                }
+                count += _blueprintCreatureCounts[i];
             }
         }
         return (count);
@@ -210,51 +901,84 @@ public class GridWorld extends World
     @Override
     public int getCreatureCount()
     {
-        int count = 0;
-        for (int r = 0; r < _height; r++)
+        ensureIndices();
+        return _creatureSquareCount;
+    }
+
+    /**
+     * Returns a new list of every creature in the world, sorted by generation and then ID. Callers which only need to
+     * look at each creature should use forEachCreature, which does not allocate or sort.
+     */
+    @Override
+    public LinkedList<Creature> getCreatures()
+    {
+        return new LinkedList<>(getSortedCreatures());
+    }
+
+    /**
+     * Returns every creature in the world sorted by generation and then ID, as an unmodifiable list which is cached
+     * until a creature is added or removed. A list which has been returned is never changed, later calls return a new
+     * list once the population changes.
+     */
+    public List<Creature> getSortedCreatures()
+    {
+        ensureIndices();
+        if (_sortedCreatures == null)
         {
-            for (int c = 0; c < _width; c++)
+            ArrayList<Creature> sortedCreatures = new ArrayList<>(_creatureSquareCount);
+            for (int i = 0; i < _creatureSquareCount; i++)
             {
-                if (this._creatureGrid[r][c] != null)
+                sortedCreatures.add(getCreature(_creatureSquares[i] / _width, _creatureSquares[i] % _width));
+            }
+            Collections.sort(sortedCreatures, new Comparator<Creature>()
+            {
+                @Override
+                public int compare(Creature c1, Creature c2)
                 {
-                    count++;
+                    int generationComparison = Double.compare(c1.getGeneration(), c2.getGeneration());
+                    if (generationComparison != 0)
+                    {
+                        return generationComparison;
+                    }
+                    else
+                    {
+                        return Integer.compare(c1.getID(), c2.getID());
+                    }
                 }
-            }
+            });
+            _sortedCreatures = Collections.unmodifiableList(sortedCreatures);
         }
-        return (count);
+        return _sortedCreatures;
     }
 
+    /**
+     * Visits every creature in row-major order of their squares, without allocating.
+     */
     @Override
-    public LinkedList<Creature> getCreatures()
+    public void forEachCreature(CreatureVisitor visitor)
     {
-        LinkedList<Creature> allCreatures = new LinkedList<>();
-        for (int r = 1; r < this._height - 1; r++)
+        sortCreatureSquares();
+        for (int i = 0; i < _creatureSquareCount; i++)
         {
-            for (int c = 1; c < this._width - 1; c++)
-            {
-                if (_creatureGrid[r][c] != null)
-                {
-                    allCreatures.add(_creatureGrid[r][c]);
-                }
-            }
+            visitor.visit(getCreature(_creatureSquares[i] / _width, _creatureSquares[i] % _width));
         }
-        Collections.sort(allCreatures, new Comparator<Creature>()
+    }
+
+    /**
+     * Visits every creature with the given blueprint in row-major order of their squares, without allocating.
+     */
+    @Override
+    public void forEachCreature(CreatureBlueprint creatureBlueprint, CreatureVisitor visitor)
+    {
+        sortCreatureSquares();
+        for (int i = 0; i < _creatureSquareCount; i++)
         {
-            @Override
-            public int compare(Creature c1, Creature c2)
+            Creature creature = getCreature(_creatureSquares[i] / _width, _creatureSquares[i] % _width);
+            if (creature.getBlueprint() == creatureBlueprint)
             {
-                int generationComparison = Double.compare(c1.getGeneration(), c2.getGeneration());
-                if (generationComparison != 0)
-                {
-                    return generationComparison;
-                }
-                else
-                {
-                    return Integer.compare(c1.getID(), c2.getID());
-                }
+                visitor.visit(creature);
             }
-        });
-        return allCreatures;
+        }
     }
 
     public DynamicBalancer getDynamicBalancer()
@@ -279,77 +1003,295 @@ public class GridWorld extends World
 
     public int getItemCount()
     {
-        int count = 0;
-        for (int r = 0; r < _height; r++)
+        ensureIndices();
+        return _itemCount;
+    }
+
+    public TerrainType getTerrain(int r, int c)
+    {
+        return this._terrainGrid[r][c];
+    }
+
+    public int getTerrainCount()
+    {
+        ensureIndices();
+        return _terrainCount;
+    }
+
+    public int getWidth()
+    {
+        return _width;
+    }
+
+    public int getWorldHeight()
+    {
+        return this._height;
+    }
+
+    public int getWorldWidth()
+    {
+        return this._width;
+    }
+
+    private void killCreature(int r, int c, TileChanges changes)
+    {
+        if (changes == null)
         {
-            for (int c = 0; c < _width; c++)
+            removeCreature(r, c);
+        }
+        else
+        {
+            changes.logRemove(getCreature(r, c), r * _width + c);
+            storeCreature(null, r, c);
+        }
+    }
+
+    @Override
+    protected void letCreaturesPlan()
+    {
+        if (isTickFused())
+        {
+            letCreaturesPlanFused();
+            return;
+        }
+        int creatureCount = snapshotCreatureSquares();
+        if (_planExecutor == null)
+        {
+            if (_batchedPlanning && _planBatch == null)
             {
-                if (this._itemGrid[r][c] != null)
-                {
-                    count++;
-                }
+                _planBatch = new CreaturePlanBatch();
             }
+            planCreatures(findSnapshotPosition(creatureCount, getSimulatedRowStart()),
+                    findSnapshotPosition(creatureCount, getSimulatedRowEnd()), _batchedPlanning ? _planBatch : null);
+        }
+        else
+        {
+            letCreaturesPlanInBands(creatureCount);
         }
-        return (count);
     }
 
-    public TerrainType getTerrain(int r, int c)
+    /**
+     * Plans in parallel by splitting the world into bands of PLAN_BAND_HEIGHT rows, each planned as one task with its
+     * own random stream. Planning only writes creature local state and reads the grid, so bands can not interfere with
+     * each other. The band seeds are drawn from the world's random stream in band order, making the results for a
+     * given seed identical for any number of threads, although they differ from those of sequential planning.
+     */
+    private void letCreaturesPlanInBands(int creatureCount)
     {
-        return this._terrainGrid[r][c];
+        int bandCount = (_height + PLAN_BAND_HEIGHT - 1) / PLAN_BAND_HEIGHT;
+        if (_planBands == null || _planBands.length != bandCount)
+        {
+            _planBands = new PlanBand[bandCount];
+            for (int band = 0; band < bandCount; band++)
+            {
+                _planBands[band] = new PlanBand();
+            }
+            _planBandSeeds = new int[bandCount];
+        }
+        int[] squares = _creatureSquareSnapshot;
+        int simulatedRowStart = getSimulatedRowStart();
+        int simulatedRowEnd = getSimulatedRowEnd();
+        int i = 0;
+        for (int band = 0; band < bandCount; band++)
+        {
+            int bandEndSquare = Math.min((band + 1) * PLAN_BAND_HEIGHT, _height) * _width;
+            _planBands[band]._start = i;
+            while (i < creatureCount && squares[i] < bandEndSquare)
+            {
+                i++;
+            }
+            _planBands[band]._end = i;
+            if (band * PLAN_BAND_HEIGHT < simulatedRowStart || band * PLAN_BAND_HEIGHT >= simulatedRowEnd)
+            {
+                _planBands[band]._start = i;
+            }
+            // Every band draws its seed, simulated or not, so that partitions of a world draw the same streams
+            _planBandSeeds[band] = Rand.getInstance().getRandomInt(Integer.MAX_VALUE - 1) + 1;
+        }
+        _planExecutor.invokeAll(_planBands, _planBandSeeds, bandCount);
     }
 
-    public int getTerrainCount()
+    /**
+     * Ages, exchanges signs for, and plans each creature in a single row-major sweep, in place of the separate
+     * tickCreatures, transmitSigns, and letCreaturesPlan sweeps. The results are identical to running the phases one
+     * after another:
+     * <ul>
+     * <li>Ageing only changes the creature being aged, and nothing it changes is read by sound or sign exchange or by
+     * another creature's plan. Sound exchange, which has to see every creature before any of them plans, runs as a
+     * separate phase before this sweep, which is equivalent to ageing first.</li>
+     * <li>Signs are exchanged with the creature ahead, which is always later in row-major order, so a creature's sign
+     * inputs are complete by the time it is visited, and the partner's sign outputs are read before it plans.</li>
+     * <li>Planning reads the creature's own state and the contents of nearby squares, neither of which another
+     * creature's ageing, sign exchange, or planning changes.</li>
+     * </ul>
+     */
+    private void letCreaturesPlanFused()
     {
-        int count = 0;
-        for (int r = 0; r < _height; r++)
+        int creatureCount = snapshotCreatureSquares();
+        int[] squares = _creatureSquareSnapshot;
+        boolean signEnabled = this._gridWorldBlueprint.getSignEnabled();
+        int end = findSnapshotPosition(creatureCount, getSimulatedRowEnd());
+        for (int i = findSnapshotPosition(creatureCount, getSimulatedRowStart()); i < end; i++)
         {
-            for (int c = 0; c < _width; c++)
+            int r = squares[i] / _width;
+            int c = squares[i] % _width;
+            Creature creature = getCreature(r, c);
+            creature.tick(getTerrain(r, c) == TerrainType.FLAME ? 1 : 0);
+            if (signEnabled)
             {
-                if (this._terrainGrid[r][c] != null)
-                {
-                    count++;
-                }
+                transmitSignsFrom(r, c);
             }
+            creature.planAction(this, r, c);
         }
-        return (count);
     }
 
-    public int getWidth()
+    protected boolean isTickFused()
     {
-        return _width;
+        // Plan bands run concurrently, and a band exchanging signs across its edge would race the next band's plans
+        return _fusedTick && _planExecutor == null;
     }
 
-    public int getWorldHeight()
+    private void planCreatures(int start, int end, CreaturePlanBatch planBatch)
     {
-        return this._height;
+        int[] squares = _creatureSquareSnapshot;
+        if (planBatch != null)
+        {
+            planBatch.plan(this, squares, start, end);
+            return;
+        }
+        for (int i = start; i < end; i++)
+        {
+            int r = squares[i] / _width;
+            int c = squares[i] % _width;
+            getCreature(r, c).planAction(this, r, c);
+        }
     }
 
-    public int getWorldWidth()
+    private class ActionTile implements Runnable
     {
-        return this._width;
-    }
+        private final int _tile;
+        private final int _tileRow;
+        private final TileChanges _changes = new TileChanges();
 
-    private void killCreature(int r, int c)
-    {
-        removeCreature(r, c);
+        private ActionTile(int tile, int tileRow)
+        {
+            _tile = tile;
+            _tileRow = tileRow;
+        }
+
+        @Override
+        public void run()
+        {
+            if (_tileRow < _simulatedTileRowStart || _tileRow >= _simulatedTileRowEnd)
+            {
+                return;
+            }
+            executeCreaturePlans(_actionTileSquares, _actionTileStarts[_tile], _actionTileStarts[_tile + 1], _changes);
+        }
     }
 
-    @Override
-    protected void letCreaturesPlan()
+    /**
+     * Changes to the creature index, population counts, free squares, and creature IDs made while a tile acts, held
+     * back so that tiles acting concurrently do not write shared state. They are applied in the order they were logged.
+     */
+    private class TileChanges
     {
-        for (int r = 1; r < _height - 1; r++)
+        private static final int ADD = 0;
+        private static final int REMOVE = 1;
+        private static final int MOVE = 2;
+        private static final int REMOVE_ITEM = 3;
+
+        private int[] _operations = new int[16];
+        private int[] _squares = new int[16];
+        private int[] _toSquares = new int[16];
+        private Creature[] _creatures = new Creature[16];
+        private int _size;
+        private int _births;
+
+        private void logAdd(Creature creature, int square)
+        {
+            _births++;
+            log(ADD, creature, square, square);
+        }
+
+        private void logRemove(Creature creature, int square)
+        {
+            log(REMOVE, creature, square, square);
+        }
+
+        private void logMove(int fromSquare, int toSquare)
+        {
+            log(MOVE, null, fromSquare, toSquare);
+        }
+
+        private void logRemoveItem(int square)
+        {
+            log(REMOVE_ITEM, null, square, square);
+        }
+
+        private void log(int operation, Creature creature, int square, int toSquare)
+        {
+            if (_size == _operations.length)
+            {
+                _operations = Arrays.copyOf(_operations, _size * 2);
+                _squares = Arrays.copyOf(_squares, _size * 2);
+                _toSquares = Arrays.copyOf(_toSquares, _size * 2);
+                _creatures = Arrays.copyOf(_creatures, _size * 2);
+            }
+            _operations[_size] = operation;
+            _creatures[_size] = creature;
+            _squares[_size] = square;
+            _toSquares[_size] = toSquare;
+            _size++;
+        }
+
+        private void apply()
         {
-            for (int c = 1; c < _width - 1; c++)
+            for (int i = 0; i < _size; i++)
             {
-                if (_creatureGrid[r][c] != null)
+                switch (_operations[i])
                 {
-                    _creatureGrid[r][c].planAction(this, r, c);
+                    case ADD:
+                        _creatures[i].setID(getNewCreatureID());
+                        indexCreature(_creatures[i], _squares[i]);
+                        break;
+                    case REMOVE:
+                        unindexCreature(_creatures[i], _squares[i]);
+                        break;
+                    case MOVE:
+                        reindexCreature(_squares[i], _toSquares[i]);
+                        break;
+                    case REMOVE_ITEM:
+                        _itemCount--;
+                        updateFreeSquare(_squares[i]);
+                        logSnapshotChange(_squares[i]);
+                        break;
                 }
+                _creatures[i] = null;
             }
+            _size = 0;
+            _births = 0;
         }
     }
 
-    private void moveCreature(int r, int c, Direction direction)
+    private class PlanBand implements Runnable
+    {
+        private int _start;
+        private int _end;
+        private CreaturePlanBatch _planBatch;
+
+        @Override
+        public void run()
+        {
+            if (_batchedPlanning && _planBatch == null)
+            {
+                _planBatch = new CreaturePlanBatch();
+            }
+            planCreatures(_start, _end, _batchedPlanning ? _planBatch : null);
+        }
+    }
+
+    private void moveCreature(int r, int c, Direction direction, TileChanges changes)
     {
         int r1 = r;
         int c1 = c;
@@ -374,8 +1316,18 @@ public class GridWorld extends World
                 new Error().printStackTrace();
         }
 
-        _creatureGrid[r2][c2] = _creatureGrid[r1][c1];
-        _creatureGrid[r1][c1] = null;
+        Creature creature = getCreature(r1, c1);
+        storeCreature(null, r1, c1);
+        storeCreature(creature, r2, c2);
+        if (changes == null)
+        {
+            ensureIndices();
+            reindexCreature(r1 * _width + c1, r2 * _width + c2);
+        }
+        else
+        {
+            changes.logMove(r1 * _width + c1, r2 * _width + c2);
+        }
     }
 
     @Override
@@ -391,7 +1343,7 @@ public class GridWorld extends World
         {
             for (int c = 0; c < _width; c++)
             {
-                _creatureGrid[r][c] = null;
+                storeCreature(null, r, c);
                 if (r < 1 || c < 1 || r > _height - 2 || c > _width - 2)
                 {
                     setTerrain(TerrainType.WALL, r, c);
@@ -423,13 +1375,146 @@ public class GridWorld extends World
 
     public void removeCreature(int r, int c)
     {
-        _creatureGrid[r][c] = null;
-
+        ensureIndices();
+        Creature creature = getCreature(r, c);
+        if (creature != null)
+        {
+            storeCreature(null, r, c);
+            unindexCreature(creature, r * _width + c);
+        }
     }
 
     public void removeFood(int r, int c)
     {
-        _itemGrid[r][c] = null;
+        setItem(null, r, c);
+    }
+
+    private void removeFood(int r, int c, TileChanges changes)
+    {
+        if (changes == null)
+        {
+            removeFood(r, c);
+        }
+        else
+        {
+            storeItem(null, r, c);
+            changes.logRemoveItem(r * _width + c);
+        }
+    }
+
+    /**
+     * Sets the executor used to plan creature actions in parallel, or null to plan sequentially. The executor is a
+     * runtime resource and is not serialized with the world.
+     *
+     * @param planExecutor
+     *            the executor to plan with
+     */
+    public void setPlanExecutor(ParallelExecutor planExecutor)
+    {
+        this._planExecutor = planExecutor;
+    }
+
+    /**
+     * Sets the executor used to execute creature plans in parallel, or null to execute them sequentially. Parallel
+     * execution follows a different, but equally deterministic, order than sequential execution, see
+     * executeCreaturePlansInTiles. The executor is a runtime resource and is not serialized with the world.
+     *
+     * @param actionExecutor
+     *            the executor to execute plans with
+     */
+    public void setActionExecutor(ParallelExecutor actionExecutor)
+    {
+        this._actionExecutor = actionExecutor;
+    }
+
+    public ParallelExecutor getPlanExecutor()
+    {
+        return this._planExecutor;
+    }
+
+    public ParallelExecutor getActionExecutor()
+    {
+        return this._actionExecutor;
+    }
+
+    /**
+     * Sets whether sounds are transmitted by checking every pair of creatures even when the blueprint sets a sound
+     * cutoff radius. The results are identical either way, all pairs transmission is kept to validate the spatial hash
+     * against.
+     *
+     * @param allPairsSound
+     *            true to check every pair of creatures
+     */
+    public void setAllPairsSound(boolean allPairsSound)
+    {
+        this._allPairsSound = allPairsSound;
+    }
+
+    /**
+     * Sets whether creatures are aged, exchange signs, and plan in a single sweep over the creatures rather than in one
+     * sweep per phase. The results are identical either way. A fused tick only applies while creatures plan
+     * sequentially, with a plan executor set the phases run separately.
+     *
+     * @param fusedTick
+     *            true to fuse the creature phases of a tick
+     */
+    public void setFusedTick(boolean fusedTick)
+    {
+        this._fusedTick = fusedTick;
+    }
+
+    /**
+     * Sets a pool which creatures that die are retired to and offspring are taken from, or null to allocate every
+     * offspring. The results are identical either way. The pool is only used while creature plans are executed
+     * sequentially, and like the executors it is a runtime resource which is not serialized with the world.
+     *
+     * @param creaturePool
+     *            the pool to recycle creatures through
+     */
+    public void setCreaturePool(CreaturePool creaturePool)
+    {
+        this._creaturePool = creaturePool;
+    }
+
+    /**
+     * Sets whether creatures plan in batches, sensing every creature first and then evaluating the neural networks
+     * or decision trees of each blueprint together in a NeuralNetworkBatch or DecisionTreeBatch, rather than sensing
+     * and evaluating one creature at a time. The results are identical either way. Batched planning applies to
+     * sequential and banded planning, a fused tick plans each creature on its own.
+     *
+     * @param batchedPlanning
+     *            true to plan creatures in batches
+     */
+    public void setBatchedPlanning(boolean batchedPlanning)
+    {
+        this._batchedPlanning = batchedPlanning;
+    }
+
+    /**
+     * Sets whether the world publishes a GridWorldSnapshot after each tick, for other threads to read through
+     * acquireSnapshot while the world carries on ticking. Enabling publishing publishes a snapshot of the world as it
+     * is, so this must be called from the thread which ticks the world.
+     *
+     * @param snapshotPublishing
+     *            true to publish snapshots
+     */
+    public void setSnapshotPublishing(boolean snapshotPublishing)
+    {
+        this._snapshotPublishing = snapshotPublishing;
+        // Any earlier snapshots were built before the squares changed since are logged, so start over from new ones
+        _publishedSnapshot = null;
+        _spareSnapshot = null;
+        _snapshotChangeCount = 0;
+        _snapshotChangeMark = 0;
+        if (snapshotPublishing)
+        {
+            _snapshotChangedSquares = new int[16];
+            publishSnapshot();
+        }
+        else
+        {
+            _snapshotChangedSquares = null;
+        }
     }
 
     public void setDynamicBalancer(DynamicBalancer balancer)
@@ -439,52 +1524,136 @@ public class GridWorld extends World
 
     public void setItem(ItemType itemType, int r, int c)
     {
-        this._itemGrid[r][c] = itemType;
+        ensureIndices();
+        ItemType previousItem = getItem(r, c);
+        if (previousItem == null && itemType != null)
+        {
+            _itemCount++;
+        }
+        else if (previousItem != null && itemType == null)
+        {
+            _itemCount--;
+        }
+        storeItem(itemType, r, c);
+        updateFreeSquare(r * _width + c);
+        logSnapshotChange(r * _width + c);
     }
 
     public void setTerrain(TerrainType terrainType, int r, int c)
     {
-        this._terrainGrid[r][c] = terrainType;
+        ensureIndices();
+        TerrainType previousTerrain = getTerrain(r, c);
+        if (previousTerrain == null && terrainType != null)
+        {
+            _terrainCount++;
+        }
+        else if (previousTerrain != null && terrainType == null)
+        {
+            _terrainCount--;
+        }
+        if (TerrainType.isEmitter(previousTerrain) && !TerrainType.isEmitter(terrainType))
+        {
+            unindexEmitter(r * _width + c);
+        }
+        else if (TerrainType.isEmitter(terrainType))
+        {
+            indexEmitter(r * _width + c);
+        }
+        storeTerrain(terrainType, r, c);
+        updateFreeSquare(r * _width + c);
+        logSnapshotChange(r * _width + c);
     }
 
     @Override
     protected void spawnFood()
     {
-        // Generate food at a given rate
-        for (int r = 0; r < _height; r++)
+        spawnFood(0, 0, _height, _width, this._gridWorldBlueprint.getFoodGenerationProbability());
+    }
+
+    /**
+     * Spawns food in a rectangle of the world, with every foodable square in it independently spawning food with the
+     * given probability.
+     */
+    protected void spawnFood(int top, int left, int height, int width, double probability)
+    {
+        // Rather than rolling for each square, skip straight to the next square that rolls a success: the number of
+        // failures before a success is geometrically distributed, and is sampled by inverting its cumulative
+        // distribution. Squares which are not foodable can not spawn food, so landing on one spawns nothing, and the
+        // work done is proportional to the food spawned rather than to the size of the rectangle.
+        if (probability <= 0)
         {
-            for (int c = 0; c < _width; c++)
+            return;
+        }
+        int squareCount = height * width;
+        double logFailureProbability = Math.log(1 - probability);
+        int square = -1;
+        while (true)
+        {
+            double skipped = 0;
+            if (probability < 1)
             {
-                if (squareIsFoodable(r, c))
-                {
-                    double randomNumber = Rand.getInstance().getRandomPositiveDouble();
-                    if (randomNumber < this._gridWorldBlueprint.getFoodGenerationProbability())
-                    {
-                        this.setItem(ItemType.FOOD, r, c);
-                    }
-                }
+                // The random number is in [0,1), flip it into (0,1] to keep the logarithm finite
+                double randomNumber = 1 - Rand.getInstance().getRandomPositiveDouble();
+                skipped = Math.floor(Math.log(randomNumber) / logFailureProbability);
+            }
+            // Compare as doubles, a long run of failures can overflow an int
+            if (square + 1 + skipped >= squareCount)
+            {
+                break;
+            }
+            square += 1 + (int) skipped;
+            int r = top + square / width;
+            int c = left + square % width;
+            if (squareIsFoodable(r, c))
+            {
+                this.setItem(ItemType.FOOD, r, c);
             }
         }
     }
 
     public boolean squareIsEmpty(int r, int c)
     {
-        return _creatureGrid[r][c] == null && _itemGrid[r][c] == null && _terrainGrid[r][c] == null;
+        return getCreature(r, c) == null && getItem(r, c) == null && getTerrain(r, c) == null;
     }
 
     public boolean squareIsFlamable(int r, int c)
     {
-        return _terrainGrid[r][c] == null;
+        return getTerrain(r, c) == null;
     }
 
     public boolean squareIsFoodable(int r, int c)
     {
-        return _itemGrid[r][c] == null && _terrainGrid[r][c] == null;
+        return getItem(r, c) == null && getTerrain(r, c) == null;
     }
 
     public boolean squareIsPathable(int r, int c)
     {
-        return _creatureGrid[r][c] == null && TerrainType.isPathable(_terrainGrid[r][c]);
+        return getCreature(r, c) == null && TerrainType.isPathable(getTerrain(r, c));
+    }
+
+    /**
+     * Writes a creature into the creature layer of the world, or clears the square if the creature is null. This is the
+     * raw storage operation and performs no bookkeeping such as ID assignment.
+     */
+    protected void storeCreature(Creature creature, int r, int c)
+    {
+        this._creatureGrid[r][c] = creature;
+    }
+
+    /**
+     * Writes an item into the item layer of the world, or clears the square if the item is null.
+     */
+    protected void storeItem(ItemType itemType, int r, int c)
+    {
+        this._itemGrid[r][c] = itemType;
+    }
+
+    /**
+     * Writes a terrain type into the terrain layer of the world, or clears the square if the terrain is null.
+     */
+    protected void storeTerrain(TerrainType terrainType, int r, int c)
+    {
+        this._terrainGrid[r][c] = terrainType;
     }
 
     @Override
@@ -497,22 +1666,122 @@ public class GridWorld extends World
         {
             _balancer.balance(this);
         }
+
+        if (_snapshotPublishing)
+        {
+            publishSnapshot();
+        }
     }
 
-    @Override
-    protected void tickCreatures()
+    /**
+     * Builds a snapshot of the world in the spare buffer, or in a new one if a reader still holds the spare, and
+     * publishes it in place of the current snapshot. The spare was built the publish before last, so only the squares
+     * changed since then are copied into it, a new buffer gets every square.
+     */
+    private void publishSnapshot()
     {
-        for (int r = 1; r < _height - 1; r++)
+        GridWorldSnapshot snapshot = _spareSnapshot;
+        boolean reused = snapshot != null && snapshot.claimForWriting();
+        if (!reused)
+        {
+            // New snapshots start out claimed for writing
+            snapshot = new GridWorldSnapshot();
+        }
+        boolean resized = snapshot.setWorldState(getTickCounter(), _width, _height, getMaximimCreatureID());
+        if (reused && !resized)
+        {
+            for (int i = 0; i < _snapshotChangeCount; i++)
+            {
+                int square = _snapshotChangedSquares[i];
+                snapshot.setSquare(square, getItem(square / _width, square % _width),
+                        getTerrain(square / _width, square % _width));
+            }
+        }
+        else
         {
-            for (int c = 1; c < _width - 1; c++)
+            for (int r = 0; r < _height; r++)
             {
-                if (_creatureGrid[r][c] != null)
+                for (int c = 0; c < _width; c++)
                 {
-                    int flameAmount = _terrainGrid[r][c] == TerrainType.FLAME ? 1 : 0;
-                    _creatureGrid[r][c].tick(flameAmount);
+                    snapshot.setSquare(r * _width + c, getItem(r, c), getTerrain(r, c));
                 }
             }
         }
+        // The published snapshot becomes the next spare, which needs only the changes logged since it was built
+        System.arraycopy(_snapshotChangedSquares, _snapshotChangeMark, _snapshotChangedSquares, 0,
+                _snapshotChangeCount - _snapshotChangeMark);
+        _snapshotChangeCount -= _snapshotChangeMark;
+        _snapshotChangeMark = _snapshotChangeCount;
+
+        ArrayList<CreatureBlueprint> creatureBlueprints = _gridWorldBlueprint.getCreatureBlueprints();
+        int creatureCount = snapshotCreatureSquares();
+        snapshot.setCreatureCount(creatureCount);
+        for (int i = 0; i < creatureCount; i++)
+        {
+            int square = _creatureSquareSnapshot[i];
+            Creature creature = getCreature(square / _width, square % _width);
+            // Blueprints are matched by identity, as in breeding, since comparing them field by field is slow
+            int blueprintIndex = -1;
+            for (int b = 0; b < creatureBlueprints.size() && blueprintIndex == -1; b++)
+            {
+                blueprintIndex = creatureBlueprints.get(b) == creature.getBlueprint() ? b : -1;
+            }
+            snapshot.setCreature(i, square, creature, blueprintIndex);
+        }
+        snapshot.finishWriting();
+        _spareSnapshot = _publishedSnapshot;
+        _publishedSnapshot = snapshot;
+    }
+
+    private void logSnapshotChange(int square)
+    {
+        if (_snapshotPublishing)
+        {
+            if (_snapshotChangeCount == _snapshotChangedSquares.length)
+            {
+                _snapshotChangedSquares = Arrays.copyOf(_snapshotChangedSquares, _snapshotChangeCount * 2);
+            }
+            _snapshotChangedSquares[_snapshotChangeCount++] = square;
+        }
+    }
+
+    /**
+     * Takes a hold on the most recently published snapshot, which can be called from any thread. The snapshot is not
+     * changed while it is held, and must be released once the caller is done reading it.
+     *
+     * @return the snapshot, or null if snapshot publishing is not enabled
+     */
+    public GridWorldSnapshot acquireSnapshot()
+    {
+        while (true)
+        {
+            GridWorldSnapshot snapshot = _publishedSnapshot;
+            if (snapshot == null || snapshot.acquire())
+            {
+                return snapshot;
+            }
+            // The world claimed this snapshot to reuse after publishing a newer one, so pick up the newer one
+        }
+    }
+
+    @Override
+    protected void tickCreatures()
+    {
+        if (isTickFused())
+        {
+            // Creatures are aged while they plan
+            return;
+        }
+        int creatureCount = snapshotCreatureSquares();
+        int[] squares = _creatureSquareSnapshot;
+        int end = findSnapshotPosition(creatureCount, getSimulatedRowEnd());
+        for (int i = findSnapshotPosition(creatureCount, getSimulatedRowStart()); i < end; i++)
+        {
+            int r = squares[i] / _width;
+            int c = squares[i] % _width;
+            int flameAmount = getTerrain(r, c) == TerrainType.FLAME ? 1 : 0;
+            getCreature(r, c).tick(flameAmount);
+        }
     }
 
     @Override
@@ -524,48 +1793,50 @@ public class GridWorld extends World
     @Override
     protected void tickTerrain()
     {
-        for (int r = 0; r < _height; r++)
+        ensureIndices();
+        // Emitters only write to squares without terrain, so the emitter index can not change while it is walked
+        for (int i = 0; i < _emitterCount; i++)
         {
-            for (int c = 0; c < _width; c++)
+            int r = _emitterSquares[i] / _width;
+            int c = _emitterSquares[i] % _width;
+            TerrainType terrain = getTerrain(r, c);
+            if (terrain == TerrainType.FOOD_GENERATOR)
             {
-                if (this._terrainGrid[r][c] == TerrainType.FOOD_GENERATOR)
+                if (squareIsFoodable(r + 1, c))
                 {
-                    if (squareIsFoodable(r + 1, c))
-                    {
-                        this.setItem(ItemType.FOOD, r + 1, c);
-                    }
-                    if (squareIsFoodable(r - 1, c))
-                    {
-                        this.setItem(ItemType.FOOD, r - 1, c);
-                    }
-                    if (squareIsFoodable(r, c + 1))
-                    {
-                        this.setItem(ItemType.FOOD, r, c + 1);
-                    }
-                    if (squareIsFoodable(r, c - 1))
-                    {
-                        this.setItem(ItemType.FOOD, r, c - 1);
-                    }
+                    this.setItem(ItemType.FOOD, r + 1, c);
+                }
+                if (squareIsFoodable(r - 1, c))
+                {
+                    this.setItem(ItemType.FOOD, r - 1, c);
+                }
+                if (squareIsFoodable(r, c + 1))
+                {
+                    this.setItem(ItemType.FOOD, r, c + 1);
                 }
+                if (squareIsFoodable(r, c - 1))
+                {
+                    this.setItem(ItemType.FOOD, r, c - 1);
+                }
+            }
 
-                if (this._terrainGrid[r][c] == TerrainType.FLAMETHROWER)
+            if (terrain == TerrainType.FLAMETHROWER)
+            {
+                if (squareIsFlamable(r + 1, c))
                 {
-                    if (squareIsFlamable(r + 1, c))
-                    {
-                        this.setTerrain(TerrainType.FLAME, r + 1, c);
-                    }
-                    if (squareIsFlamable(r - 1, c))
-                    {
-                        this.setTerrain(TerrainType.FLAME, r - 1, c);
-                    }
-                    if (squareIsFlamable(r, c + 1))
-                    {
-                        this.setTerrain(TerrainType.FLAME, r, c + 1);
-                    }
-                    if (squareIsFlamable(r, c - 1))
-                    {
-                        this.setTerrain(TerrainType.FLAME, r, c - 1);
-                    }
+                    this.setTerrain(TerrainType.FLAME, r + 1, c);
+                }
+                if (squareIsFlamable(r - 1, c))
+                {
+                    this.setTerrain(TerrainType.FLAME, r - 1, c);
+                }
+                if (squareIsFlamable(r, c + 1))
+                {
+                    this.setTerrain(TerrainType.FLAME, r, c + 1);
+                }
+                if (squareIsFlamable(r, c - 1))
+                {
+                    this.setTerrain(TerrainType.FLAME, r, c - 1);
                 }
             }
         }
@@ -574,24 +1845,20 @@ public class GridWorld extends World
     @Override
     protected void transmitSigns()
     {
-        if (this._gridWorldBlueprint.getSignEnabled())
+        if (this._gridWorldBlueprint.getSignEnabled() && !isTickFused())
         {
-            for (int r = 1; r < this._height - 1; r++)
+            int creatureCount = snapshotCreatureSquares();
+            int[] squares = _creatureSquareSnapshot;
+            for (int i = 0; i < creatureCount; i++)
             {
-                for (int c = 1; c < this._width - 1; c++)
-                {
-                    if (_creatureGrid[r][c] != null)
-                    {
-                        transmitSignsFrom(r, c);
-                    }
-                }
+                transmitSignsFrom(squares[i] / _width, squares[i] % _width);
             }
         }
     }
 
     private void transmitSignsFrom(int r1, int c1)
     {
-        Direction facing = _creatureGrid[r1][c1].getFacing();
+        Direction facing = getCreature(r1, c1).getFacing();
         int r2 = r1 + Direction.getVerticalComponent(facing);
         int c2 = c1 + Direction.getHorizontalComponent(facing);
         // We transmit signs both directions at the same time, so we only want to get each pair of
@@ -599,7 +1866,8 @@ public class GridWorld extends World
         // signs yet.
         if (r1 <= r2 && c1 <= c2)
         {
-            if (_creatureGrid[r2][c2] != null && facing == Direction.flipDirection(_creatureGrid[r2][c2].getFacing()))
+            Creature partner = getCreature(r2, c2);
+            if (partner != null && facing == Direction.flipDirection(partner.getFacing()))
             {
                 transmitSignsFromTo(r1, c1, r2, c2);
             }
@@ -608,8 +1876,10 @@ public class GridWorld extends World
 
     private void transmitSignsFromTo(int r1, int c1, int r2, int c2)
     {
-        _creatureGrid[r1][c1].lookAtCreature(_creatureGrid[r2][c2]);
-        _creatureGrid[r2][c2].lookAtCreature(_creatureGrid[r1][c1]);
+        Creature creature1 = getCreature(r1, c1);
+        Creature creature2 = getCreature(r2, c2);
+        creature1.lookAtCreature(creature2);
+        creature2.lookAtCreature(creature1);
     }
 
     @Override
@@ -617,37 +1887,118 @@ public class GridWorld extends World
     {
         if (this._gridWorldBlueprint.getSoundEnabled())
         {
-            for (int r = 1; r < this._height - 1; r++)
+            int creatureCount = snapshotCreatureSquares();
+            int cutoffRadius = this._gridWorldBlueprint.getSoundCutoffRadius();
+            if (cutoffRadius > 0 && !_allPairsSound)
+            {
+                transmitSoundsInBuckets(creatureCount, cutoffRadius);
+            }
+            else
             {
-                for (int c = 1; c < this._width - 1; c++)
+                int[] squares = _creatureSquareSnapshot;
+                for (int i = 0; i < creatureCount; i++)
                 {
-                    if (_creatureGrid[r][c] != null)
-                    {
-                        transmitSoundsFrom(r, c);
-                    }
+                    transmitSoundsFrom(squares, i, creatureCount, cutoffRadius);
                 }
             }
         }
     }
 
-    private void transmitSoundsFrom(int r1, int c1)
+    private void transmitSoundsFrom(int[] squares, int i, int creatureCount, int cutoffRadius)
     {
         // We transmit sounds both directions at the same time, so we only want to get each pair of
         // creatures once. Anything 'below and to the right' is should be a pair that haven't shared
-        // sounds yet.
-        for (int c2 = c1 + 1; c2 < this._width; c2++)
+        // sounds yet. Squares are in row-major order, so every later square is in the same row to the
+        // right or in a lower row.
+        int r1 = squares[i] / _width;
+        int c1 = squares[i] % _width;
+        for (int j = i + 1; j < creatureCount; j++)
         {
-            int r2 = r1;
-            if (_creatureGrid[r1][c1] != null)
+            int r2 = squares[j] / _width;
+            int c2 = squares[j] % _width;
+            if (c2 >= c1 && isWithinSoundCutoff(r1, c1, r2, c2, cutoffRadius))
             {
                 transmitSoundsFromTo(r1, c1, r2, c2);
             }
         }
-        for (int r2 = r1 + 1; r2 < this._height; r2++)
+    }
+
+    /**
+     * Transmits sounds using a uniform spatial hash with buckets as wide as the cutoff radius. Sounds only travel to
+     * partners below and to the right, so every partner in range of a creature is in its own bucket or the buckets to
+     * the right, below, or below and to the right. Those four buckets are merged in row-major order, so each creature
+     * hears the same sounds in the same order as with all pairs transmission, and the floating point sums match.
+     */
+    private void transmitSoundsInBuckets(int creatureCount, int cutoffRadius)
+    {
+        int bucketRows = (_height + cutoffRadius - 1) / cutoffRadius;
+        int bucketColumns = (_width + cutoffRadius - 1) / cutoffRadius;
+        if (_soundBucketStarts == null || _soundBucketStarts.length != bucketRows * bucketColumns + 1)
+        {
+            _soundBucketStarts = new int[bucketRows * bucketColumns + 1];
+        }
+        if (_soundBucketSquares == null || _soundBucketSquares.length < creatureCount)
+        {
+            _soundBucketSquares = new int[_creatureSquareSnapshot.length];
+        }
+        bucketCreatureSquares(creatureCount, cutoffRadius, bucketColumns, _soundBucketStarts, _soundBucketSquares);
+
+        if (_soundBucketPositions == null)
+        {
+            _soundBucketPositions = new int[4];
+            _soundBucketEnds = new int[4];
+        }
+
+        int[] squares = _creatureSquareSnapshot;
+        int[] positions = _soundBucketPositions;
+        int[] ends = _soundBucketEnds;
+        for (int i = 0; i < creatureCount; i++)
         {
-            for (int c2 = c1; c2 < this._width; c2++)
+            int square = squares[i];
+            int r1 = square / _width;
+            int c1 = square % _width;
+            int bucketRow = r1 / cutoffRadius;
+            int bucketColumn = c1 / cutoffRadius;
+            for (int k = 0; k < 4; k++)
+            {
+                int row = bucketRow + k / 2;
+                int column = bucketColumn + k % 2;
+                if (row < bucketRows && column < bucketColumns)
+                {
+                    int bucket = row * bucketColumns + column;
+                    positions[k] = _soundBucketStarts[bucket];
+                    ends[k] = _soundBucketStarts[bucket + 1];
+                    // Partners must come after this creature in row-major order
+                    while (positions[k] < ends[k] && _soundBucketSquares[positions[k]] <= square)
+                    {
+                        positions[k]++;
+                    }
+                }
+                else
+                {
+                    positions[k] = 0;
+                    ends[k] = 0;
+                }
+            }
+            while (true)
             {
-                if (_creatureGrid[r2][c2] != null)
+                int next = -1;
+                for (int k = 0; k < 4; k++)
+                {
+                    if (positions[k] < ends[k] && (next == -1
+                            || _soundBucketSquares[positions[k]] < _soundBucketSquares[positions[next]]))
+                    {
+                        next = k;
+                    }
+                }
+                if (next == -1)
+                {
+                    break;
+                }
+                int r2 = _soundBucketSquares[positions[next]] / _width;
+                int c2 = _soundBucketSquares[positions[next]] % _width;
+                positions[next]++;
+                if (c2 >= c1 && isWithinSoundCutoff(r1, c1, r2, c2, cutoffRadius))
                 {
                     transmitSoundsFromTo(r1, c1, r2, c2);
                 }
@@ -655,10 +2006,18 @@ public class GridWorld extends World
         }
     }
 
+    private static boolean isWithinSoundCutoff(int r1, int c1, int r2, int c2, int cutoffRadius)
+    {
+        int distanceSquared = (r1 - r2) * (r1 - r2) + (c1 - c2) * (c1 - c2);
+        return cutoffRadius <= 0 || distanceSquared <= cutoffRadius * cutoffRadius;
+    }
+
     private void transmitSoundsFromTo(int r1, int c1, int r2, int c2)
     {
         int distanceSquared = (r1 - r2) * (r1 - r2) + (c1 - c2) * (c1 - c2);
-        _creatureGrid[r1][c1].listenToCreature(_creatureGrid[r2][c2], distanceSquared);
-        _creatureGrid[r2][c2].listenToCreature(_creatureGrid[r1][c1], distanceSquared);
+        Creature creature1 = getCreature(r1, c1);
+        Creature creature2 = getCreature(r2, c2);
+        creature1.listenToCreature(creature2, distanceSquared);
+        creature2.listenToCreature(creature1, distanceSquared);
     }
 }
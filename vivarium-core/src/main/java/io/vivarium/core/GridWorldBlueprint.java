@@ -40,6 +40,9 @@ public class GridWorldBlueprint extends WorldBlueprint
     // Simulation Details
     @SerializedParameter
     private boolean _signEnabled = false;
+    // Sounds only carry between creatures within this distance, 0 lets them carry across the whole world
+    @SerializedParameter
+    private int _soundCutoffRadius = 0;
 
     // Blueprints for creatures
     @SerializedParameter
@@ -117,6 +120,11 @@ public class GridWorldBlueprint extends WorldBlueprint
         return this._signEnabled;
     }
 
+    public int getSoundCutoffRadius()
+    {
+        return this._soundCutoffRadius;
+    }
+
     @Override
     public ArrayList<AuditBlueprint> getAuditBlueprints()
     {
@@ -162,6 +170,11 @@ public class GridWorldBlueprint extends WorldBlueprint
         this._signEnabled = signEnabled;
     }
 
+    public void setSoundCutoffRadius(int soundCutoffRadius)
+    {
+        this._soundCutoffRadius = soundCutoffRadius;
+    }
+
     @Override
     public void setCreatureBlueprints(ArrayList<CreatureBlueprint> creatureBlueprints)
     {
@@ -0,0 +1,278 @@
+package io.vivarium.core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An immutable view of a GridWorld as it was at the end of a tick, which any thread can read without locking while the
+ * world carries on ticking. Squares are held as primitive grids and creatures as a summary of parallel arrays, in
+ * row-major order of their squares.
+ *
+ * Snapshots are published by GridWorld.tick when snapshot publishing is enabled, and are reused by the world once they
+ * are no longer current and no reader holds them. Readers take a snapshot with GridWorld.acquireSnapshot, which
+ * guarantees it will not be overwritten, and must hand it back with release when done with it. A snapshot held across
+ * ticks stays valid, the world builds a new one rather than wait for it.
+ */
+public final class GridWorldSnapshot
+{
+    private static final int WRITING = -1;
+    private static final byte NONE = 0;
+    private static final ItemType[] ITEM_TYPES = ItemType.values();
+    private static final TerrainType[] TERRAIN_TYPES = TerrainType.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final Action[] ACTIONS = Action.values();
+
+    // Number of readers holding this snapshot, or WRITING while the world is filling it in
+    private final AtomicInteger _holds = new AtomicInteger(WRITING);
+
+    private int _tick;
+    private int _width;
+    private int _height;
+    private int _maximumCreatureID;
+
+    // Ordinal plus one of the item and terrain type in each square, NONE for an empty square
+    private byte[] _items = new byte[0];
+    private byte[] _terrains = new byte[0];
+    // Position in the creature arrays of the creature in each square, -1 for an empty square
+    private int[] _creatureIndexGrid = new int[0];
+
+    private int _creatureCount;
+    private int[] _creatureSquares = new int[0];
+    private int[] _creatureIDs = new int[0];
+    private int[] _creatureBlueprintIndices = new int[0];
+    private int[] _creatureAges = new int[0];
+    private int[] _creatureFood = new int[0];
+    private int[] _creatureHealth = new int[0];
+    private int[] _creatureGestations = new int[0];
+    private boolean[] _creatureFemales = new boolean[0];
+    private byte[] _creatureFacings = new byte[0];
+    private byte[] _creatureActions = new byte[0];
+
+    GridWorldSnapshot()
+    {
+    }
+
+    /**
+     * Claims a snapshot for the world to write into, failing if a reader holds it.
+     */
+    boolean claimForWriting()
+    {
+        return _holds.compareAndSet(0, WRITING);
+    }
+
+    /**
+     * Hands a snapshot that has been written back to readers.
+     */
+    void finishWriting()
+    {
+        _holds.set(0);
+    }
+
+    /**
+     * Takes a hold on the snapshot, failing if the world has claimed it to write into.
+     */
+    boolean acquire()
+    {
+        while (true)
+        {
+            int holds = _holds.get();
+            if (holds == WRITING)
+            {
+                return false;
+            }
+            if (_holds.compareAndSet(holds, holds + 1))
+            {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a hold taken by GridWorld.acquireSnapshot. The snapshot must not be read afterwards.
+     */
+    public void release()
+    {
+        if (_holds.decrementAndGet() < 0)
+        {
+            throw new IllegalStateException("A snapshot was released more times than it was acquired");
+        }
+    }
+
+    /**
+     * Sets the world state and clears the creatures, leaving the squares as they were last written unless the grids
+     * have to be resized.
+     *
+     * @return true if the grids were resized, in which case every square has to be written
+     */
+    boolean setWorldState(int tick, int width, int height, int maximumCreatureID)
+    {
+        _tick = tick;
+        _maximumCreatureID = maximumCreatureID;
+        int squareCount = width * height;
+        if (_items.length != squareCount || _width != width)
+        {
+            _width = width;
+            _height = height;
+            _items = new byte[squareCount];
+            _terrains = new byte[squareCount];
+            _creatureIndexGrid = new int[squareCount];
+            Arrays.fill(_creatureIndexGrid, -1);
+            _creatureCount = 0;
+            return true;
+        }
+        _height = height;
+        // Only the squares of the creatures last written hold an index
+        for (int i = 0; i < _creatureCount; i++)
+        {
+            _creatureIndexGrid[_creatureSquares[i]] = -1;
+        }
+        _creatureCount = 0;
+        return false;
+    }
+
+    void setSquare(int square, ItemType item, TerrainType terrain)
+    {
+        _items[square] = item == null ? NONE : (byte) (item.ordinal() + 1);
+        _terrains[square] = terrain == null ? NONE : (byte) (terrain.ordinal() + 1);
+    }
+
+    void setCreatureCount(int creatureCount)
+    {
+        _creatureCount = creatureCount;
+        if (_creatureSquares.length < creatureCount)
+        {
+            int capacity = Math.max(creatureCount, _creatureSquares.length * 2);
+            _creatureSquares = new int[capacity];
+            _creatureIDs = new int[capacity];
+            _creatureBlueprintIndices = new int[capacity];
+            _creatureAges = new int[capacity];
+            _creatureFood = new int[capacity];
+            _creatureHealth = new int[capacity];
+            _creatureGestations = new int[capacity];
+            _creatureFemales = new boolean[capacity];
+            _creatureFacings = new byte[capacity];
+            _creatureActions = new byte[capacity];
+        }
+    }
+
+    void setCreature(int i, int square, Creature creature, int blueprintIndex)
+    {
+        _creatureIndexGrid[square] = i;
+        _creatureSquares[i] = square;
+        _creatureIDs[i] = creature.getID();
+        _creatureBlueprintIndices[i] = blueprintIndex;
+        _creatureAges[i] = creature.getAge();
+        _creatureFood[i] = creature.getFood();
+        _creatureHealth[i] = creature.getHealth();
+        _creatureGestations[i] = creature.getGestation();
+        _creatureFemales[i] = creature.getIsFemale();
+        _creatureFacings[i] = (byte) creature.getFacing().ordinal();
+        _creatureActions[i] = (byte) creature.getAction().ordinal();
+    }
+
+    public int getTick()
+    {
+        return _tick;
+    }
+
+    public int getWidth()
+    {
+        return _width;
+    }
+
+    public int getHeight()
+    {
+        return _height;
+    }
+
+    public int getMaximumCreatureID()
+    {
+        return _maximumCreatureID;
+    }
+
+    public ItemType getItem(int r, int c)
+    {
+        byte item = _items[r * _width + c];
+        return item == NONE ? null : ITEM_TYPES[item - 1];
+    }
+
+    public TerrainType getTerrain(int r, int c)
+    {
+        byte terrain = _terrains[r * _width + c];
+        return terrain == NONE ? null : TERRAIN_TYPES[terrain - 1];
+    }
+
+    public int getCreatureCount()
+    {
+        return _creatureCount;
+    }
+
+    /**
+     * Returns the position in the creature summary of the creature in a square.
+     *
+     * @return the creature's position, or -1 if the square is empty
+     */
+    public int getCreatureIndex(int r, int c)
+    {
+        return _creatureIndexGrid[r * _width + c];
+    }
+
+    public int getCreatureRow(int i)
+    {
+        return _creatureSquares[i] / _width;
+    }
+
+    public int getCreatureColumn(int i)
+    {
+        return _creatureSquares[i] % _width;
+    }
+
+    public int getCreatureID(int i)
+    {
+        return _creatureIDs[i];
+    }
+
+    /**
+     * Returns the position of a creature's blueprint in the world blueprint's list of creature blueprints, or -1 if the
+     * creature's blueprint is not in the list.
+     */
+    public int getCreatureBlueprintIndex(int i)
+    {
+        return _creatureBlueprintIndices[i];
+    }
+
+    public int getCreatureAge(int i)
+    {
+        return _creatureAges[i];
+    }
+
+    public int getCreatureFood(int i)
+    {
+        return _creatureFood[i];
+    }
+
+    public int getCreatureHealth(int i)
+    {
+        return _creatureHealth[i];
+    }
+
+    public int getCreatureGestation(int i)
+    {
+        return _creatureGestations[i];
+    }
+
+    public boolean getCreatureIsFemale(int i)
+    {
+        return _creatureFemales[i];
+    }
+
+    public Direction getCreatureFacing(int i)
+    {
+        return DIRECTIONS[_creatureFacings[i]];
+    }
+
+    public Action getCreatureAction(int i)
+    {
+        return ACTIONS[_creatureActions[i]];
+    }
+}
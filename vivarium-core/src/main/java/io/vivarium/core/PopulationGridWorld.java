@@ -0,0 +1,142 @@
+package io.vivarium.core;
+
+import io.vivarium.serialization.ClassRegistry;
+
+/**
+ * A GridWorld which keeps the per tick state of its creatures in a CreaturePopulation, a set of parallel primitive
+ * arrays, rather than in the creatures themselves. Creatures in the world act as handles onto their population slot,
+ * so every reader and writer of creature state sees the same values as in a plain GridWorld, but the creature tick
+ * phase becomes a single pass over a few contiguous arrays instead of a walk over scattered creature objects.
+ *
+ * The creature fields for the population state are brought up to date whenever the world is serialized, compared, or
+ * printed, which is why equals, hashCode, and toString are written out here rather than generated.
+ */
+@SuppressWarnings("serial") // Default serialization is never used for a durable store
+public class PopulationGridWorld extends GridWorld
+{
+    static
+    {
+        ClassRegistry.getInstance().register(PopulationGridWorld.class);
+    }
+
+    // Built lazily, the super constructor adds creatures before the fields of this class are initialized
+    private transient CreaturePopulation _population;
+
+    // Private constructor for deserialization
+    @SuppressWarnings("unused")
+    private PopulationGridWorld()
+    {
+    }
+
+    public PopulationGridWorld(GridWorldBlueprint gridWorldBlueprint)
+    {
+        super(gridWorldBlueprint);
+    }
+
+    private CreaturePopulation getPopulation()
+    {
+        if (_population == null)
+        {
+            _population = new CreaturePopulation(getHeight() * getWidth());
+        }
+        return _population;
+    }
+
+    @Override
+    protected void creatureIndexed(Creature creature, int square)
+    {
+        getPopulation().add(creature, square);
+    }
+
+    @Override
+    protected void creatureUnindexed(Creature creature, int square)
+    {
+        getPopulation().remove(square);
+    }
+
+    @Override
+    protected void creatureReindexed(int fromSquare, int toSquare)
+    {
+        getPopulation().move(fromSquare, toSquare);
+    }
+
+    /**
+     * Writes the population state back to the fields of the creatures in the world, which equality, hashing, and
+     * serialization of the creatures read.
+     */
+    private void syncCreatures()
+    {
+        if (_population != null)
+        {
+            for (int slot = 0; slot < _population.getSize(); slot++)
+            {
+                _population.getCreature(slot).prepareSerialization();
+            }
+        }
+    }
+
+    @Override
+    public void prepareSerialization()
+    {
+        // The world is keyed by value while it is serialized, so its creatures have to be brought up to date first
+        syncCreatures();
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == this)
+        {
+            return true;
+        }
+        if (!(o instanceof PopulationGridWorld))
+        {
+            return false;
+        }
+        syncCreatures();
+        ((PopulationGridWorld) o).syncCreatures();
+        return super.equals(o);
+    }
+
+    @Override
+    protected boolean canEqual(Object other)
+    {
+        return other instanceof PopulationGridWorld;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        syncCreatures();
+        return super.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        syncCreatures();
+        return "PopulationGridWorld(super=" + super.toString() + ")";
+    }
+
+    @Override
+    protected void tickCreatures()
+    {
+        if (isTickFused() || getSimulatedRowStart() != 0 || getSimulatedRowEnd() != getHeight())
+        {
+            // Either the creatures are aged while they plan, or only some of them are simulated here
+            super.tickCreatures();
+            return;
+        }
+        // Counting the creatures builds the indices, and with them the population, for a freshly deserialized world
+        getCreatureCount();
+        CreaturePopulation population = getPopulation();
+        int width = getWidth();
+        for (int slot = 0; slot < population.getSize(); slot++)
+        {
+            int square = population.getSquare(slot);
+            int flameHits = getTerrain(square / width, square % width) == TerrainType.FLAME ? 1 : 0;
+            population.setFlameHits(slot, flameHits);
+        }
+        population.tick();
+    }
+}
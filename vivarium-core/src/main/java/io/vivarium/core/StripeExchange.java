@@ -0,0 +1,34 @@
+package io.vivarium.core;
+
+/**
+ * Connects a StripeGridWorld to the stripes above and below it, and to every other stripe of the world, so that the
+ * stripes can be simulated in separate processes. Every stripe of a world makes the same sequence of calls during a
+ * tick, and each call blocks until the other stripes have made the matching call.
+ *
+ * Implementations are called from the thread ticking the stripe and must not draw from that thread's random stream,
+ * which includes constructing any VivariumObject. Received squares should be deserialized while drawing from another
+ * random stream.
+ */
+public interface StripeExchange
+{
+    /**
+     * Shares how many creatures were born in this stripe during an action wave.
+     *
+     * @param births
+     *            the number of creatures born in this stripe
+     * @return the number born in each stripe of the world, in stripe order from the top of the world
+     */
+    int[] exchangeBirthCounts(int births);
+
+    /**
+     * Sends squares to the neighbouring stripes and receives the squares they send back. The squares sent must be
+     * serialized before this returns, they are reused by the stripe.
+     *
+     * @param toAbove
+     *            the squares for the stripe above, null if this is the top stripe
+     * @param toBelow
+     *            the squares for the stripe below, null if this is the bottom stripe
+     * @return the squares from the stripe above and from the stripe below, in that order, null for a missing neighbour
+     */
+    StripeSquares[] exchangeSquares(StripeSquares toAbove, StripeSquares toBelow);
+}
@@ -0,0 +1,397 @@
+package io.vivarium.core;
+
+import java.util.Arrays;
+
+import io.vivarium.serialization.ClassRegistry;
+import io.vivarium.serialization.SerializedParameter;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * One horizontal stripe of a GridWorld, so that a world can be simulated by several processes at once. A stripe owns a
+ * range of whole rows and holds a copy of the halo, the rows within the halo depth above and below it, which the
+ * stripes owning them keep up to date through a StripeExchange. Squares outside the stripe and its halo read as empty.
+ *
+ * Stripes start and end on PLAN_BAND_HEIGHT boundaries, so the plan bands and action tiles of the world each fall in a
+ * single stripe, and a stripe plans and acts only for its own bands and tiles while drawing the same seeds as the
+ * world. Food and flames are only written to owned rows, and food spawning draws the same random numbers as the world.
+ * The stripes of a world exchange squares at these points of each tick:
+ * <ul>
+ * <li>After planning, the rows next to each edge, since creatures acting at an edge read the plans of the creatures
+ * across it.</li>
+ * <li>After each action wave, the rows on either side of each edge, sent by whichever side of the edge acted in the
+ * wave, which is the only side that can have changed them. Birth counts are exchanged before the wave's newborns are
+ * given their IDs, so that IDs are handed out in the same order as in the world.</li>
+ * <li>At the end of the tick, the halo depth of rows next to each edge, which is what creatures read while they plan
+ * and exchange sounds and signs.</li>
+ * </ul>
+ * Ticking every stripe of a world, each drawing from a random stream seeded the same way, then leaves the owned rows of
+ * every stripe exactly as ticking the world itself would with a plan executor and an action executor set, so the
+ * results do not depend on the number of stripes. That holds as long as nothing reaches further than the halo depth:
+ * radar ranges, and the sound cutoff radius, which must be set if sound is enabled.
+ *
+ * A stripe has no dynamic balancer and keeps no audit records, and its counts include the creatures and items in its
+ * halo.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString
+@SuppressWarnings("serial") // Default serialization is never used for a durable store
+public class StripeGridWorld extends GridWorld
+{
+    static
+    {
+        ClassRegistry.getInstance().register(StripeGridWorld.class);
+    }
+
+    @SerializedParameter
+    private int _stripeIndex;
+    @SerializedParameter
+    private int _stripeTop;
+    @SerializedParameter
+    private int _stripeBottom;
+    @SerializedParameter
+    private int _haloDepth;
+    @SerializedParameter
+    private int _windowTop;
+    @SerializedParameter
+    private int _windowBottom;
+
+    private transient StripeExchange _exchange;
+    // Reused for every exchange, built up front because constructing them draws random numbers for their IDs
+    private transient StripeSquares _toAbove;
+    private transient StripeSquares _toBelow;
+    // Creature IDs as they were before the newborns of the current action wave
+    private transient int _waveCreatureIDBase;
+    private transient int _waveBirths;
+    private transient int[] _windowCreatureSquareSlots;
+
+    // Private constructor for deserialization
+    @SuppressWarnings("unused")
+    private StripeGridWorld()
+    {
+    }
+
+    private StripeGridWorld(GridWorld world, int stripeIndex, int stripeTop, int stripeBottom, int haloDepth)
+    {
+        super(world);
+        _stripeIndex = stripeIndex;
+        _stripeTop = stripeTop;
+        _stripeBottom = stripeBottom;
+        _haloDepth = haloDepth;
+        _windowTop = Math.max(stripeTop - haloDepth, 0);
+        _windowBottom = Math.min(stripeBottom + haloDepth, world.getHeight());
+        constructGrids();
+        for (int r = _windowTop; r < _windowBottom; r++)
+        {
+            for (int c = 0; c < getWidth(); c++)
+            {
+                setItem(world.getItem(r, c), r, c);
+                setTerrain(world.getTerrain(r, c), r, c);
+                putCreature(world.getCreature(r, c), r, c);
+            }
+        }
+        constructExchangeSquares();
+    }
+
+    /**
+     * Splits a world into stripes of as close to equal height as the PLAN_BAND_HEIGHT boundaries allow. The stripes
+     * share the world's creatures, so either the world or the stripes must be discarded, serializing a stripe gives an
+     * independent copy of it.
+     *
+     * @param world
+     *            the world to split
+     * @param stripeCount
+     *            the number of stripes, at most one per PLAN_BAND_HEIGHT rows of the world
+     * @param haloDepth
+     *            the number of rows of each neighbouring stripe to hold copies of, from one up to PLAN_BAND_HEIGHT, and
+     *            at least the sound cutoff radius if sound is enabled
+     * @return the stripes, in order from the top of the world
+     */
+    public static StripeGridWorld[] split(GridWorld world, int stripeCount, int haloDepth)
+    {
+        int bandCount = (world.getHeight() + PLAN_BAND_HEIGHT - 1) / PLAN_BAND_HEIGHT;
+        if (stripeCount < 1 || stripeCount > bandCount)
+        {
+            throw new IllegalArgumentException(
+                    "A world of height " + world.getHeight() + " can be split into 1 to " + bandCount + " stripes");
+        }
+        if (haloDepth < 1 || haloDepth > PLAN_BAND_HEIGHT)
+        {
+            throw new IllegalArgumentException("The halo depth must be from 1 to " + PLAN_BAND_HEIGHT);
+        }
+        GridWorldBlueprint blueprint = world.getGridWorldBlueprint();
+        if (blueprint.getSoundEnabled()
+                && (blueprint.getSoundCutoffRadius() <= 0 || blueprint.getSoundCutoffRadius() > haloDepth))
+        {
+            throw new IllegalArgumentException("Sound needs a cutoff radius from 1 to the halo depth of " + haloDepth);
+        }
+        StripeGridWorld[] stripes = new StripeGridWorld[stripeCount];
+        for (int i = 0; i < stripeCount; i++)
+        {
+            int top = i * bandCount / stripeCount * PLAN_BAND_HEIGHT;
+            int bottom = Math.min((i + 1) * bandCount / stripeCount * PLAN_BAND_HEIGHT, world.getHeight());
+            stripes[i] = new StripeGridWorld(world, i, top, bottom, haloDepth);
+        }
+        return stripes;
+    }
+
+    /**
+     * Puts the owned rows of a world's stripes back together into a single world, which carries on from the stripes as
+     * with GridWorld(GridWorld).
+     *
+     * @param stripes
+     *            all the stripes of a world, in order from the top of the world
+     * @return the assembled world
+     */
+    public static GridWorld assemble(StripeGridWorld[] stripes)
+    {
+        GridWorld world = new GridWorld(stripes[0]);
+        world.constructGrids();
+        for (StripeGridWorld stripe : stripes)
+        {
+            for (int r = stripe._stripeTop; r < stripe._stripeBottom; r++)
+            {
+                for (int c = 0; c < world.getWidth(); c++)
+                {
+                    world.setItem(stripe.getItem(r, c), r, c);
+                    world.setTerrain(stripe.getTerrain(r, c), r, c);
+                    world.putCreature(stripe.getCreature(r, c), r, c);
+                }
+            }
+        }
+        return world;
+    }
+
+    private void constructExchangeSquares()
+    {
+        _toAbove = _stripeTop > 0 ? new StripeSquares(getWidth()) : null;
+        _toBelow = _stripeBottom < getHeight() ? new StripeSquares(getWidth()) : null;
+    }
+
+    @Override
+    protected void constructGrids()
+    {
+        int windowHeight = _windowBottom - _windowTop;
+        this._creatureGrid = new Creature[windowHeight][getWidth()];
+        this._itemGrid = new ItemType[windowHeight][getWidth()];
+        this._terrainGrid = new TerrainType[windowHeight][getWidth()];
+    }
+
+    @Override
+    public void finalizeSerialization()
+    {
+        constructExchangeSquares();
+    }
+
+    public int getStripeIndex()
+    {
+        return _stripeIndex;
+    }
+
+    public int getStripeTop()
+    {
+        return _stripeTop;
+    }
+
+    public int getStripeBottom()
+    {
+        return _stripeBottom;
+    }
+
+    public int getHaloDepth()
+    {
+        return _haloDepth;
+    }
+
+    private boolean isInWindow(int r)
+    {
+        return r >= _windowTop && r < _windowBottom;
+    }
+
+    private boolean isOwned(int r)
+    {
+        return r >= _stripeTop && r < _stripeBottom;
+    }
+
+    @Override
+    public Creature getCreature(int r, int c)
+    {
+        return isInWindow(r) ? this._creatureGrid[r - _windowTop][c] : null;
+    }
+
+    @Override
+    public ItemType getItem(int r, int c)
+    {
+        return isInWindow(r) ? this._itemGrid[r - _windowTop][c] : null;
+    }
+
+    @Override
+    public TerrainType getTerrain(int r, int c)
+    {
+        return isInWindow(r) ? this._terrainGrid[r - _windowTop][c] : null;
+    }
+
+    @Override
+    protected void storeCreature(Creature creature, int r, int c)
+    {
+        checkInWindow(r);
+        this._creatureGrid[r - _windowTop][c] = creature;
+    }
+
+    @Override
+    protected void storeItem(ItemType itemType, int r, int c)
+    {
+        checkInWindow(r);
+        this._itemGrid[r - _windowTop][c] = itemType;
+    }
+
+    @Override
+    protected void storeTerrain(TerrainType terrainType, int r, int c)
+    {
+        checkInWindow(r);
+        this._terrainGrid[r - _windowTop][c] = terrainType;
+    }
+
+    private void checkInWindow(int r)
+    {
+        if (!isInWindow(r))
+        {
+            throw new IllegalStateException("Row " + r + " is outside of the halo of the stripe from row " + _stripeTop
+                    + " to row " + _stripeBottom);
+        }
+    }
+
+    @Override
+    protected void constructCreatureSquareSlots()
+    {
+        _windowCreatureSquareSlots = new int[(_windowBottom - _windowTop) * getWidth()];
+        Arrays.fill(_windowCreatureSquareSlots, NO_CREATURE_SLOT);
+    }
+
+    @Override
+    protected int getCreatureSquareSlot(int square)
+    {
+        return _windowCreatureSquareSlots[square - _windowTop * getWidth()];
+    }
+
+    @Override
+    protected void setCreatureSquareSlot(int square, int slot)
+    {
+        _windowCreatureSquareSlots[square - _windowTop * getWidth()] = slot;
+    }
+
+    @Override
+    protected void indexGrid()
+    {
+        for (int r = _windowTop; r < _windowBottom; r++)
+        {
+            for (int c = 0; c < getWidth(); c++)
+            {
+                indexSquare(r, c);
+            }
+        }
+    }
+
+    @Override
+    protected int getSimulatedRowStart()
+    {
+        return _stripeTop;
+    }
+
+    @Override
+    protected int getSimulatedRowEnd()
+    {
+        return _stripeBottom;
+    }
+
+    @Override
+    public boolean squareIsFlamable(int r, int c)
+    {
+        // The stripe owning the square lights it
+        return isOwned(r) && super.squareIsFlamable(r, c);
+    }
+
+    @Override
+    public boolean squareIsFoodable(int r, int c)
+    {
+        // The stripe owning the square spawns food in it
+        return isOwned(r) && super.squareIsFoodable(r, c);
+    }
+
+    /**
+     * Sets the exchange connecting this stripe to the rest of the world. The exchange is a runtime resource and is not
+     * serialized with the stripe.
+     *
+     * @param exchange
+     *            the exchange to use
+     */
+    public void setExchange(StripeExchange exchange)
+    {
+        this._exchange = exchange;
+    }
+
+    @Override
+    public void tick()
+    {
+        if (_exchange == null || getPlanExecutor() == null || getActionExecutor() == null)
+        {
+            throw new IllegalStateException("A stripe needs an exchange, a plan executor, and an action executor to tick");
+        }
+        super.tick();
+        exchangeRows(_stripeTop, _stripeTop + _haloDepth, _stripeBottom - _haloDepth, _stripeBottom);
+    }
+
+    @Override
+    protected void letCreaturesPlan()
+    {
+        super.letCreaturesPlan();
+        exchangeRows(_stripeTop, _stripeTop + 1, _stripeBottom - 1, _stripeBottom);
+    }
+
+    @Override
+    protected void onActionWaveActed(int wave, int births)
+    {
+        int[] birthCounts = _exchange.exchangeBirthCounts(births);
+        _waveCreatureIDBase = getMaximimCreatureID();
+        _waveBirths = 0;
+        int birthsAbove = 0;
+        for (int i = 0; i < birthCounts.length; i++)
+        {
+            birthsAbove += i < _stripeIndex ? birthCounts[i] : 0;
+            _waveBirths += birthCounts[i];
+        }
+        // Newborns in the stripes above were given the IDs before this stripe's newborns
+        setMaximumCreatureID(_waveCreatureIDBase + birthsAbove);
+    }
+
+    @Override
+    protected void onActionWaveApplied(int wave)
+    {
+        setMaximumCreatureID(_waveCreatureIDBase + _waveBirths);
+        // Send the rows on both sides of each edge this stripe acted at, and nothing for the other edges
+        boolean actedAtTop = isRowActingInWave(_stripeTop, wave);
+        boolean actedAtBottom = isRowActingInWave(_stripeBottom - 1, wave);
+        exchangeRows(_stripeTop - 1, actedAtTop ? _stripeTop + 1 : _stripeTop - 1, _stripeBottom - 1,
+                actedAtBottom ? _stripeBottom + 1 : _stripeBottom - 1);
+    }
+
+    private void exchangeRows(int aboveStart, int aboveEnd, int belowStart, int belowEnd)
+    {
+        if (_toAbove != null)
+        {
+            _toAbove.copyRows(this, aboveStart, aboveEnd);
+        }
+        if (_toBelow != null)
+        {
+            _toBelow.copyRows(this, belowStart, belowEnd);
+        }
+        StripeSquares[] received = _exchange.exchangeSquares(_toAbove, _toBelow);
+        for (StripeSquares squares : received)
+        {
+            if (squares != null)
+            {
+                squares.pasteRows(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.vivarium.core;
+
+import io.vivarium.serialization.ClassRegistry;
+import io.vivarium.serialization.SerializedParameter;
+import io.vivarium.serialization.VivariumObject;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * The contents of a run of whole rows of a GridWorld, as sent between the stripes of a world simulated by
+ * StripeGridWorld. The creatures are the stripe's own instances until the squares are serialized, so a StripeExchange
+ * has to serialize the squares it sends before returning.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString
+@SuppressWarnings("serial") // Default serialization is never used for a durable store
+public class StripeSquares extends VivariumObject
+{
+    static
+    {
+        ClassRegistry.getInstance().register(StripeSquares.class);
+    }
+
+    @SerializedParameter
+    private int _firstRow;
+    @SerializedParameter
+    private int _rowCount;
+    @SerializedParameter
+    private int _width;
+
+    // Contents of the rows, in row-major order
+    @SerializedParameter
+    private ItemType[] _items;
+    @SerializedParameter
+    private TerrainType[] _terrains;
+    @SerializedParameter
+    private Creature[] _creatures;
+
+    // Private constructor for deserialization
+    @SuppressWarnings("unused")
+    private StripeSquares()
+    {
+    }
+
+    StripeSquares(int width)
+    {
+        _width = width;
+        _items = new ItemType[0];
+        _terrains = new TerrainType[0];
+        _creatures = new Creature[0];
+    }
+
+    /**
+     * Replaces the contents with those of the rows from firstRow up to, but not including, endRow of a world.
+     */
+    void copyRows(GridWorld world, int firstRow, int endRow)
+    {
+        _firstRow = firstRow;
+        _rowCount = Math.max(endRow - firstRow, 0);
+        int squareCount = _rowCount * _width;
+        if (_creatures.length != squareCount)
+        {
+            _items = new ItemType[squareCount];
+            _terrains = new TerrainType[squareCount];
+            _creatures = new Creature[squareCount];
+        }
+        int i = 0;
+        for (int r = firstRow; r < endRow; r++)
+        {
+            for (int c = 0; c < _width; c++)
+            {
+                _items[i] = world.getItem(r, c);
+                _terrains[i] = world.getTerrain(r, c);
+                _creatures[i] = world.getCreature(r, c);
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Writes the rows into a world, replacing whatever was in them.
+     */
+    void pasteRows(GridWorld world)
+    {
+        int i = 0;
+        for (int r = _firstRow; r < _firstRow + _rowCount; r++)
+        {
+            for (int c = 0; c < _width; c++)
+            {
+                world.setItem(_items[i], r, c);
+                world.setTerrain(_terrains[i], r, c);
+                world.putCreature(_creatures[i], r, c);
+                i++;
+            }
+        }
+    }
+
+    public int getFirstRow()
+    {
+        return _firstRow;
+    }
+
+    public int getRowCount()
+    {
+        return _rowCount;
+    }
+
+    @Override
+    public void finalizeSerialization()
+    {
+        // Do nothing
+    }
+}
@@ -23,4 +23,12 @@ public enum TerrainType
         }
         throw new Error("Null TerrainType");
     }
+
+    /**
+     * Emitters are terrain which act on their neighbouring squares every tick.
+     */
+    public static boolean isEmitter(TerrainType terrainType)
+    {
+        return terrainType == FLAMETHROWER || terrainType == FOOD_GENERATOR;
+    }
 }
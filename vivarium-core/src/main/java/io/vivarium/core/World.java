@@ -34,6 +34,21 @@ public abstract class World extends VivariumObject
         this._worldBlueprint = worldBlueprint;
     }
 
+    /**
+     * Creates a world which carries on from another world, with the same blueprint, tick, and creature IDs, but with no
+     * denizens and no audit records.
+     *
+     * @param world
+     *            the world to carry on from
+     */
+    protected World(World world)
+    {
+        this._worldBlueprint = world._worldBlueprint;
+        this._tick = world._tick;
+        this._maximumCreatureID = world._maximumCreatureID;
+        this._auditRecords = new AuditRecord[0];
+    }
+
     private void constructAuditRecords()
     {
         int auditRecordCount = _worldBlueprint.getCreatureBlueprints().size()
@@ -64,6 +79,41 @@ public abstract class World extends VivariumObject
 
     abstract public Collection<Creature> getCreatures();
 
+    /**
+     * Visits every creature in the world, in an order which is stable between calls while no creatures are added,
+     * removed, or moved. Unlike getCreatures this is not expected to allocate, and worlds override it to avoid doing
+     * so.
+     *
+     * @param visitor
+     *            the visitor to pass each creature to
+     */
+    public void forEachCreature(CreatureVisitor visitor)
+    {
+        for (Creature creature : getCreatures())
+        {
+            visitor.visit(creature);
+        }
+    }
+
+    /**
+     * Visits every creature in the world with the given blueprint, matched by identity, see forEachCreature.
+     *
+     * @param creatureBlueprint
+     *            the blueprint of the creatures to visit
+     * @param visitor
+     *            the visitor to pass each creature to
+     */
+    public void forEachCreature(CreatureBlueprint creatureBlueprint, CreatureVisitor visitor)
+    {
+        for (Creature creature : getCreatures())
+        {
+            if (creature.getBlueprint() == creatureBlueprint)
+            {
+                visitor.visit(creature);
+            }
+        }
+    }
+
     public int getMaximimCreatureID()
     {
         return this._maximumCreatureID;
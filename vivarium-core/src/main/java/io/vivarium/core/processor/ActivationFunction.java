@@ -0,0 +1,46 @@
+package io.vivarium.core.processor;
+
+import io.vivarium.util.Functions;
+
+/**
+ * The logistic sigmoid a NeuralNetwork applies to each of its nodes. The approximations trade a bounded error in the
+ * outputs for not calling Math.exp.
+ */
+public enum ActivationFunction
+{
+    /**
+     * Functions.sigmoid, exact.
+     */
+    EXACT
+    {
+        @Override
+        public double apply(double x)
+        {
+            return Functions.sigmoid(x);
+        }
+    },
+    /**
+     * Functions.rationalSigmoid, at most 7.4e-6 from exact.
+     */
+    RATIONAL
+    {
+        @Override
+        public double apply(double x)
+        {
+            return Functions.rationalSigmoid(x);
+        }
+    },
+    /**
+     * Functions.tableSigmoid, at most 3e-6 from exact.
+     */
+    LOOKUP_TABLE
+    {
+        @Override
+        public double apply(double x)
+        {
+            return Functions.tableSigmoid(x);
+        }
+    };
+
+    public abstract double apply(double x);
+}
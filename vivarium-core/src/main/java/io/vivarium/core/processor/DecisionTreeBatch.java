@@ -0,0 +1,69 @@
+package io.vivarium.core.processor;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates many decision trees with the same inputs together, such as those of the creatures of one species planning
+ * in the same tick. As trees are added their inputs are gathered into one contiguous input matrix, one row per tree.
+ * Evaluating then walks every tree in a single pass over that matrix and sets each tree's outputs, exactly as if each
+ * tree had been evaluated on its own. Decision trees draw no random numbers, so the order trees are added in does not
+ * matter.
+ *
+ * Batches are not thread safe.
+ */
+public class DecisionTreeBatch
+{
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int _inputCount;
+
+    private int _size;
+    private DecisionTree[] _trees = new DecisionTree[INITIAL_CAPACITY];
+    private double[] _inputs;
+
+    public DecisionTreeBatch(int inputCount)
+    {
+        _inputCount = inputCount;
+        _inputs = new double[INITIAL_CAPACITY * inputCount];
+    }
+
+    public int getInputCount()
+    {
+        return _inputCount;
+    }
+
+    public int getSize()
+    {
+        return _size;
+    }
+
+    /**
+     * Adds a tree to the batch, copying its inputs.
+     */
+    public void add(DecisionTree tree, double[] inputs)
+    {
+        if (tree.getInputCount() != _inputCount)
+        {
+            throw new IllegalArgumentException("Tree of " + tree.getInputCount()
+                    + " inputs does not fit a batch of " + _inputCount + " inputs");
+        }
+        if (_size == _trees.length)
+        {
+            _trees = Arrays.copyOf(_trees, _size * 2);
+            _inputs = Arrays.copyOf(_inputs, _size * 2 * _inputCount);
+        }
+        _trees[_size] = tree;
+        System.arraycopy(inputs, 0, _inputs, _size * _inputCount, _inputCount);
+        _size++;
+    }
+
+    /**
+     * Evaluates every tree in the batch, leaving the results in each tree's outputs, and empties the batch.
+     */
+    public void evaluate()
+    {
+        DecisionTree.computeBatch(_trees, _size, _inputs, _inputCount);
+        Arrays.fill(_trees, 0, _size, null);
+        _size = 0;
+    }
+}
@@ -17,6 +17,7 @@ public class Multiplexer extends VivariumObject
     }
 
     private static final int MULTIPLEXER_INPUT = -1;
+    private static final int GATHERED = -2;
 
     @SerializedParameter
     private double[][] _inputs;
@@ -27,6 +28,12 @@ public class Multiplexer extends VivariumObject
     @SerializedParameter
     private int[][] _index;
 
+    // The compiled plan, see compile. For each processor either the source whose outputs are its inputs as they are,
+    // or GATHERED, with the positions to copy from the multiplexer inputs and from other processors' outputs.
+    private transient int[] _feeds;
+    private transient int[][] _inputGathers;
+    private transient int[][] _outputGathers;
+
     private Multiplexer()
     {
     }
@@ -34,26 +41,193 @@ public class Multiplexer extends VivariumObject
     @Override
     public void finalizeSerialization()
     {
+        compile();
     }
 
-    public double[] outputs(double[] inputs, Processor[] processors)
+    /**
+     * Compiles the wiring into a plan for outputs. A processor whose inputs are the leading outputs of one source, in
+     * order, is handed that source's output array as its inputs with no copying, relying on processors reading only
+     * their first getInputCount inputs. Any other wiring is copied into the processor's input buffer through gather
+     * tables, one of pairs of input buffer position and multiplexer input, and one of triples of input buffer position,
+     * source processor, and position in that processor's outputs.
+     */
+    private void compile()
     {
-        for (int i = 0; i < _inputs.length; i++)
+        int processorCount = _source.length;
+        _feeds = new int[processorCount];
+        _inputGathers = new int[processorCount][];
+        _outputGathers = new int[processorCount][];
+        for (int i = 0; i < processorCount; i++)
         {
-            for (int j = 0; j < _inputs[i].length; j++)
+            _feeds[i] = findFeed(_source[i], _index[i]);
+            if (_feeds[i] != GATHERED)
+            {
+                continue;
+            }
+            int inputGatherCount = 0;
+            for (int j = 0; j < _source[i].length; j++)
+            {
+                if (_source[i][j] == MULTIPLEXER_INPUT)
+                {
+                    inputGatherCount++;
+                }
+            }
+            int[] inputGather = new int[2 * inputGatherCount];
+            int[] outputGather = new int[3 * (_source[i].length - inputGatherCount)];
+            int inputGatherPosition = 0;
+            int outputGatherPosition = 0;
+            for (int j = 0; j < _source[i].length; j++)
             {
                 if (_source[i][j] == MULTIPLEXER_INPUT)
                 {
-                    _inputs[i][j] = inputs[_index[i][j]];
+                    inputGather[inputGatherPosition++] = j;
+                    inputGather[inputGatherPosition++] = _index[i][j];
                 }
                 else
                 {
-                    _inputs[i][j] = _outputs[_source[i][j]][_index[i][j]];
+                    outputGather[outputGatherPosition++] = j;
+                    outputGather[outputGatherPosition++] = _source[i][j];
+                    outputGather[outputGatherPosition++] = _index[i][j];
+                }
+            }
+            _inputGathers[i] = inputGather;
+            _outputGathers[i] = outputGather;
+        }
+    }
+
+    /**
+     * @return the source whose leading outputs are these inputs in order, or GATHERED if there is no such source
+     */
+    private static int findFeed(int[] source, int[] index)
+    {
+        if (source.length == 0)
+        {
+            return GATHERED;
+        }
+        for (int j = 0; j < source.length; j++)
+        {
+            if (source[j] != source[0] || index[j] != j)
+            {
+                return GATHERED;
+            }
+        }
+        return source[0];
+    }
+
+    public double[] outputs(double[] inputs, Processor[] processors)
+    {
+        return outputs(inputs, processors, _inputs, _outputs);
+    }
+
+    /**
+     * Evaluates the processors using caller supplied buffers instead of the multiplexer's own. The buffers are written
+     * on every evaluation, so callers which evaluate concurrently, such as creatures planning in parallel, each need
+     * their own. Each processor is evaluated once, in order, and the multiplexer outputs are the outputs of the last.
+     *
+     * @param inputs
+     *            the multiplexer inputs
+     * @param processors
+     *            the processors to evaluate
+     * @param inputBuffers
+     *            buffers shaped like those from makeInputBuffers
+     * @param outputBuffers
+     *            an array with one entry per processor
+     * @return the multiplexer outputs
+     */
+    public double[] outputs(double[] inputs, Processor[] processors, double[][] inputBuffers, double[][] outputBuffers)
+    {
+        for (int i = 0; i < _feeds.length; i++)
+        {
+            int feed = _feeds[i];
+            double[] processorInputs;
+            if (feed == MULTIPLEXER_INPUT)
+            {
+                processorInputs = inputs;
+            }
+            else if (feed != GATHERED)
+            {
+                processorInputs = outputBuffers[feed];
+            }
+            else
+            {
+                processorInputs = inputBuffers[i];
+                int[] inputGather = _inputGathers[i];
+                for (int g = 0; g < inputGather.length; g += 2)
+                {
+                    processorInputs[inputGather[g]] = inputs[inputGather[g + 1]];
+                }
+                int[] outputGather = _outputGathers[i];
+                for (int g = 0; g < outputGather.length; g += 3)
+                {
+                    processorInputs[outputGather[g]] = outputBuffers[outputGather[g + 1]][outputGather[g + 2]];
                 }
             }
-            _outputs[i] = processors[i].outputs(_inputs[i]);
+            outputBuffers[i] = processors[i].outputs(processorInputs);
+        }
+        return outputBuffers[_feeds.length - 1];
+    }
+
+    /**
+     * @return the neural network which these processors reduce to if the multiplexer evaluates a lone neural network
+     *         without hidden layers on its own inputs, and can use a NeuralNetworkBatch in place of outputs, otherwise
+     *         null
+     */
+    public NeuralNetwork getBatchableNetwork(Processor[] processors)
+    {
+        if (_feeds.length != 1 || _feeds[0] != MULTIPLEXER_INPUT || !(processors[0] instanceof NeuralNetwork)
+                || ((NeuralNetwork) processors[0]).getHiddenLayerCount() != 0)
+        {
+            return null;
+        }
+        return (NeuralNetwork) processors[0];
+    }
+
+    /**
+     * Adds the evaluation of a lone neural network to a batch in place of calling outputs, drawing the same random
+     * numbers that outputs would, see getBatchableNetwork. Once the batch is evaluated the multiplexer outputs are the
+     * network's outputs.
+     */
+    public void addToBatch(double[] inputs, NeuralNetwork network, NeuralNetworkBatch batch)
+    {
+        batch.add(network, inputs);
+    }
+
+    /**
+     * @return the decision tree which these processors reduce to if the multiplexer evaluates a lone decision tree on
+     *         its own inputs, and can use a DecisionTreeBatch in place of outputs, otherwise null
+     */
+    public DecisionTree getBatchableTree(Processor[] processors)
+    {
+        if (_feeds.length != 1 || _feeds[0] != MULTIPLEXER_INPUT || !(processors[0] instanceof DecisionTree))
+        {
+            return null;
+        }
+        return (DecisionTree) processors[0];
+    }
+
+    /**
+     * Adds the evaluation of a lone decision tree to a batch in place of calling outputs, see getBatchableTree. Once
+     * the batch is evaluated the multiplexer outputs are the tree's outputs.
+     */
+    public void addToBatch(double[] inputs, DecisionTree tree, DecisionTreeBatch batch)
+    {
+        batch.add(tree, inputs);
+    }
+
+    /**
+     * @return a new set of processor input buffers for use with outputs, null for processors which need none
+     */
+    public double[][] makeInputBuffers()
+    {
+        double[][] inputBuffers = new double[_inputs.length][];
+        for (int i = 0; i < _inputs.length; i++)
+        {
+            if (_feeds[i] == GATHERED)
+            {
+                inputBuffers[i] = new double[_inputs[i].length];
+            }
         }
-        return processors[0].outputs(inputs);
+        return inputBuffers;
     }
 
     public static Multiplexer makeWithSequentialProcessors(int inputCount, int outputCount,
@@ -93,6 +267,7 @@ public class Multiplexer extends VivariumObject
                 m._index[i][j] = j;
             }
         }
+        m.compile();
         return m;
     }
 }
@@ -12,8 +12,8 @@ import io.vivarium.util.Rand;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
-@EqualsAndHashCode(callSuper = true)
-@ToString
+@EqualsAndHashCode(callSuper = true, exclude = { "_weights" })
+@ToString(exclude = { "_weights" })
 @SuppressWarnings("serial") // Default serialization is never used for a durable store
 public class NeuralNetwork extends Processor
 {
@@ -22,127 +22,235 @@ public class NeuralNetwork extends Processor
         ClassRegistry.getInstance().register(NeuralNetwork.class);
     }
 
-    // Weights represents all the weights in the neural network
-    // weight[i][j][k] corresponds to the weight of the connection
-    // for the jth node in the layer coming from the kth node in
-    // the previous layer.
+    // Weights represents all the weights in the neural network,
+    // one row per node laid out end to end, starting with the
+    // nodes of the first hidden layer and ending with the nodes
+    // of the output layer. Hidden layers are as wide as the
+    // input layer, so every row has the same stride.
+    // weights[i * stride + j] corresponds to the weight of the
+    // connection for the ith node coming from the jth node in
+    // the layer before it.
     // Each node has a two special previous values, a constant
     // bias unit with a value of 1 and a stochastic bias unit
     // with a normally distributed value between -1 and 1.
+    // Depending on the precision of the network, the weights
+    // are held in exactly one of the double, float, or byte
+    // arrays, with byte weights scaled by a factor per node.
+    private double[] _flatWeights;
+    @SerializedParameter
+    private float[] _floatWeights;
+    @SerializedParameter
+    private byte[] _byteWeights;
+    @SerializedParameter
+    private float[] _rowScales;
+    // Serialized so that reduced precision weights, which are
+    // stored flat, can be split back into rows.
+    @SerializedParameter
+    private int _stride;
+    // The stochastic bias of each node and the outputs of each
+    // hidden layer, allocated with the network so that
+    // evaluating it allocates nothing.
+    private transient double[] _noise;
+    private transient double[][] _hiddenOutputs;
+    // The weights as one array per node, which is how they are
+    // serialized. Only built while the network is serialized,
+    // see prepareSerialization and completeSerialization.
     @SerializedParameter
     private double[][] _weights;
     @SerializedParameter
     private double[] _outputs;
+    @SerializedParameter
+    private ActivationFunction _activationFunction = ActivationFunction.EXACT;
+    @SerializedParameter
+    private int _hiddenLayerCount = 0;
 
     private static int BIAS_UNIT_COUNT = 2;
+    private static final int BYTE_WEIGHT_LIMIT = 127;
 
     private NeuralNetwork()
     {
     }
 
     public NeuralNetwork(int inputCount, int outputCount, double randomizationProportion, double normalizedLength)
+    {
+        this(inputCount, outputCount, randomizationProportion, normalizedLength, WeightPrecision.DOUBLE);
+    }
+
+    public NeuralNetwork(int inputCount, int outputCount, double randomizationProportion, double normalizedLength,
+            WeightPrecision precision)
+    {
+        this(inputCount, outputCount, randomizationProportion, normalizedLength, precision, ActivationFunction.EXACT);
+    }
+
+    public NeuralNetwork(int inputCount, int outputCount, double randomizationProportion, double normalizedLength,
+            WeightPrecision precision, ActivationFunction activationFunction)
+    {
+        this(inputCount, outputCount, 0, randomizationProportion, normalizedLength, precision, activationFunction);
+    }
+
+    /**
+     * Constructs a network with hidden layers between its inputs and outputs, each hidden layer as wide as the input
+     * layer.
+     */
+    public NeuralNetwork(int inputCount, int outputCount, int hiddenLayerCount, double randomizationProportion,
+            double normalizedLength, WeightPrecision precision, ActivationFunction activationFunction)
     {
         super();
         Preconditions.checkArgument(inputCount > 0);
         Preconditions.checkArgument(outputCount > 0);
-        constructWithDimensions(inputCount, outputCount, randomizationProportion, normalizedLength);
+        Preconditions.checkArgument(hiddenLayerCount >= 0);
+        this._activationFunction = activationFunction;
+        constructWithDimensions(inputCount, outputCount, hiddenLayerCount, randomizationProportion, normalizedLength,
+                precision);
     }
 
-    private void constructWithDimensions(int inputCount, int outputCount, double randomizationProportion,
-            double normalizedLength)
+    private void constructWithDimensions(int inputCount, int outputCount, int hiddenLayerCount,
+            double randomizationProportion, double normalizedLength, WeightPrecision precision)
     {
         this._outputs = new double[outputCount];
-        this._weights = new double[outputCount][inputCount + BIAS_UNIT_COUNT];
-        for (int i = 0; i < _weights.length; i++)
+        this._hiddenLayerCount = hiddenLayerCount;
+        this._stride = inputCount + BIAS_UNIT_COUNT;
+        allocateBuffers();
+        int nodeCount = getNodeCount();
+        int weightCount = nodeCount * _stride;
+        switch (precision)
         {
-            for (int j = 0; j < _weights[i].length; j++)
-            {
-                _weights[i][j] = randomizationProportion * Rand.getInstance().getRandomDouble()
-                        + (1 - randomizationProportion);
-            }
+            case DOUBLE:
+                this._flatWeights = new double[weightCount];
+                break;
+            case FLOAT:
+                this._floatWeights = new float[weightCount];
+                break;
+            case INT8:
+                this._byteWeights = new byte[weightCount];
+                this._rowScales = new float[nodeCount];
+                break;
+        }
+        initializeWeights(randomizationProportion, normalizedLength);
+    }
+
+    private void initializeWeights(double randomizationProportion, double normalizedLength)
+    {
+        double[] weights = getWorkingWeights();
+        for (int i = 0; i < weights.length; i++)
+        {
+            weights[i] = randomizationProportion * Rand.getInstance().getRandomDouble()
+                    + (1 - randomizationProportion);
         }
         if (normalizedLength != 0)
         {
-            normalizeWeights(normalizedLength);
+            normalizeWeights(weights, normalizedLength);
         }
+        storeWeights(weights);
     }
 
     public NeuralNetwork(NeuralNetworkBlueprint processorBlueprint, NeuralNetwork processor1, NeuralNetwork processor2)
     {
         // Construct the weight layer and store variables with the int based
         // constructor
-        this(processor1.getInputCount(), processor1.getOutputCount(), 0,
-                processorBlueprint.getNormalizeAfterMutation());
+        this(processor1.getInputCount(), processor1.getOutputCount(), processor1.getHiddenLayerCount(), 0,
+                processorBlueprint.getNormalizeAfterMutation(), processorBlueprint.getWeightPrecision(),
+                processorBlueprint.getActivationFunction());
+        inheritWeights(processorBlueprint, processor1, processor2);
+    }
+
+    /**
+     * Reinitializes a retired network in place as the offspring of two parents, leaving it exactly as the parent
+     * constructor would have built it, random draws included.
+     *
+     * @return false if the network's dimensions do not match the parents', in which case it is left unchanged
+     */
+    boolean reinitializeWithParents(NeuralNetworkBlueprint processorBlueprint, NeuralNetwork processor1,
+            NeuralNetwork processor2)
+    {
+        if (_outputs.length != processor1._outputs.length || _stride != processor1._stride
+                || _hiddenLayerCount != processor1._hiddenLayerCount
+                || getWeightPrecision() != processorBlueprint.getWeightPrecision())
+        {
+            return false;
+        }
+        renewUUID();
+        Arrays.fill(_outputs, 0);
+        _activationFunction = processorBlueprint.getActivationFunction();
+        initializeWeights(0, processorBlueprint.getNormalizeAfterMutation());
+        inheritWeights(processorBlueprint, processor1, processor2);
+        return true;
+    }
 
+    private void inheritWeights(NeuralNetworkBlueprint processorBlueprint, NeuralNetwork processor1,
+            NeuralNetwork processor2)
+    {
+        // Crossover and mutation work on the weights as doubles, which are rounded to the precision of the network once
+        // they are all set
+        double[] weights = getWorkingWeights();
+        double[] weights1 = processor1.loadWeights();
+        double[] weights2 = processor2.loadWeights();
         // Set all the weights with
-        for (int i = 0; i < _weights.length; i++)
+        for (int i = 0; i < weights.length; i++)
         {
-            for (int j = 0; j < _weights[i].length; j++)
+            // Mix first
+            double randomValue = Rand.getInstance().getRandomPositiveDouble();
+            // Sometimes mix the two values with a gaussian
+            // approximation.
+            if (randomValue < processorBlueprint.getInheritanceGaussianMixRate())
+            {
+                // Radnom.nextGaussian generates a Gaussian with μ = 0
+                // and σ = 1
+                // but we want μ = 0.5 and σ = 0.5 to mix between
+                // numbers
+                // This can cause a mix to introduce values higher or
+                // lower than
+                // either parent, which is by design.
+                double gaussianRandomValue = Rand.getInstance().getRandomGaussian() / 2 + 0.5;
+                double weightDifference = weights2[i] - weights1[i];
+                weights[i] = weights1[i] + gaussianRandomValue * weightDifference;
+            }
+            // Otherwise pick one value
+            else
             {
-                // Mix first
-                double randomValue = Rand.getInstance().getRandomPositiveDouble();
-                // Sometimes mix the two values with a gaussian
-                // approximation.
-                if (randomValue < processorBlueprint.getInheritanceGaussianMixRate())
+                randomValue = Rand.getInstance().getRandomPositiveDouble();
+                if (randomValue < 0.5)
                 {
-                    // Radnom.nextGaussian generates a Gaussian with μ = 0
-                    // and σ = 1
-                    // but we want μ = 0.5 and σ = 0.5 to mix between
-                    // numbers
-                    // This can cause a mix to introduce values higher or
-                    // lower than
-                    // either parent, which is by design.
-                    double gaussianRandomValue = Rand.getInstance().getRandomGaussian() / 2 + 0.5;
-                    double weightDifference = processor2._weights[i][j] - processor1._weights[i][j];
-                    _weights[i][j] = processor1._weights[i][j] + gaussianRandomValue * weightDifference;
+                    weights[i] = weights1[i];
                 }
-                // Otherwise pick one value
+
                 else
                 {
-                    randomValue = Rand.getInstance().getRandomPositiveDouble();
-                    if (randomValue < 0.5)
-                    {
-                        _weights[i][j] = processor1._weights[i][j];
-                    }
-
-                    else
-                    {
-                        _weights[i][j] = processor2._weights[i][j];
-                    }
+                    weights[i] = weights2[i];
                 }
+            }
 
-                // Sometimes mutate
+            // Sometimes mutate
+            randomValue = Rand.getInstance().getRandomPositiveDouble();
+            if (randomValue < processorBlueprint.getMutationRate())
+            {
                 randomValue = Rand.getInstance().getRandomPositiveDouble();
-                if (randomValue < processorBlueprint.getMutationRate())
+                if (randomValue < processorBlueprint.getMutationSmallScaleRate())
+                {
+                    // Gaussian multiplication mutation,
+                    // μ = 1 and σ = 0.2
+                    double gaussianRandomValue = Rand.getInstance().getRandomGaussian() / 5 + 1;
+                    weights[i] = gaussianRandomValue * weights[i];
+                }
+                else
                 {
-                    randomValue = Rand.getInstance().getRandomPositiveDouble();
-                    if (randomValue < processorBlueprint.getMutationSmallScaleRate())
+                    randomValue -= processorBlueprint.getMutationSmallScaleRate();
+                    if (randomValue < processorBlueprint.getMutationRandomRate())
                     {
-                        // Gaussian multiplication mutation,
-                        // μ = 1 and σ = 0.2
-                        double gaussianRandomValue = Rand.getInstance().getRandomGaussian() / 5 + 1;
-                        _weights[i][j] = gaussianRandomValue * _weights[i][j];
+                        // Random mutation
+                        weights[i] = Rand.getInstance().getRandomDouble();
                     }
                     else
                     {
-                        randomValue -= processorBlueprint.getMutationSmallScaleRate();
-                        if (randomValue < processorBlueprint.getMutationRandomRate())
+                        randomValue -= processorBlueprint.getMutationRandomRate();
+                        if (randomValue < processorBlueprint.getMutationFlipRate())
                         {
-                            // Random mutation
-                            _weights[i][j] = Rand.getInstance().getRandomDouble();
+                            // Flip mutation
+                            weights[i] = -weights[i];
                         }
                         else
                         {
-                            randomValue -= processorBlueprint.getMutationRandomRate();
-                            if (randomValue < processorBlueprint.getMutationFlipRate())
-                            {
-                                // Flip mutation
-                                _weights[i][j] = -_weights[i][j];
-                            }
-                            else
-                            {
-                                randomValue -= processorBlueprint.getMutationFlipRate();
-                            }
+                            randomValue -= processorBlueprint.getMutationFlipRate();
                         }
                     }
                 }
@@ -150,62 +258,252 @@ public class NeuralNetwork extends Processor
         }
         if (processorBlueprint.getNormalizeAfterMutation() != 0)
         {
-            normalizeWeights(processorBlueprint.getNormalizeAfterMutation());
+            normalizeWeights(weights, processorBlueprint.getNormalizeAfterMutation());
         }
+        storeWeights(weights);
     }
 
     public void normalizeWeights(double normalizedLength)
     {
-        double vectorLength = getGenomeLength();
-        for (int i = 0; i < _weights.length; i++)
+        double[] weights = loadWeights();
+        normalizeWeights(weights, normalizedLength);
+        storeWeights(weights);
+    }
+
+    private static void normalizeWeights(double[] weights, double normalizedLength)
+    {
+        double vectorLength = getGenomeLength(weights);
+        for (int i = 0; i < weights.length; i++)
         {
-            for (int j = 0; j < _weights[i].length; j++)
-            {
-                _weights[i][j] = normalizedLength * _weights[i][j] / vectorLength;
-            }
+            weights[i] = normalizedLength * weights[i] / vectorLength;
         }
     }
 
     public double getGenomeLength()
+    {
+        return getGenomeLength(loadWeights());
+    }
+
+    private static double getGenomeLength(double[] weights)
     {
         double sumOfSquares = 0;
-        for (int i = 0; i < _weights.length; i++)
+        for (int i = 0; i < weights.length; i++)
+        {
+            sumOfSquares += Math.pow(weights[i], 2);
+        }
+        return Math.sqrt(sumOfSquares);
+    }
+
+    /**
+     * @return an array to compute a complete set of weights in before handing it to storeWeights, which for a double
+     *         network is the weights themselves
+     */
+    private double[] getWorkingWeights()
+    {
+        return _flatWeights != null ? _flatWeights : new double[getWeightCount()];
+    }
+
+    /**
+     * @return the weights as doubles, which for a double network are the weights themselves
+     */
+    private double[] loadWeights()
+    {
+        if (_flatWeights != null)
+        {
+            return _flatWeights;
+        }
+        double[] weights = new double[getWeightCount()];
+        for (int i = 0; i < weights.length; i++)
+        {
+            weights[i] = getStoredWeight(i);
+        }
+        return weights;
+    }
+
+    private int getWeightCount()
+    {
+        if (_flatWeights != null)
+        {
+            return _flatWeights.length;
+        }
+        return _floatWeights != null ? _floatWeights.length : _byteWeights.length;
+    }
+
+    private int getNodeCount()
+    {
+        return _hiddenLayerCount * (_stride - BIAS_UNIT_COUNT) + _outputs.length;
+    }
+
+    private void allocateBuffers()
+    {
+        _hiddenOutputs = new double[_hiddenLayerCount][_stride - BIAS_UNIT_COUNT];
+        _noise = new double[getNodeCount()];
+    }
+
+    private double getStoredWeight(int index)
+    {
+        if (_flatWeights != null)
         {
-            for (int j = 0; j < _weights[i].length; j++)
+            return _flatWeights[index];
+        }
+        else if (_floatWeights != null)
+        {
+            return _floatWeights[index];
+        }
+        else
+        {
+            return _byteWeights[index] * (double) _rowScales[index / _stride];
+        }
+    }
+
+    /**
+     * Rounds a complete set of weights to the precision of the network and stores them.
+     */
+    private void storeWeights(double[] weights)
+    {
+        if (_flatWeights != null)
+        {
+            if (weights != _flatWeights)
             {
-                sumOfSquares += Math.pow(_weights[i][j], 2);
+                System.arraycopy(weights, 0, _flatWeights, 0, weights.length);
             }
         }
-        return Math.sqrt(sumOfSquares);
+        else if (_floatWeights != null)
+        {
+            for (int i = 0; i < weights.length; i++)
+            {
+                _floatWeights[i] = (float) weights[i];
+            }
+        }
+        else
+        {
+            // Scale each node so that its largest weight is stored as the largest byte
+            for (int i = 0; i < _rowScales.length; i++)
+            {
+                int row = i * _stride;
+                double largestWeight = 0;
+                for (int j = 0; j < _stride; j++)
+                {
+                    largestWeight = Math.max(largestWeight, Math.abs(weights[row + j]));
+                }
+                float scale = (float) (largestWeight / BYTE_WEIGHT_LIMIT);
+                _rowScales[i] = scale;
+                for (int j = 0; j < _stride; j++)
+                {
+                    long quantized = scale == 0 ? 0 : Math.round(weights[row + j] / scale);
+                    _byteWeights[row + j] = (byte) Math.max(-BYTE_WEIGHT_LIMIT, Math.min(BYTE_WEIGHT_LIMIT, quantized));
+                }
+            }
+        }
+    }
+
+    public WeightPrecision getWeightPrecision()
+    {
+        if (_flatWeights != null)
+        {
+            return WeightPrecision.DOUBLE;
+        }
+        return _floatWeights != null ? WeightPrecision.FLOAT : WeightPrecision.INT8;
+    }
+
+    public ActivationFunction getActivationFunction()
+    {
+        return _activationFunction;
+    }
+
+    public int getHiddenLayerCount()
+    {
+        return _hiddenLayerCount;
+    }
+
+    /**
+     * @return the weight of the connection for the ith node coming from the jth node in the layer before it, where the
+     *         first nodes of the layer before are the bias units and the nodes are numbered from the first hidden layer
+     *         through to the output layer
+     */
+    public double getWeight(int i, int j)
+    {
+        return getStoredWeight(i * _stride + j);
     }
 
-    public double[][] getWeights()
+    /**
+     * @return the weights of the network, one row per node in the layer laid out end to end, which are a copy for
+     *         networks of reduced precision
+     */
+    public double[] getFlatWeights()
     {
-        return (this._weights);
+        return loadWeights();
     }
 
     @Override
     public int getInputCount()
     {
-        return _weights[0].length - BIAS_UNIT_COUNT;
+        return _stride - BIAS_UNIT_COUNT;
     }
 
     @Override
     public int getOutputCount()
     {
-        return _weights.length;
+        return _outputs.length;
     }
 
     @Override
-    public double[] outputs(double[] inputs)
+    public void prepareSerialization()
+    {
+        if (_flatWeights == null)
+        {
+            // Reduced precision weights are serialized as they are
+            return;
+        }
+        _weights = new double[getNodeCount()][_stride];
+        for (int i = 0; i < _weights.length; i++)
+        {
+            System.arraycopy(_flatWeights, i * _stride, _weights[i], 0, _stride);
+        }
+    }
+
+    @Override
+    public void completeSerialization()
+    {
+        if (_flatWeights != null)
+        {
+            // Only the serializer holds on to the row form, live networks keep their weights once
+            _weights = null;
+        }
+    }
+
+    @Override
+    public void finalizeSerialization()
     {
-        // Clear the output units
-        for (int i = 0; i < _outputs.length; i++)
+        if (_weights != null)
         {
-            _outputs[i] = 0;
+            // Full precision weights are serialized in rows
+            _stride = _weights[0].length;
+            _flatWeights = new double[_weights.length * _stride];
+            for (int i = 0; i < _weights.length; i++)
+            {
+                System.arraycopy(_weights[i], 0, _flatWeights, i * _stride, _stride);
+            }
+            _weights = null;
         }
+        allocateBuffers();
+    }
 
-        computeLayerInPlace(inputs, _outputs, _weights);
+    @Override
+    public double[] outputs(double[] inputs)
+    {
+        // Draw the stochastic bias of every node in one block, in the order the nodes are evaluated
+        Rand.getInstance().fillRandomDoubles(_noise, 0, _noise.length);
+        // Feed each layer's outputs into the next, ending with the output layer
+        double[] layerInputs = inputs;
+        int node = 0;
+        for (int l = 0; l <= _hiddenLayerCount; l++)
+        {
+            double[] layerOutputs = l < _hiddenLayerCount ? _hiddenOutputs[l] : _outputs;
+            computeLayer(layerInputs, 0, layerOutputs, node, _noise, node);
+            node += layerOutputs.length;
+            layerInputs = layerOutputs;
+        }
 
         // Return
         return (_outputs);
@@ -217,16 +515,14 @@ public class NeuralNetwork extends Processor
         return _outputs;
     }
 
-    @SerializedParameter
-    private int _hiddenLayerCount = 0;
-
     public static void computeLayerInPlace(double[] inputs, double[] outputs, double[][] weights)
     {
+        Rand rand = Rand.getInstance();
         for (int i = 0; i < outputs.length; i++)
         {
             // Bias units
             outputs[i] += weights[i][0] * 1;
-            outputs[i] += weights[i][1] * Rand.getInstance().getRandomDouble();
+            outputs[i] += weights[i][1] * rand.getRandomDouble();
             // prior units
             for (int j = 0; j < inputs.length; j++)
             {
@@ -237,6 +533,69 @@ public class NeuralNetwork extends Processor
         }
     }
 
+    /**
+     * Evaluates the networks of a NeuralNetworkBatch, with inputs and stochastic bias noise laid out as one row per
+     * network. Each network is computed exactly as its own evaluation would compute it, so its outputs are identical to
+     * evaluating it on its own with the same noise.
+     */
+    static void computeBatch(NeuralNetwork[] networks, int networkCount, double[] inputs, int inputCount,
+            double[] noise, int outputCount)
+    {
+        for (int n = 0; n < networkCount; n++)
+        {
+            networks[n].computeLayer(inputs, n * inputCount, networks[n]._outputs, 0, noise, n * outputCount);
+        }
+    }
+
+    /**
+     * Computes the outputs of one layer of the network, starting at the given node, with its inputs and stochastic bias
+     * noise read from offsets into larger arrays. Reduced precision weights are widened to doubles as they are read and
+     * a node's byte weights are summed before being scaled, once per node.
+     */
+    private void computeLayer(double[] inputs, int inputOffset, double[] outputs, int firstNode, double[] noise,
+            int noiseOffset)
+    {
+        int inputCount = _stride - BIAS_UNIT_COUNT;
+        for (int i = 0; i < outputs.length; i++)
+        {
+            int node = firstNode + i;
+            int row = node * _stride;
+            // Bias units
+            double output = 0;
+            if (_flatWeights != null)
+            {
+                output += _flatWeights[row] * 1;
+                output += _flatWeights[row + 1] * noise[noiseOffset + i];
+                // prior units
+                for (int j = 0; j < inputCount; j++)
+                {
+                    output += _flatWeights[row + j + BIAS_UNIT_COUNT] * inputs[inputOffset + j];
+                }
+            }
+            else if (_floatWeights != null)
+            {
+                output += _floatWeights[row] * 1.0;
+                output += _floatWeights[row + 1] * noise[noiseOffset + i];
+                for (int j = 0; j < inputCount; j++)
+                {
+                    output += _floatWeights[row + j + BIAS_UNIT_COUNT] * inputs[inputOffset + j];
+                }
+            }
+            else
+            {
+                output += _byteWeights[row] * 1.0;
+                output += _byteWeights[row + 1] * noise[noiseOffset + i];
+                for (int j = 0; j < inputCount; j++)
+                {
+                    output += _byteWeights[row + j + BIAS_UNIT_COUNT] * inputs[inputOffset + j];
+                }
+                output *= _rowScales[node];
+            }
+            // Scale for sigmoid
+            outputs[i] = _activationFunction.apply(output);
+        }
+    }
+
     public static void main(String[] args)
     {
         NeuralNetwork processor = new NeuralNetwork(3, 10, 0, 0);
@@ -260,17 +619,14 @@ public class NeuralNetwork extends Processor
 
     public static NeuralNetwork minProcessor(List<NeuralNetwork> processors)
     {
-        NeuralNetwork minProcessor = new NeuralNetwork(processors.get(0).getInputCount(),
-                processors.get(0).getOutputCount(), 0, 0);
+        NeuralNetwork minProcessor = makeShapedLike(processors.get(0));
         // Set all the weights with
         for (NeuralNetwork processor : processors)
         {
-            for (int i = 0; i < minProcessor._weights.length; i++)
+            double[] processorWeights = processor.loadWeights();
+            for (int i = 0; i < minProcessor._flatWeights.length; i++)
             {
-                for (int j = 0; j < minProcessor._weights[i].length; j++)
-                {
-                    minProcessor._weights[i][j] = Math.min(processor._weights[i][j], minProcessor._weights[i][j]);
-                }
+                minProcessor._flatWeights[i] = Math.min(processorWeights[i], minProcessor._flatWeights[i]);
             }
         }
         return minProcessor;
@@ -279,17 +635,14 @@ public class NeuralNetwork extends Processor
 
     public static NeuralNetwork maxProcessor(List<NeuralNetwork> processors)
     {
-        NeuralNetwork maxProcessor = new NeuralNetwork(processors.get(0).getInputCount(),
-                processors.get(0).getOutputCount(), 0, 0);
+        NeuralNetwork maxProcessor = makeShapedLike(processors.get(0));
         // Set all the weights with
         for (NeuralNetwork processor : processors)
         {
-            for (int i = 0; i < maxProcessor._weights.length; i++)
+            double[] processorWeights = processor.loadWeights();
+            for (int i = 0; i < maxProcessor._flatWeights.length; i++)
             {
-                for (int j = 0; j < maxProcessor._weights[i].length; j++)
-                {
-                    maxProcessor._weights[i][j] = Math.max(processor._weights[i][j], maxProcessor._weights[i][j]);
-                }
+                maxProcessor._flatWeights[i] = Math.max(processorWeights[i], maxProcessor._flatWeights[i]);
             }
         }
         return maxProcessor;
@@ -297,33 +650,24 @@ public class NeuralNetwork extends Processor
 
     public static NeuralNetwork medianProcessor(List<NeuralNetwork> processors)
     {
-        NeuralNetwork medianProcessor = new NeuralNetwork(processors.get(0).getInputCount(),
-                processors.get(0).getOutputCount(), 0, 0);
+        NeuralNetwork medianProcessor = makeShapedLike(processors.get(0));
         // Set all the weights with
-        for (int i = 0; i < medianProcessor._weights.length; i++)
+        for (int i = 0; i < medianProcessor._flatWeights.length; i++)
         {
-            for (int j = 0; j < medianProcessor._weights[i].length; j++)
-            {
-                medianProcessor._weights[i][j] = 0;
-            }
+            medianProcessor._flatWeights[i] = 0;
         }
         int processorsAveraged = processors.size();
         for (NeuralNetwork processor : processors)
         {
-            for (int i = 0; i < medianProcessor._weights.length; i++)
+            double[] processorWeights = processor.loadWeights();
+            for (int i = 0; i < medianProcessor._flatWeights.length; i++)
             {
-                for (int j = 0; j < medianProcessor._weights[i].length; j++)
-                {
-                    medianProcessor._weights[i][j] += processor._weights[i][j];
-                }
+                medianProcessor._flatWeights[i] += processorWeights[i];
             }
         }
-        for (int i = 0; i < medianProcessor._weights.length; i++)
+        for (int i = 0; i < medianProcessor._flatWeights.length; i++)
         {
-            for (int j = 0; j < medianProcessor._weights[i].length; j++)
-            {
-                medianProcessor._weights[i][j] /= processorsAveraged;
-            }
+            medianProcessor._flatWeights[i] /= processorsAveraged;
         }
         return medianProcessor;
     }
@@ -331,38 +675,39 @@ public class NeuralNetwork extends Processor
     public static NeuralNetwork standardDeviationProcessor(List<NeuralNetwork> processors,
             NeuralNetwork medianProcessor)
     {
-        NeuralNetwork standardDeviationProcessor = new NeuralNetwork(medianProcessor.getInputCount(),
-                medianProcessor.getOutputCount(), 0, 0);
-        for (int i = 0; i < standardDeviationProcessor._weights.length; i++)
+        NeuralNetwork standardDeviationProcessor = makeShapedLike(medianProcessor);
+        for (int i = 0; i < standardDeviationProcessor._flatWeights.length; i++)
         {
-            for (int j = 0; j < standardDeviationProcessor._weights[i].length; j++)
-            {
-                standardDeviationProcessor._weights[i][j] = 0;
-            }
+            standardDeviationProcessor._flatWeights[i] = 0;
         }
         int processorsAveraged = processors.size();
+        double[] medianWeights = medianProcessor.loadWeights();
         double error;
         for (NeuralNetwork processor : processors)
         {
-            for (int i = 0; i < standardDeviationProcessor._weights.length; i++)
+            double[] processorWeights = processor.loadWeights();
+            for (int i = 0; i < standardDeviationProcessor._flatWeights.length; i++)
             {
-                for (int j = 0; j < standardDeviationProcessor._weights[i].length; j++)
-                {
-                    error = processor._weights[i][j] - medianProcessor._weights[i][j];
-                    standardDeviationProcessor._weights[i][j] += error * error;
-                }
+                error = processorWeights[i] - medianWeights[i];
+                standardDeviationProcessor._flatWeights[i] += error * error;
             }
         }
-        for (int i = 0; i < standardDeviationProcessor._weights.length; i++)
+        for (int i = 0; i < standardDeviationProcessor._flatWeights.length; i++)
         {
-            for (int j = 0; j < standardDeviationProcessor._weights[i].length; j++)
-            {
-                standardDeviationProcessor._weights[i][j] /= processorsAveraged;
-            }
+            standardDeviationProcessor._flatWeights[i] /= processorsAveraged;
         }
         return standardDeviationProcessor;
     }
 
+    /**
+     * @return a network of double precision with the same layers as the given network, for the statistics processors
+     */
+    private static NeuralNetwork makeShapedLike(NeuralNetwork network)
+    {
+        return new NeuralNetwork(network.getInputCount(), network.getOutputCount(), network.getHiddenLayerCount(), 0,
+                0, WeightPrecision.DOUBLE, ActivationFunction.EXACT);
+    }
+
     public static NeuralNetwork makeUninitialized()
     {
         return new NeuralNetwork();
@@ -371,6 +716,8 @@ public class NeuralNetwork extends Processor
     public static NeuralNetwork makeWithProcessorBlueprint(NeuralNetworkBlueprint processorBlueprint)
     {
         return new NeuralNetwork(processorBlueprint.getInputCount(), processorBlueprint.getOutputCount(),
-                processorBlueprint.getRandomInitializationProportion(), processorBlueprint.getNormalizeAfterMutation());
+                processorBlueprint.getHiddenLayerCount(), processorBlueprint.getRandomInitializationProportion(),
+                processorBlueprint.getNormalizeAfterMutation(), processorBlueprint.getWeightPrecision(),
+                processorBlueprint.getActivationFunction());
     }
 }
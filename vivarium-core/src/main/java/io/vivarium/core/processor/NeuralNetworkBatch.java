@@ -0,0 +1,88 @@
+package io.vivarium.core.processor;
+
+import java.util.Arrays;
+
+import io.vivarium.util.Rand;
+
+/**
+ * Evaluates many neural networks of the same shape together, such as those of the creatures of one species planning in
+ * the same tick. As networks are added their inputs are gathered into one contiguous input matrix, one row per
+ * network, along with the stochastic bias noise each network would draw. Evaluating then computes every network in a
+ * single pass over those matrices and scatters the results to the networks' outputs, exactly as if each network had
+ * been evaluated on its own. Only networks without hidden layers can be batched.
+ *
+ * Batches are not thread safe.
+ */
+public class NeuralNetworkBatch
+{
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int _inputCount;
+    private final int _outputCount;
+
+    private int _size;
+    private NeuralNetwork[] _networks = new NeuralNetwork[INITIAL_CAPACITY];
+    private double[] _inputs;
+    private double[] _noise;
+
+    public NeuralNetworkBatch(int inputCount, int outputCount)
+    {
+        _inputCount = inputCount;
+        _outputCount = outputCount;
+        _inputs = new double[INITIAL_CAPACITY * inputCount];
+        _noise = new double[INITIAL_CAPACITY * outputCount];
+    }
+
+    public int getInputCount()
+    {
+        return _inputCount;
+    }
+
+    public int getOutputCount()
+    {
+        return _outputCount;
+    }
+
+    public int getSize()
+    {
+        return _size;
+    }
+
+    /**
+     * Adds a network to the batch, copying its inputs and drawing its stochastic bias noise now, so networks draw
+     * random numbers in the order they are added.
+     */
+    public void add(NeuralNetwork network, double[] inputs)
+    {
+        if (network.getInputCount() != _inputCount || network.getOutputCount() != _outputCount)
+        {
+            throw new IllegalArgumentException("Network of " + network.getInputCount() + " inputs and "
+                    + network.getOutputCount() + " outputs does not fit a batch of " + _inputCount + " inputs and "
+                    + _outputCount + " outputs");
+        }
+        if (network.getHiddenLayerCount() != 0)
+        {
+            throw new IllegalArgumentException("Networks with hidden layers can not be batched");
+        }
+        if (_size == _networks.length)
+        {
+            _networks = Arrays.copyOf(_networks, _size * 2);
+            _inputs = Arrays.copyOf(_inputs, _size * 2 * _inputCount);
+            _noise = Arrays.copyOf(_noise, _size * 2 * _outputCount);
+        }
+        _networks[_size] = network;
+        System.arraycopy(inputs, 0, _inputs, _size * _inputCount, _inputCount);
+        Rand.getInstance().fillRandomDoubles(_noise, _size * _outputCount, _outputCount);
+        _size++;
+    }
+
+    /**
+     * Evaluates every network in the batch, leaving the results in each network's outputs, and empties the batch.
+     */
+    public void evaluate()
+    {
+        NeuralNetwork.computeBatch(_networks, _size, _inputs, _inputCount, _noise, _outputCount);
+        Arrays.fill(_networks, 0, _size, null);
+        _size = 0;
+    }
+}
@@ -35,6 +35,10 @@ public class NeuralNetworkBlueprint extends ProcessorBlueprint
     // NN Structure
     @SerializedParameter
     private int _hiddenLayerCount = 0;
+    @SerializedParameter
+    private WeightPrecision _weightPrecision = WeightPrecision.DOUBLE;
+    @SerializedParameter
+    private ActivationFunction _activationFunction = ActivationFunction.EXACT;
 
     private NeuralNetworkBlueprint()
     {
@@ -87,11 +91,43 @@ public class NeuralNetworkBlueprint extends ProcessorBlueprint
         return _hiddenLayerCount;
     }
 
+    /**
+     * Sets the number of hidden layers of new networks, each as wide as the input layer. Offspring keep the layers of
+     * their parents, which must match each other.
+     */
     public void setHiddenLayerCount(int hiddenLayerCount)
     {
         this._hiddenLayerCount = hiddenLayerCount;
     }
 
+    public WeightPrecision getWeightPrecision()
+    {
+        return _weightPrecision;
+    }
+
+    /**
+     * Sets the precision the weights of new networks are stored in. Networks which already exist keep their precision,
+     * and offspring take the precision of the blueprint rather than of their parents.
+     */
+    public void setWeightPrecision(WeightPrecision weightPrecision)
+    {
+        this._weightPrecision = weightPrecision;
+    }
+
+    public ActivationFunction getActivationFunction()
+    {
+        return _activationFunction;
+    }
+
+    /**
+     * Sets the activation function of new networks. As with the weight precision, offspring take the activation
+     * function of the blueprint rather than of their parents.
+     */
+    public void setActivationFunction(ActivationFunction activationFunction)
+    {
+        this._activationFunction = activationFunction;
+    }
+
     public double getNormalizeAfterMutation()
     {
         return this._normalizeAfterMutation;
@@ -121,6 +157,17 @@ public class NeuralNetworkBlueprint extends ProcessorBlueprint
         return new NeuralNetwork(this, (NeuralNetwork) parent1, (NeuralNetwork) parent2);
     }
 
+    @Override
+    public Processor recycleProcessorWithParents(Processor retired, Processor parent1, Processor parent2)
+    {
+        if (retired instanceof NeuralNetwork && ((NeuralNetwork) retired).reinitializeWithParents(this,
+                (NeuralNetwork) parent1, (NeuralNetwork) parent2))
+        {
+            return retired;
+        }
+        return makeProcessorWithParents(parent1, parent2);
+    }
+
     public static NeuralNetworkBlueprint makeDefault(int inputCount, int outputCount)
     {
         NeuralNetworkBlueprint a = new NeuralNetworkBlueprint(inputCount, outputCount);
@@ -15,7 +15,8 @@ public abstract class Processor extends VivariumObject
      * being evoked.
      *
      * The input and output mapping is generated based on the creatures, the processor by design does not have
-     * visibility to the mapping world state to inputs or from outputs to actions.
+     * visibility to the mapping world state to inputs or from outputs to actions. Only the first getInputCount inputs
+     * are read, so the inputs may be a longer array, such as the outputs of a wider processor.
      *
      * @param inputs
      * @return outputs
@@ -36,6 +36,19 @@ public abstract class ProcessorBlueprint extends VivariumObject
 
     public abstract Processor makeProcessorWithParents(Processor parent1, Processor parent2);
 
+    /**
+     * Makes a processor from two parents like makeProcessorWithParents, reinitializing a retired processor in place
+     * where the processor type supports it. The result is identical either way.
+     *
+     * @param retired
+     *            a processor of this blueprint which is no longer in use
+     * @return the retired processor reinitialized, or a new processor
+     */
+    public Processor recycleProcessorWithParents(Processor retired, Processor parent1, Processor parent2)
+    {
+        return makeProcessorWithParents(parent1, parent2);
+    }
+
     public ProcessorType getProcessorType()
     {
         return this._processorType;
@@ -39,10 +39,7 @@ public class RandomGenerator extends Processor
     @Override
     public double[] outputs(double[] inputs)
     {
-        for (int i = 0; i < _outputs.length; i++)
-        {
-            _outputs[i] = Rand.getInstance().getRandomDouble();
-        }
+        Rand.getInstance().fillRandomDoubles(_outputs, 0, _outputs.length);
         return _outputs;
     }
 
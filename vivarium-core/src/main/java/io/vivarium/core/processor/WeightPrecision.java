@@ -0,0 +1,22 @@
+package io.vivarium.core.processor;
+
+/**
+ * How a NeuralNetwork stores its weights. Reduced precisions trade some accuracy in the weights for smaller networks,
+ * on the heap and when serialized. Networks always compute in double precision.
+ */
+public enum WeightPrecision
+{
+    /**
+     * 8 bytes per weight, exact.
+     */
+    DOUBLE,
+    /**
+     * 4 bytes per weight, rounded to the nearest float.
+     */
+    FLOAT,
+    /**
+     * 1 byte per weight plus a 4 byte scale per node, with each node's weights rounded to one of 255 evenly spaced
+     * values between plus and minus the largest of them.
+     */
+    INT8;
+}
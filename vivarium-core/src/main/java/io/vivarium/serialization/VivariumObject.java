@@ -16,8 +16,33 @@ public abstract class VivariumObject implements Streamable
 
     public abstract void finalizeSerialization();
 
+    /**
+     * Called before an object's serialized parameters are read, for objects which keep some of their state elsewhere
+     * while in use and need to bring those parameters up to date first.
+     */
+    public void prepareSerialization()
+    {
+    }
+
+    /**
+     * Called once an object's serialized parameters have been read, for objects which only build some of those
+     * parameters in prepareSerialization and drop them again here.
+     */
+    public void completeSerialization()
+    {
+    }
+
     public UUID getUUID()
     {
         return _uuid;
     }
+
+    /**
+     * Gives an object a new random UUID, for objects which are reinitialized in place rather than constructed again.
+     * This draws from the random stream exactly as construction does.
+     */
+    protected void renewUUID()
+    {
+        _uuid = UUID.randomUUID();
+    }
 }
@@ -7,6 +7,22 @@ import com.google.common.base.Preconditions;
 
 public class Functions
 {
+    private static final double RATIONAL_SIGMOID_LIMIT = 4;
+    private static final double RATIONAL_SIGMOID_SCALE = Math.tanh(RATIONAL_SIGMOID_LIMIT)
+            / padeTanh(RATIONAL_SIGMOID_LIMIT);
+    private static final int SIGMOID_TABLE_LIMIT = 16;
+    private static final int SIGMOID_TABLE_RESOLUTION = 64;
+    private static final double[] SIGMOID_TABLE = new double[2 * SIGMOID_TABLE_LIMIT * SIGMOID_TABLE_RESOLUTION + 2];
+
+    static
+    {
+        // One extra entry past the end, so that interpolating at an input which rounds up to the limit stays in bounds
+        for (int i = 0; i < SIGMOID_TABLE.length; i++)
+        {
+            SIGMOID_TABLE[i] = sigmoid((double) i / SIGMOID_TABLE_RESOLUTION - SIGMOID_TABLE_LIMIT);
+        }
+    }
+
     /**
      * computes the logit function (the inverse of the logistic sigmoid function) of a value.
      *
@@ -29,6 +45,51 @@ public class Functions
         return 1 / (1 + Math.exp(-x));
     }
 
+    /**
+     * computes an approximation of the logistic sigmoid from the (7, 6) Pade approximant of tanh, using sigmoid(x) = (1
+     * + tanh(x / 2)) / 2. The approximant is scaled to meet the exact sigmoid at x = -8 and x = 8, beyond which the
+     * exact sigmoid is returned, so the result is continuous and monotonic. The absolute error is at most 7.4e-6 for
+     * any x.
+     *
+     * @param x
+     * @return approximately sigmoid(x)
+     */
+    public static double rationalSigmoid(double x)
+    {
+        double y = x * 0.5;
+        if (y <= -RATIONAL_SIGMOID_LIMIT || y >= RATIONAL_SIGMOID_LIMIT)
+        {
+            return sigmoid(x);
+        }
+        return 0.5 + 0.5 * RATIONAL_SIGMOID_SCALE * padeTanh(y);
+    }
+
+    private static double padeTanh(double y)
+    {
+        double y2 = y * y;
+        return y * (135135 + y2 * (17325 + y2 * (378 + y2))) / (135135 + y2 * (62370 + y2 * (3150 + y2 * 28)));
+    }
+
+    /**
+     * computes an approximation of the logistic sigmoid by linear interpolation in a table of exact values, spaced 1/64
+     * apart between -16 and 16, beyond which the exact sigmoid is returned. The result is continuous and monotonic, and
+     * the absolute error is at most 3e-6 for any x.
+     *
+     * @param x
+     * @return approximately sigmoid(x)
+     */
+    public static double tableSigmoid(double x)
+    {
+        if (x <= -SIGMOID_TABLE_LIMIT || x >= SIGMOID_TABLE_LIMIT)
+        {
+            return sigmoid(x);
+        }
+        double position = (x + SIGMOID_TABLE_LIMIT) * SIGMOID_TABLE_RESOLUTION;
+        int index = (int) position;
+        double fraction = position - index;
+        return SIGMOID_TABLE[index] + (SIGMOID_TABLE[index + 1] - SIGMOID_TABLE[index]) * fraction;
+    }
+
     /**
      * computes the midpoint between two values on a logarithmic scale, defined as log((exp(A)+exp(B))/2), but is usable
      * even when A or B are too large to fit into Java primitives.
@@ -0,0 +1,22 @@
+package io.vivarium.util;
+
+/**
+ * Runs batches of independent tasks, potentially in parallel. The core library stays single threaded so that it can be
+ * compiled with GWT, thread backed implementations live in vivarium-concurrency.
+ */
+public interface ParallelExecutor
+{
+    /**
+     * Runs the first taskCount tasks and returns once all of them have completed. While task i runs, Rand.getInstance()
+     * on the thread running it must return a generator seeded with seeds[i] which no other task uses, so the random
+     * numbers drawn by a task depend only on its seed and not on how the tasks were scheduled.
+     *
+     * @param tasks
+     *            the tasks to run
+     * @param seeds
+     *            the random seed for each task, must not be zero
+     * @param taskCount
+     *            the number of tasks to run from the start of the arrays
+     */
+    void invokeAll(Runnable[] tasks, int[] seeds, int taskCount);
+}
@@ -18,6 +18,11 @@ public class Rand
         return _allocator.getInstance();
     }
 
+    public synchronized static RandAllocator getAllocator()
+    {
+        return _allocator;
+    }
+
     public synchronized static void setAllocator(RandAllocator allocator)
     {
         _allocator = allocator;
@@ -65,6 +70,31 @@ public class Rand
         return (double) getRandomLong() / Long.MAX_VALUE;
     }
 
+    /**
+     * Fills part of an array with psuedorandom doubles with the range (-1,1). The values are those that as many calls
+     * to getRandomDouble would return, in order, but the Xorshift state is only read and written once for the whole
+     * block.
+     *
+     * @param values
+     *            the array to fill
+     * @param offset
+     *            the index of the first value to fill
+     * @param length
+     *            the number of values to fill
+     */
+    public void fillRandomDoubles(double[] values, int offset, int length)
+    {
+        long randomLong = _randomLong;
+        for (int i = offset; i < offset + length; i++)
+        {
+            randomLong ^= (randomLong << 21);
+            randomLong ^= (randomLong >>> 35);
+            randomLong ^= (randomLong << 4);
+            values[i] = (double) randomLong / Long.MAX_VALUE;
+        }
+        _randomLong = randomLong;
+    }
+
     /**
      * Get a psuedorandom positive double with the range [0,1)
      *
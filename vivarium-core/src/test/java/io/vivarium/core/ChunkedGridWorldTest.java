@@ -0,0 +1,189 @@
+package io.vivarium.core;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.test.FastTest;
+import io.vivarium.test.IntegrationTest;
+import io.vivarium.test.UnitTest;
+import io.vivarium.util.Rand;
+
+public class ChunkedGridWorldTest
+{
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testMatchesGridWorldWithoutFoodSpawning()
+    {
+        // Food spawning draws random numbers per chunk, so compare against a GridWorld with it turned off
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(150);
+        worldBlueprint.setInitialFoodGenerationProbability(0.1);
+        worldBlueprint.setFoodGenerationProbability(0);
+
+        Rand.getInstance().setRandomSeed(7);
+        GridWorld gridWorld = new GridWorld(worldBlueprint);
+        gridWorld.setTerrain(TerrainType.FOOD_GENERATOR, 64, 64);
+        gridWorld.setTerrain(TerrainType.FLAMETHROWER, 100, 30);
+        for (int i = 0; i < 200; i++)
+        {
+            gridWorld.tick();
+        }
+
+        Rand.getInstance().setRandomSeed(7);
+        ChunkedGridWorld chunkedWorld = new ChunkedGridWorld(worldBlueprint);
+        chunkedWorld.setTerrain(TerrainType.FOOD_GENERATOR, 64, 64);
+        chunkedWorld.setTerrain(TerrainType.FLAMETHROWER, 100, 30);
+        for (int i = 0; i < 200; i++)
+        {
+            chunkedWorld.tick();
+        }
+
+        GridWorldAssert.assertWorldsMatch(gridWorld, chunkedWorld);
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testSleepingChunksSpawnFoodOnWaking()
+    {
+        int size = 6 * ChunkedGridWorld.CHUNK_SIZE;
+        double probability = 0.01;
+        int sleepingTicks = 30;
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(size);
+        worldBlueprint.setInitialWallGenerationProbability(0);
+        worldBlueprint.setFoodGenerationProbability(probability);
+        worldBlueprint.setCreatureBlueprints(new ArrayList<CreatureBlueprint>());
+        Rand.getInstance().setRandomSeed(11);
+        ChunkedGridWorld world = new ChunkedGridWorld(worldBlueprint);
+
+        // Only the chunks holding the walls around the edge of the world are allocated, and nothing is awake
+        Tester.equal("Only the border chunks should be allocated", world.getAllocatedChunkCount(), 20);
+        for (int i = 0; i < sleepingTicks - 1; i++)
+        {
+            world.tick();
+        }
+        Tester.equal("Sleeping chunks should not be allocated", world.getAllocatedChunkCount(), 20);
+        Tester.equal("Sleeping chunks should not spawn food yet", world.getItemCount(), 0);
+
+        // Wake the chunk in the third row and column with an emitter, which also brings its neighbours up to date
+        int emitterR = 2 * ChunkedGridWorld.CHUNK_SIZE + 32;
+        int emitterC = 2 * ChunkedGridWorld.CHUNK_SIZE + 32;
+        world.setTerrain(TerrainType.FLAMETHROWER, emitterR, emitterC);
+        Tester.isFalse("Emitter chunk should be awake", world.isChunkAsleep(emitterR, emitterC));
+        world.tick();
+        Tester.equal("The woken chunk and its neighbours should be allocated", world.getAllocatedChunkCount(), 29);
+
+        // A neighbouring chunk has slept for every tick so far, so each square should have spawned food with the
+        // probability of spawning at least once over that many ticks
+        int food = 0;
+        int top = emitterR - 32;
+        int left = emitterC + 32;
+        for (int r = top; r < top + ChunkedGridWorld.CHUNK_SIZE; r++)
+        {
+            for (int c = left; c < left + ChunkedGridWorld.CHUNK_SIZE; c++)
+            {
+                food += world.getItem(r, c) == ItemType.FOOD ? 1 : 0;
+            }
+        }
+        int squares = ChunkedGridWorld.CHUNK_SIZE * ChunkedGridWorld.CHUNK_SIZE;
+        double expectedProbability = 1 - Math.pow(1 - probability, sleepingTicks);
+        double expectedFood = squares * expectedProbability;
+        double standardDeviation = Math.sqrt(squares * expectedProbability * (1 - expectedProbability));
+        Tester.lessThan("Food should be within four standard deviations", Math.abs(food - expectedFood),
+                4 * standardDeviation);
+        Tester.isTrue("Distant chunks should still be asleep", world.isChunkAsleep(size - 100, size - 100));
+        Tester.isTrue("Distant chunks should not have spawned food", world.getItem(size - 100, size - 100) == null);
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testImmigrantsOnlyAllocateTheChunksTheyLandIn()
+    {
+        int size = 40 * ChunkedGridWorld.CHUNK_SIZE;
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(size);
+        worldBlueprint.setInitialWallGenerationProbability(0);
+        worldBlueprint.setInitialFoodGenerationProbability(0);
+        worldBlueprint.setFoodGenerationProbability(0);
+        worldBlueprint.setCreatureBlueprints(new ArrayList<CreatureBlueprint>());
+        Rand.getInstance().setRandomSeed(13);
+        ChunkedGridWorld world = new ChunkedGridWorld(worldBlueprint);
+        int borderChunkCount = world.getAllocatedChunkCount();
+        Tester.equal("Only the border chunks should be allocated", borderChunkCount, 4 * 40 - 4);
+
+        CreatureBlueprint creatureBlueprint = CreatureBlueprint.makeDefault();
+        int immigrantCount = 20;
+        for (int i = 0; i < immigrantCount; i++)
+        {
+            Tester.isTrue("Immigrants should be placed while there is room",
+                    world.addImmigrant(new Creature(creatureBlueprint)));
+        }
+        Tester.equal("Every immigrant should land on its own square", world.getCreatureCount(), immigrantCount);
+        Tester.lessThan("Each immigrant should allocate at most the chunk it lands in", world.getAllocatedChunkCount(),
+                borderChunkCount + immigrantCount + 1);
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testImmigrantsFillEmptySquaresAcrossChunks()
+    {
+        // Not a multiple of the chunk size, so the chunks along the bottom and right edges are clipped. The world
+        // starts with only its border chunks allocated, so the immigrants and the food around them allocate the inner
+        // chunks after the free squares are built.
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(4 * ChunkedGridWorld.CHUNK_SIZE + 5);
+        worldBlueprint.setInitialWallGenerationProbability(0);
+        worldBlueprint.setInitialFoodGenerationProbability(0);
+        worldBlueprint.setCreatureBlueprints(new ArrayList<CreatureBlueprint>());
+        Rand.getInstance().setRandomSeed(17);
+        ChunkedGridWorld world = new ChunkedGridWorld(worldBlueprint);
+        Tester.equal("Only the border chunks should be allocated", world.getAllocatedChunkCount(), 16);
+        CreatureBlueprint creatureBlueprint = CreatureBlueprint.makeDefault();
+        for (int i = 0; i < 50; i++)
+        {
+            // Placing an immigrant each tick keeps the free squares built while chunks are allocated around them
+            world.addImmigrant(new Creature(creatureBlueprint));
+            world.tick();
+        }
+        int emptySquareCount = countEmptySquares(world);
+        int creatureCount = world.getCreatureCount();
+        int immigrantCount = 0;
+        while (world.addImmigrant(new Creature(creatureBlueprint)))
+        {
+            immigrantCount++;
+        }
+        Tester.equal("Immigrants should fill exactly the empty squares", immigrantCount, emptySquareCount);
+        Tester.equal("Every immigrant should land on its own square", world.getCreatureCount(),
+                creatureCount + emptySquareCount);
+        Tester.equal("No empty squares should be left", countEmptySquares(world), 0);
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    private static int countEmptySquares(GridWorld world)
+    {
+        int emptySquareCount = 0;
+        for (int r = 0; r < world.getHeight(); r++)
+        {
+            for (int c = 0; c < world.getWidth(); c++)
+            {
+                emptySquareCount += world.squareIsEmpty(r, c) ? 1 : 0;
+            }
+        }
+        return emptySquareCount;
+    }
+}
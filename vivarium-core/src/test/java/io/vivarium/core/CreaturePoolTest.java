@@ -0,0 +1,82 @@
+package io.vivarium.core;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.test.FastTest;
+import io.vivarium.test.IntegrationTest;
+import io.vivarium.test.UnitTest;
+import io.vivarium.util.Rand;
+
+public class CreaturePoolTest
+{
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testOffspringMatchConstructedOffspring()
+    {
+        CreatureBlueprint creatureBlueprint = CreatureBlueprint.makeDefault();
+        Creature mother = new Creature(creatureBlueprint);
+        Creature father = new Creature(creatureBlueprint);
+        CreaturePool pool = new CreaturePool();
+        pool.retire(new Creature(mother, father));
+        Tester.equal("The creature should be retired", pool.getRetiredCount(creatureBlueprint), 1);
+
+        Rand.getInstance().setRandomSeed(9);
+        Creature constructedOffspring = new Creature(mother, father);
+        Rand.getInstance().setRandomSeed(9);
+        Creature pooledOffspring = pool.makeOffspring(mother, father);
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+
+        Tester.equal("The retired creature should be reused", pool.getRetiredCount(creatureBlueprint), 0);
+        Tester.equal("Offspring should match", pooledOffspring, constructedOffspring);
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testPooledWorldMatchesUnpooledWorld()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(40);
+
+        Rand.getInstance().setRandomSeed(11);
+        GridWorld unpooledWorld = new GridWorld(worldBlueprint);
+        runWorld(unpooledWorld);
+
+        Rand.getInstance().setRandomSeed(11);
+        GridWorld pooledWorld = new GridWorld(worldBlueprint);
+        CountingPool pool = new CountingPool();
+        pooledWorld.setCreaturePool(pool);
+        runWorld(pooledWorld);
+
+        Tester.greaterThan("Offspring should have been taken from the pool", pool._reusedCount, 0);
+        Tester.equal("Worlds should match", pooledWorld, unpooledWorld);
+    }
+
+    private static void runWorld(GridWorld world)
+    {
+        for (int i = 0; i < 1000; i++)
+        {
+            world.tick();
+        }
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    private static class CountingPool extends CreaturePool
+    {
+        private int _reusedCount;
+
+        @Override
+        public Creature makeOffspring(Creature parent1, Creature parent2)
+        {
+            if (getRetiredCount(parent1.getBlueprint()) > 0)
+            {
+                _reusedCount++;
+            }
+            return super.makeOffspring(parent1, parent2);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.vivarium.core;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.test.FastTest;
+import io.vivarium.test.UnitTest;
+
+public class CreatureTest
+{
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testBirthReleasesFetus()
+    {
+        CreatureBlueprint creatureBlueprint = CreatureBlueprint.makeDefault();
+        Creature mother = new Creature(creatureBlueprint);
+        mother.setIsFemale(true);
+        Creature father = new Creature(creatureBlueprint);
+        father.setIsFemale(false);
+
+        mother.executeAction(Action.BREED, father);
+        Tester.isNotNull("Breeding should conceive a fetus", mother.getFetus());
+        mother.executeAction(Action.BIRTH);
+        Tester.equal("Birth should end the gestation", mother.getGestation(), 0);
+        Tester.isTrue("Birth should release the fetus", mother.getFetus() == null);
+    }
+}
@@ -0,0 +1,67 @@
+package io.vivarium.core;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.test.FastTest;
+import io.vivarium.test.IntegrationTest;
+import io.vivarium.util.Rand;
+
+public class FlatGridWorldTest
+{
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testMatchesGridWorld()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(30);
+        worldBlueprint.setInitialFoodGenerationProbability(0.1);
+
+        Rand.getInstance().setRandomSeed(5);
+        GridWorld gridWorld = new GridWorld(worldBlueprint);
+        for (int i = 0; i < 200; i++)
+        {
+            gridWorld.tick();
+        }
+
+        Rand.getInstance().setRandomSeed(5);
+        FlatGridWorld flatWorld = new FlatGridWorld(worldBlueprint);
+        for (int i = 0; i < 200; i++)
+        {
+            flatWorld.tick();
+        }
+
+        GridWorldAssert.assertWorldsMatch(gridWorld, flatWorld);
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testCreatureTableStaysDense()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(20);
+        FlatGridWorld world = new FlatGridWorld(worldBlueprint);
+        int initialCount = world.getCreatureCount();
+        Tester.greaterThan("Initial population should be non-zero", initialCount, 0);
+
+        int removed = 0;
+        for (int r = 0; r < world.getHeight(); r += 2)
+        {
+            for (int c = 0; c < world.getWidth(); c++)
+            {
+                if (world.getCreature(r, c) != null)
+                {
+                    world.removeCreature(r, c);
+                    removed++;
+                }
+            }
+        }
+        Tester.equal("Creature count should track removals", world.getCreatureCount(), initialCount - removed);
+        Tester.equal("Creature count should match a full scan", world.getCreatures().size(), initialCount - removed);
+    }
+}
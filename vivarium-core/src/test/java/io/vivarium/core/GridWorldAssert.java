@@ -0,0 +1,62 @@
+package io.vivarium.core;
+
+import com.johnuckele.vtest.Tester;
+
+/**
+ * Checks shared by the tests of the GridWorld storage engines, each of which has to simulate exactly as GridWorld does.
+ */
+final class GridWorldAssert
+{
+    private GridWorldAssert()
+    {
+    }
+
+    /**
+     * Checks that two populated worlds hold the same creatures, items, and terrain in every square, with the creatures
+     * in the same state.
+     *
+     * @param expected
+     *            the world to compare against, typically a GridWorld
+     * @param actual
+     *            the world under test
+     */
+    static void assertWorldsMatch(GridWorld expected, GridWorld actual)
+    {
+        Tester.greaterThan("Worlds should still be populated", expected.getCreatureCount(), 0);
+        Tester.equal("Creature counts should match", actual.getCreatureCount(), expected.getCreatureCount());
+        Tester.equal("Item counts should match", actual.getItemCount(), expected.getItemCount());
+        Tester.equal("Terrain counts should match", actual.getTerrainCount(), expected.getTerrainCount());
+        for (int r = 0; r < expected.getHeight(); r++)
+        {
+            for (int c = 0; c < expected.getWidth(); c++)
+            {
+                String square = " at " + r + "," + c;
+                Tester.isTrue("Items should match" + square, actual.getItem(r, c) == expected.getItem(r, c));
+                Tester.isTrue("Terrain should match" + square, actual.getTerrain(r, c) == expected.getTerrain(r, c));
+                Creature expectedCreature = expected.getCreature(r, c);
+                Creature actualCreature = actual.getCreature(r, c);
+                if (expectedCreature == null)
+                {
+                    Tester.isTrue("Square should be empty" + square, actualCreature == null);
+                }
+                else
+                {
+                    Tester.equal("Creature IDs should match" + square, actualCreature.getID(),
+                            expectedCreature.getID());
+                    Tester.equal("Creature age should match" + square, actualCreature.getAge(),
+                            expectedCreature.getAge());
+                    Tester.equal("Creature food should match" + square, actualCreature.getFood(),
+                            expectedCreature.getFood());
+                    Tester.equal("Creature health should match" + square, actualCreature.getHealth(),
+                            expectedCreature.getHealth());
+                    Tester.equal("Creature gestation should match" + square, actualCreature.getGestation(),
+                            expectedCreature.getGestation());
+                    Tester.isTrue("Creature facing should match" + square,
+                            actualCreature.getFacing() == expectedCreature.getFacing());
+                    Tester.isTrue("Creature action should match" + square,
+                            actualCreature.getAction() == expectedCreature.getAction());
+                }
+            }
+        }
+    }
+}
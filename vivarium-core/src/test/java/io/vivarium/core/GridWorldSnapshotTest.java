@@ -0,0 +1,202 @@
+package io.vivarium.core;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.test.FastTest;
+import io.vivarium.test.IntegrationTest;
+import io.vivarium.test.UnitTest;
+import io.vivarium.util.ParallelExecutor;
+
+public class GridWorldSnapshotTest
+{
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testSnapshotMatchesWorld()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(30);
+        worldBlueprint.setInitialFoodGenerationProbability(0.1);
+        GridWorld world = new GridWorld(worldBlueprint);
+        Tester.isTrue("Snapshots are not published by default", world.acquireSnapshot() == null);
+
+        world.setSnapshotPublishing(true);
+        for (int i = 0; i < 20; i++)
+        {
+            world.tick();
+        }
+        GridWorldSnapshot snapshot = world.acquireSnapshot();
+        assertSnapshotMatches(world, snapshot);
+        snapshot.release();
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testHeldSnapshotIsNotOverwritten()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(30);
+        GridWorld world = new GridWorld(worldBlueprint);
+        world.setSnapshotPublishing(true);
+        world.tick();
+
+        GridWorldSnapshot heldSnapshot = world.acquireSnapshot();
+        for (int i = 0; i < 5; i++)
+        {
+            world.tick();
+        }
+        Tester.equal("The held snapshot should keep its tick", heldSnapshot.getTick(), 1);
+        GridWorldSnapshot currentSnapshot = world.acquireSnapshot();
+        Tester.isTrue("A new snapshot should have been published", currentSnapshot != heldSnapshot);
+        Tester.equal("The current snapshot should be of the last tick", currentSnapshot.getTick(), 6);
+        currentSnapshot.release();
+        heldSnapshot.release();
+
+        // Once released, the world is free to reuse the snapshots again
+        world.tick();
+        world.tick();
+        currentSnapshot = world.acquireSnapshot();
+        assertSnapshotMatches(world, currentSnapshot);
+        currentSnapshot.release();
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testReusedSnapshotsCatchUpOnChangedSquares()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(40);
+        worldBlueprint.setInitialFoodGenerationProbability(0.1);
+        worldBlueprint.setFoodGenerationProbability(0.01);
+        GridWorld world = new GridWorld(worldBlueprint);
+        // Creatures eating in action tiles remove food through the tiles' logged changes
+        world.setActionExecutor(new ParallelExecutor()
+        {
+            @Override
+            public void invokeAll(Runnable[] tasks, int[] seeds, int taskCount)
+            {
+                for (int i = 0; i < taskCount; i++)
+                {
+                    tasks[i].run();
+                }
+            }
+        });
+        world.setSnapshotPublishing(true);
+        for (int i = 0; i < 30; i++)
+        {
+            // Changes made between ticks have to reach both buffers too
+            world.setTerrain(i % 2 == 0 ? TerrainType.WALL : null, i, i);
+            world.setItem(i % 3 == 0 ? null : ItemType.FOOD, i, 39 - i);
+            world.tick();
+            GridWorldSnapshot snapshot = world.acquireSnapshot();
+            assertSnapshotMatches(world, snapshot);
+            snapshot.release();
+        }
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testConcurrentReadersSeeConsistentSnapshots() throws InterruptedException
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(40);
+        final GridWorld world = new GridWorld(worldBlueprint);
+        world.setSnapshotPublishing(true);
+
+        final boolean[] consistent = { true };
+        final int[] snapshotsRead = { 0 };
+        final boolean[] stop = { false };
+        Thread reader = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                int lastTick = -1;
+                while (!isStopped())
+                {
+                    GridWorldSnapshot snapshot = world.acquireSnapshot();
+                    int tick = snapshot.getTick();
+                    int occupiedSquares = 0;
+                    for (int r = 0; r < snapshot.getHeight(); r++)
+                    {
+                        for (int c = 0; c < snapshot.getWidth(); c++)
+                        {
+                            int i = snapshot.getCreatureIndex(r, c);
+                            if (i != -1)
+                            {
+                                occupiedSquares++;
+                                consistent[0] &= snapshot.getCreatureRow(i) == r && snapshot.getCreatureColumn(i) == c;
+                            }
+                        }
+                    }
+                    consistent[0] &= occupiedSquares == snapshot.getCreatureCount();
+                    consistent[0] &= snapshot.getTick() == tick && tick >= lastTick;
+                    lastTick = tick;
+                    snapshot.release();
+                    snapshotsRead[0]++;
+                }
+            }
+
+            private boolean isStopped()
+            {
+                synchronized (stop)
+                {
+                    return stop[0];
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 300; i++)
+        {
+            world.tick();
+        }
+        synchronized (stop)
+        {
+            stop[0] = true;
+        }
+        reader.join();
+
+        Tester.greaterThan("The reader should have read snapshots", snapshotsRead[0], 0);
+        Tester.isTrue("Every snapshot read should be consistent", consistent[0]);
+    }
+
+    private static void assertSnapshotMatches(GridWorld world, GridWorldSnapshot snapshot)
+    {
+        Tester.equal("Ticks should match", snapshot.getTick(), world.getTickCounter());
+        Tester.equal("Creature counts should match", snapshot.getCreatureCount(), world.getCreatureCount());
+        Tester.equal("Maximum creature IDs should match", snapshot.getMaximumCreatureID(),
+                world.getMaximimCreatureID());
+        for (int r = 0; r < world.getHeight(); r++)
+        {
+            for (int c = 0; c < world.getWidth(); c++)
+            {
+                Tester.isTrue("Items should match at " + r + "," + c, snapshot.getItem(r, c) == world.getItem(r, c));
+                Tester.isTrue("Terrain should match at " + r + "," + c,
+                        snapshot.getTerrain(r, c) == world.getTerrain(r, c));
+                Creature creature = world.getCreature(r, c);
+                int i = snapshot.getCreatureIndex(r, c);
+                if (creature == null)
+                {
+                    Tester.equal("Square should be empty at " + r + "," + c, i, -1);
+                }
+                else
+                {
+                    Tester.equal("Creature IDs should match at " + r + "," + c, snapshot.getCreatureID(i),
+                            creature.getID());
+                    Tester.equal("Creature food should match at " + r + "," + c, snapshot.getCreatureFood(i),
+                            creature.getFood());
+                    Tester.equal("Creature ages should match at " + r + "," + c, snapshot.getCreatureAge(i),
+                            creature.getAge());
+                    Tester.isTrue("Creature facings should match at " + r + "," + c,
+                            snapshot.getCreatureFacing(i) == creature.getFacing());
+                    Tester.isTrue("Creature actions should match at " + r + "," + c,
+                            snapshot.getCreatureAction(i) == creature.getAction());
+                    Tester.equal("Creature blueprints should match at " + r + "," + c,
+                            snapshot.getCreatureBlueprintIndex(i), 0);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,617 @@
+package io.vivarium.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.core.processor.ActivationFunction;
+import io.vivarium.core.processor.DecisionTreeBlueprint;
+import io.vivarium.core.processor.NeuralNetworkBlueprint;
+import io.vivarium.core.processor.ProcessorBlueprint;
+import io.vivarium.test.FastTest;
+import io.vivarium.test.IntegrationTest;
+import io.vivarium.test.SlowTest;
+import io.vivarium.test.UnitTest;
+import io.vivarium.util.ParallelExecutor;
+import io.vivarium.util.Rand;
+
+public class GridWorldTest
+{
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testCountsMatchGridScan()
+    {
+        CreatureBlueprint blueprint1 = CreatureBlueprint.makeDefault();
+        CreatureBlueprint blueprint2 = CreatureBlueprint.makeDefault(1, 0, 0);
+        ArrayList<CreatureBlueprint> creatureBlueprints = new ArrayList<>();
+        creatureBlueprints.add(blueprint1);
+        creatureBlueprints.add(blueprint2);
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(30);
+        worldBlueprint.setCreatureBlueprints(creatureBlueprints);
+        GridWorld world = new GridWorld(worldBlueprint);
+        world.setTerrain(TerrainType.FLAMETHROWER, 5, 5);
+        world.setTerrain(TerrainType.FOOD_GENERATOR, 20, 20);
+
+        for (int i = 0; i < 100; i++)
+        {
+            world.tick();
+            int creatureCount = 0;
+            int blueprint1Count = 0;
+            int blueprint2Count = 0;
+            int itemCount = 0;
+            int terrainCount = 0;
+            for (int r = 0; r < world.getHeight(); r++)
+            {
+                for (int c = 0; c < world.getWidth(); c++)
+                {
+                    Creature creature = world.getCreature(r, c);
+                    if (creature != null)
+                    {
+                        creatureCount++;
+                        blueprint1Count += creature.getBlueprint() == blueprint1 ? 1 : 0;
+                        blueprint2Count += creature.getBlueprint() == blueprint2 ? 1 : 0;
+                    }
+                    itemCount += world.getItem(r, c) != null ? 1 : 0;
+                    terrainCount += world.getTerrain(r, c) != null ? 1 : 0;
+                }
+            }
+            Tester.equal("Creature count should match a scan", world.getCreatureCount(), creatureCount);
+            Tester.equal("Species count should match a scan", world.getCount(blueprint1), blueprint1Count);
+            Tester.equal("Species count should match a scan", world.getCount(blueprint2), blueprint2Count);
+            Tester.equal("Item count should match a scan", world.getItemCount(), itemCount);
+            Tester.equal("Terrain count should match a scan", world.getTerrainCount(), terrainCount);
+        }
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testFoodSpawnMatchesPerSquareProbability()
+    {
+        int trials = 400;
+        double probability = 0.02;
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(52);
+        worldBlueprint.setFoodGenerationProbability(probability);
+        Rand.getInstance().setRandomSeed(17);
+        GridWorld world = new GridWorld(worldBlueprint);
+
+        int[] rowFood = new int[world.getHeight()];
+        int[] columnFood = new int[world.getWidth()];
+        int[] rowFoodable = new int[world.getHeight()];
+        int[] columnFoodable = new int[world.getWidth()];
+        int foodable = 0;
+        double totalFood = 0;
+        double totalFoodSquared = 0;
+        for (int trial = 0; trial < trials; trial++)
+        {
+            for (int r = 0; r < world.getHeight(); r++)
+            {
+                for (int c = 0; c < world.getWidth(); c++)
+                {
+                    world.removeFood(r, c);
+                    if (trial == 0 && world.squareIsFoodable(r, c))
+                    {
+                        rowFoodable[r]++;
+                        columnFoodable[c]++;
+                        foodable++;
+                    }
+                }
+            }
+            world.spawnFood();
+            int food = 0;
+            for (int r = 0; r < world.getHeight(); r++)
+            {
+                for (int c = 0; c < world.getWidth(); c++)
+                {
+                    if (world.getItem(r, c) != null)
+                    {
+                        Tester.isTrue("Food should only spawn on foodable squares", world.getTerrain(r, c) == null);
+                        rowFood[r]++;
+                        columnFood[c]++;
+                        food++;
+                    }
+                }
+            }
+            totalFood += food;
+            totalFoodSquared += (double) food * food;
+        }
+
+        // The food spawned per tick is binomial, check its mean and variance
+        double expectedMean = foodable * probability;
+        double expectedVariance = foodable * probability * (1 - probability);
+        double mean = totalFood / trials;
+        double variance = (totalFoodSquared - trials * mean * mean) / (trials - 1);
+        Tester.lessThan("Mean food should be within four standard errors", Math.abs(mean - expectedMean),
+                4 * Math.sqrt(expectedVariance / trials));
+        Tester.lessThan("Food variance should be within four standard errors",
+                Math.abs(variance / expectedVariance - 1), 4 * Math.sqrt(2.0 / (trials - 1)));
+
+        // Food should be spread evenly over the foodable squares, check by row and column with chi-squared tests.
+        // Both have 49 degrees of freedom, the critical value for a 0.001 significance level is 85.35.
+        Tester.lessThan("Food should be spread evenly over rows",
+                chiSquared(rowFood, rowFoodable, trials * probability), 85.35);
+        Tester.lessThan("Food should be spread evenly over columns",
+                chiSquared(columnFood, columnFoodable, trials * probability), 85.35);
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testEmittersFollowSetTerrain()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(20);
+        worldBlueprint.setCreatureBlueprints(new ArrayList<CreatureBlueprint>());
+        worldBlueprint.setFoodGenerationProbability(0);
+        GridWorld world = new GridWorld(worldBlueprint);
+        clearSquareAndNeighbours(world, 5, 5);
+        clearSquareAndNeighbours(world, 10, 10);
+        clearSquareAndNeighbours(world, 15, 15);
+        world.setTerrain(TerrainType.FOOD_GENERATOR, 5, 5);
+        world.setTerrain(TerrainType.FLAMETHROWER, 10, 10);
+        world.setTerrain(TerrainType.FOOD_GENERATOR, 15, 15);
+        // Replacing an emitter should remove it
+        world.setTerrain(TerrainType.WALL, 15, 15);
+
+        world.tick();
+
+        Tester.isTrue("Food generator should feed its neighbours",
+                world.getItem(4, 5) == ItemType.FOOD && world.getItem(6, 5) == ItemType.FOOD
+                        && world.getItem(5, 4) == ItemType.FOOD && world.getItem(5, 6) == ItemType.FOOD);
+        Tester.isTrue("Flamethrower should burn its neighbours",
+                world.getTerrain(9, 10) == TerrainType.FLAME && world.getTerrain(11, 10) == TerrainType.FLAME
+                        && world.getTerrain(10, 9) == TerrainType.FLAME
+                        && world.getTerrain(10, 11) == TerrainType.FLAME);
+        Tester.isTrue("Replaced emitter should not feed its neighbours",
+                world.getItem(14, 15) == null && world.getItem(16, 15) == null && world.getItem(15, 14) == null
+                        && world.getItem(15, 16) == null);
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testBucketedSoundMatchesAllPairs()
+    {
+        GridWorld bucketedWorld = runSoundWorld(6, false);
+        GridWorld allPairsWorld = runSoundWorld(6, true);
+        GridWorld unboundedWorld = runSoundWorld(0, false);
+
+        GridWorldAssert.assertWorldsMatch(allPairsWorld, bucketedWorld);
+        boolean cutoffChangedInputs = false;
+        for (int r = 0; r < bucketedWorld.getHeight(); r++)
+        {
+            for (int c = 0; c < bucketedWorld.getWidth(); c++)
+            {
+                Creature creature = bucketedWorld.getCreature(r, c);
+                if (creature != null)
+                {
+                    Creature allPairsCreature = allPairsWorld.getCreature(r, c);
+                    // Creature inputs include the sound heard on the last tick, and should match bit for bit
+                    Tester.isTrue("Inputs should match at " + r + "," + c,
+                            Arrays.equals(creature.getInputs(), allPairsCreature.getInputs()));
+                    Creature unboundedCreature = unboundedWorld.getCreature(r, c);
+                    if (unboundedCreature == null
+                            || !Arrays.equals(creature.getInputs(), unboundedCreature.getInputs()))
+                    {
+                        cutoffChangedInputs = true;
+                    }
+                }
+            }
+        }
+        Tester.isTrue("The cutoff should change what creatures hear", cutoffChangedInputs);
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testForEachCreatureVisitsInRowMajorOrder()
+    {
+        CreatureBlueprint blueprint1 = CreatureBlueprint.makeDefault();
+        CreatureBlueprint blueprint2 = CreatureBlueprint.makeDefault(1, 0, 0);
+        ArrayList<CreatureBlueprint> creatureBlueprints = new ArrayList<>();
+        creatureBlueprints.add(blueprint1);
+        creatureBlueprints.add(blueprint2);
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(30);
+        worldBlueprint.setCreatureBlueprints(creatureBlueprints);
+        final GridWorld world = new GridWorld(worldBlueprint);
+
+        for (int i = 0; i < 50; i++)
+        {
+            world.tick();
+            final ArrayList<Creature> scannedCreatures = new ArrayList<>();
+            for (int r = 0; r < world.getHeight(); r++)
+            {
+                for (int c = 0; c < world.getWidth(); c++)
+                {
+                    if (world.getCreature(r, c) != null && world.getCreature(r, c).getBlueprint() == blueprint2)
+                    {
+                        scannedCreatures.add(world.getCreature(r, c));
+                    }
+                }
+            }
+            final ArrayList<Creature> visitedCreatures = new ArrayList<>();
+            world.forEachCreature(blueprint2, new CreatureVisitor()
+            {
+                @Override
+                public void visit(Creature creature)
+                {
+                    visitedCreatures.add(creature);
+                }
+            });
+            Tester.equal("Creatures should be visited in row-major order", visitedCreatures, scannedCreatures);
+
+            final int[] visitedCount = { 0 };
+            world.forEachCreature(new CreatureVisitor()
+            {
+                @Override
+                public void visit(Creature creature)
+                {
+                    visitedCount[0]++;
+                }
+            });
+            Tester.equal("Every creature should be visited", visitedCount[0], world.getCreatureCount());
+        }
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testSortedCreaturesAreCachedUntilPopulationChanges()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(30);
+        GridWorld world = new GridWorld(worldBlueprint);
+        world.tick();
+
+        List<Creature> sortedCreatures = world.getSortedCreatures();
+        Tester.isTrue("The sorted creatures should be cached", world.getSortedCreatures() == sortedCreatures);
+        Tester.equal("The sorted creatures should match getCreatures", world.getCreatures(), sortedCreatures);
+        for (int i = 1; i < sortedCreatures.size(); i++)
+        {
+            Creature previous = sortedCreatures.get(i - 1);
+            Creature creature = sortedCreatures.get(i);
+            Tester.isTrue("Creatures should be sorted by generation and ID",
+                    previous.getGeneration() < creature.getGeneration()
+                            || previous.getGeneration() == creature.getGeneration()
+                                    && previous.getID() < creature.getID());
+        }
+
+        Creature removedCreature = sortedCreatures.get(0);
+        for (int r = 0; r < world.getHeight(); r++)
+        {
+            for (int c = 0; c < world.getWidth(); c++)
+            {
+                if (world.getCreature(r, c) == removedCreature)
+                {
+                    world.removeCreature(r, c);
+                }
+            }
+        }
+        Tester.isFalse("A removed creature should not be listed", world.getSortedCreatures().contains(removedCreature));
+        Tester.equal("The new list should be one shorter", world.getSortedCreatures().size(),
+                sortedCreatures.size() - 1);
+        Tester.isTrue("The old list should be unchanged", sortedCreatures.get(0) == removedCreature);
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testImmigrantsFillEmptySquaresUntilFull()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(12);
+        GridWorld world = new GridWorld(worldBlueprint);
+        CreatureBlueprint creatureBlueprint = worldBlueprint.getCreatureBlueprints().get(0);
+        int emptySquareCount = 0;
+        for (int r = 0; r < world.getHeight(); r++)
+        {
+            for (int c = 0; c < world.getWidth(); c++)
+            {
+                emptySquareCount += world.squareIsEmpty(r, c) ? 1 : 0;
+            }
+        }
+        Tester.greaterThan("The world should have empty squares", emptySquareCount, 0);
+
+        int creatureCount = world.getCreatureCount();
+        for (int i = 0; i < emptySquareCount; i++)
+        {
+            Tester.isTrue("Immigrants should be placed while there is room",
+                    world.addImmigrant(new Creature(creatureBlueprint)));
+        }
+        Tester.equal("Every empty square should be filled", world.getCreatureCount(),
+                creatureCount + emptySquareCount);
+        Tester.isFalse("A full world should turn immigrants away", world.addImmigrant(new Creature(creatureBlueprint)));
+
+        // Freeing a square makes room for exactly one more immigrant
+        for (int r = 0; r < world.getHeight(); r++)
+        {
+            for (int c = 0; c < world.getWidth(); c++)
+            {
+                if (world.getCreature(r, c) != null && world.getItem(r, c) == null && world.getTerrain(r, c) == null
+                        && world.getCreatureCount() == creatureCount + emptySquareCount)
+                {
+                    world.removeCreature(r, c);
+                }
+            }
+        }
+        Tester.isTrue("A freed square should take an immigrant", world.addImmigrant(new Creature(creatureBlueprint)));
+        Tester.isFalse("The world should be full again", world.addImmigrant(new Creature(creatureBlueprint)));
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testFreeSquaresStayCurrentAcrossTicks()
+    {
+        checkFreeSquaresAcrossTicks(null);
+        // Acting in tiles defers the index changes, including eaten food, until the tiles are done
+        checkFreeSquaresAcrossTicks(new ParallelExecutor()
+        {
+            @Override
+            public void invokeAll(Runnable[] tasks, int[] seeds, int taskCount)
+            {
+                for (int i = 0; i < taskCount; i++)
+                {
+                    tasks[i].run();
+                }
+            }
+        });
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testFusedTickMatchesPhasedTick()
+    {
+        GridWorld phasedWorld = runFusedTickWorld(false);
+        GridWorld fusedWorld = runFusedTickWorld(true);
+
+        GridWorldAssert.assertWorldsMatch(phasedWorld, fusedWorld);
+        for (int r = 0; r < phasedWorld.getHeight(); r++)
+        {
+            for (int c = 0; c < phasedWorld.getWidth(); c++)
+            {
+                Creature creature = phasedWorld.getCreature(r, c);
+                if (creature != null)
+                {
+                    Tester.isTrue("Inputs should match at " + r + "," + c,
+                            Arrays.equals(creature.getInputs(), fusedWorld.getCreature(r, c).getInputs()));
+                }
+            }
+        }
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testBatchedPlanningMatchesSequentialPlanning()
+    {
+        GridWorld sequentialWorld = runBatchedPlanningWorld(false);
+        GridWorld batchedWorld = runBatchedPlanningWorld(true);
+
+        GridWorldAssert.assertWorldsMatch(sequentialWorld, batchedWorld);
+        for (int r = 0; r < sequentialWorld.getHeight(); r++)
+        {
+            for (int c = 0; c < sequentialWorld.getWidth(); c++)
+            {
+                Creature creature = sequentialWorld.getCreature(r, c);
+                if (creature != null)
+                {
+                    Creature batchedCreature = batchedWorld.getCreature(r, c);
+                    Tester.isTrue("Memories should match at " + r + "," + c,
+                            Arrays.equals(creature.getMemoryUnits(), batchedCreature.getMemoryUnits()));
+                    Tester.isTrue("Outputs should match at " + r + "," + c, Arrays.equals(
+                            creature.getProcessors()[0].outputs(), batchedCreature.getProcessors()[0].outputs()));
+                }
+            }
+        }
+    }
+
+    @Test
+    @Category({ SlowTest.class, IntegrationTest.class })
+    public void testApproximateActivationsKeepPopulationDynamics()
+    {
+        int seeds = 10;
+        double[] exactPopulations = runActivationWorlds(ActivationFunction.EXACT, seeds);
+        for (ActivationFunction activationFunction : new ActivationFunction[] { ActivationFunction.RATIONAL,
+                ActivationFunction.LOOKUP_TABLE })
+        {
+            // Compare the mean final populations over the seeds with a two sample test
+            double[] populations = runActivationWorlds(activationFunction, seeds);
+            double standardError = Math.sqrt((variance(exactPopulations) + variance(populations)) / seeds);
+            Tester.lessThan(activationFunction + " mean population should be within four standard errors",
+                    Math.abs(mean(populations) - mean(exactPopulations)), 4 * standardError);
+        }
+    }
+
+    private static double[] runActivationWorlds(ActivationFunction activationFunction, int seeds)
+    {
+        // Memories, sounds, and signs feed output values back into the creatures, not just the choice of action
+        CreatureBlueprint creatureBlueprint = CreatureBlueprint.makeDefault(1, 2, 2);
+        ((NeuralNetworkBlueprint) creatureBlueprint.getProcessorBlueprints()[0])
+                .setActivationFunction(activationFunction);
+        ArrayList<CreatureBlueprint> creatureBlueprints = new ArrayList<>();
+        creatureBlueprints.add(creatureBlueprint);
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(30);
+        worldBlueprint.setSoundEnabled(true);
+        worldBlueprint.setSignEnabled(true);
+        worldBlueprint.setCreatureBlueprints(creatureBlueprints);
+        double[] populations = new double[seeds];
+        for (int seed = 0; seed < seeds; seed++)
+        {
+            Rand.getInstance().setRandomSeed(100 + seed);
+            GridWorld world = new GridWorld(worldBlueprint);
+            for (int i = 0; i < 2000; i++)
+            {
+                world.tick();
+            }
+            populations[seed] = world.getCreatureCount();
+        }
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+        return populations;
+    }
+
+    private static double mean(double[] values)
+    {
+        double total = 0;
+        for (double value : values)
+        {
+            total += value;
+        }
+        return total / values.length;
+    }
+
+    private static double variance(double[] values)
+    {
+        double mean = mean(values);
+        double total = 0;
+        for (double value : values)
+        {
+            total += (value - mean) * (value - mean);
+        }
+        return total / (values.length - 1);
+    }
+
+    private static void checkFreeSquaresAcrossTicks(ParallelExecutor actionExecutor)
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(20);
+        Rand.getInstance().setRandomSeed(41);
+        GridWorld world = new GridWorld(worldBlueprint);
+        world.setActionExecutor(actionExecutor);
+        CreatureBlueprint creatureBlueprint = worldBlueprint.getCreatureBlueprints().get(0);
+        for (int i = 0; i < 50; i++)
+        {
+            // Placing an immigrant each tick keeps the free squares built while the world changes around them
+            world.addImmigrant(new Creature(creatureBlueprint));
+            world.tick();
+        }
+        int emptySquareCount = countEmptySquares(world);
+        int creatureCount = world.getCreatureCount();
+        int immigrantCount = 0;
+        while (world.addImmigrant(new Creature(creatureBlueprint)))
+        {
+            immigrantCount++;
+        }
+        Tester.equal("Immigrants should fill exactly the empty squares", immigrantCount, emptySquareCount);
+        Tester.equal("Every immigrant should land on its own square", world.getCreatureCount(),
+                creatureCount + emptySquareCount);
+        Tester.equal("No empty squares should be left", countEmptySquares(world), 0);
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    private static int countEmptySquares(GridWorld world)
+    {
+        int emptySquareCount = 0;
+        for (int r = 0; r < world.getHeight(); r++)
+        {
+            for (int c = 0; c < world.getWidth(); c++)
+            {
+                emptySquareCount += world.squareIsEmpty(r, c) ? 1 : 0;
+            }
+        }
+        return emptySquareCount;
+    }
+
+    private static GridWorld runBatchedPlanningWorld(boolean batchedPlanning)
+    {
+        // One species which can be batched and one which can not, to check that the random streams stay in step
+        ArrayList<CreatureBlueprint> creatureBlueprints = new ArrayList<>();
+        creatureBlueprints.add(CreatureBlueprint.makeDefault(1, 2, 2));
+        CreatureBlueprint treeBlueprint = CreatureBlueprint.makeDefault(0, 0, 0);
+        treeBlueprint.setProcessorBlueprints(new ProcessorBlueprint[] { DecisionTreeBlueprint
+                .makeDefault(treeBlueprint.getMultiplexerInputCount(), treeBlueprint.getMultiplexerOutputCount()) });
+        creatureBlueprints.add(treeBlueprint);
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(40);
+        worldBlueprint.setSoundEnabled(true);
+        worldBlueprint.setSignEnabled(true);
+        worldBlueprint.setCreatureBlueprints(creatureBlueprints);
+        Rand.getInstance().setRandomSeed(31);
+        GridWorld world = new GridWorld(worldBlueprint);
+        world.setBatchedPlanning(batchedPlanning);
+        for (int i = 0; i < 200; i++)
+        {
+            world.tick();
+        }
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+        return world;
+    }
+
+    private static GridWorld runFusedTickWorld(boolean fusedTick)
+    {
+        ArrayList<CreatureBlueprint> creatureBlueprints = new ArrayList<>();
+        creatureBlueprints.add(CreatureBlueprint.makeDefault(1, 2, 2));
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(40);
+        worldBlueprint.setSoundEnabled(true);
+        worldBlueprint.setSignEnabled(true);
+        worldBlueprint.setCreatureBlueprints(creatureBlueprints);
+        Rand.getInstance().setRandomSeed(29);
+        GridWorld world = new GridWorld(worldBlueprint);
+        world.setTerrain(TerrainType.FLAMETHROWER, 20, 20);
+        world.setFusedTick(fusedTick);
+        for (int i = 0; i < 200; i++)
+        {
+            world.tick();
+        }
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+        return world;
+    }
+
+    private static GridWorld runSoundWorld(int soundCutoffRadius, boolean allPairsSound)
+    {
+        ArrayList<CreatureBlueprint> creatureBlueprints = new ArrayList<>();
+        creatureBlueprints.add(CreatureBlueprint.makeDefault(0, 2, 0));
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(60);
+        worldBlueprint.setSoundEnabled(true);
+        worldBlueprint.setSoundCutoffRadius(soundCutoffRadius);
+        worldBlueprint.setCreatureBlueprints(creatureBlueprints);
+        Rand.getInstance().setRandomSeed(23);
+        GridWorld world = new GridWorld(worldBlueprint);
+        world.setAllPairsSound(allPairsSound);
+        for (int i = 0; i < 50; i++)
+        {
+            world.tick();
+        }
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+        return world;
+    }
+
+    private static void clearSquareAndNeighbours(GridWorld world, int r, int c)
+    {
+        for (int i = r - 1; i <= r + 1; i++)
+        {
+            for (int j = c - 1; j <= c + 1; j++)
+            {
+                world.removeCreature(i, j);
+                world.removeFood(i, j);
+                world.setTerrain(null, i, j);
+            }
+        }
+    }
+
+    private static double chiSquared(int[] observed, int[] foodable, double expectedPerSquare)
+    {
+        double chiSquared = 0;
+        for (int i = 0; i < observed.length; i++)
+        {
+            if (foodable[i] > 0)
+            {
+                double expected = foodable[i] * expectedPerSquare;
+                chiSquared += (observed[i] - expected) * (observed[i] - expected) / expected;
+            }
+        }
+        return chiSquared;
+    }
+}
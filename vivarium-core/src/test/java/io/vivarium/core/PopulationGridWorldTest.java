@@ -0,0 +1,117 @@
+package io.vivarium.core;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.test.FastTest;
+import io.vivarium.test.IntegrationTest;
+import io.vivarium.util.Rand;
+
+public class PopulationGridWorldTest
+{
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testMatchesGridWorld()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(30);
+        worldBlueprint.setInitialFoodGenerationProbability(0.1);
+
+        Rand.getInstance().setRandomSeed(5);
+        GridWorld gridWorld = new GridWorld(worldBlueprint);
+        for (int i = 0; i < 200; i++)
+        {
+            gridWorld.tick();
+        }
+
+        Rand.getInstance().setRandomSeed(5);
+        PopulationGridWorld populationWorld = new PopulationGridWorld(worldBlueprint);
+        for (int i = 0; i < 200; i++)
+        {
+            populationWorld.tick();
+        }
+
+        GridWorldAssert.assertWorldsMatch(gridWorld, populationWorld);
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testRemovedCreatureKeepsItsState()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(20);
+        PopulationGridWorld world = new PopulationGridWorld(worldBlueprint);
+        for (int i = 0; i < 20; i++)
+        {
+            world.tick();
+        }
+
+        int checked = 0;
+        for (int r = 0; r < world.getHeight(); r += 2)
+        {
+            for (int c = 0; c < world.getWidth(); c++)
+            {
+                Creature creature = world.getCreature(r, c);
+                if (creature != null)
+                {
+                    int age = creature.getAge();
+                    int food = creature.getFood();
+                    int health = creature.getHealth();
+                    Direction facing = creature.getFacing();
+                    world.removeCreature(r, c);
+                    Tester.equal("Age should survive removal", creature.getAge(), age);
+                    Tester.equal("Food should survive removal", creature.getFood(), food);
+                    Tester.equal("Health should survive removal", creature.getHealth(), health);
+                    Tester.isTrue("Facing should survive removal", creature.getFacing() == facing);
+                    checked++;
+                }
+            }
+        }
+        Tester.greaterThan("Some creatures should have been removed", checked, 0);
+
+        // The remaining creatures keep ticking from their own slots after the population is compacted
+        for (int i = 0; i < 20; i++)
+        {
+            world.tick();
+        }
+        Tester.equal("Creature count should match a full scan", world.getCreatures().size(),
+                world.getCreatureCount());
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testEqualityReadsPopulationState()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(20);
+
+        Rand.getInstance().setRandomSeed(6);
+        PopulationGridWorld world = new PopulationGridWorld(worldBlueprint);
+        Rand.getInstance().setRandomSeed(6);
+        PopulationGridWorld copy = new PopulationGridWorld(worldBlueprint);
+        for (int i = 0; i < 20; i++)
+        {
+            Rand.getInstance().setRandomSeed(i + 1);
+            world.tick();
+            Rand.getInstance().setRandomSeed(i + 1);
+            copy.tick();
+        }
+        Tester.isTrue("Identically simulated worlds should be equal", world.equals(copy));
+        Tester.equal("Identically simulated worlds should hash equally", world.hashCode(), copy.hashCode());
+
+        // Only the population holds the changed age until the world is compared
+        Creature creature = world.getCreatures().get(0);
+        creature.setAge(creature.getAge() + 500);
+        Tester.isFalse("A changed creature should make the worlds differ", world.equals(copy));
+        Tester.isFalse("A changed creature should make the worlds differ", copy.equals(world));
+        Tester.isTrue("The world should print the changed age", world.toString().contains("_age=" + creature.getAge()));
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+}
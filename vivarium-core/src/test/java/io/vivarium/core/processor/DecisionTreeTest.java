@@ -9,6 +9,7 @@ import com.johnuckele.vtest.Tester;
 
 import io.vivarium.test.FastTest;
 import io.vivarium.test.IntegrationTest;
+import io.vivarium.test.UnitTest;
 import io.vivarium.util.Rand;
 
 public class DecisionTreeTest
@@ -41,4 +42,78 @@ public class DecisionTreeTest
         }
         Tester.equal("Sum of outputs should be equal to 1", outputSum, 1, 0.0001);
     }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testDecideMatchesTreeWalk()
+    {
+        Rand.getInstance().setRandomSeed(5);
+        DecisionTree tree = new DecisionTree(6, 4, 5);
+        double[] inputs = new double[4];
+        for (int i = 0; i < 1000; i++)
+        {
+            for (int j = 0; j < inputs.length; j++)
+            {
+                inputs[j] = Rand.getInstance().getRandomPositiveDouble();
+            }
+            int expected = walkTree(tree, inputs);
+            Tester.equal("Decision should be the leaf reached by walking the tree", tree.decide(inputs), expected);
+            double[] outputs = tree.outputs(inputs);
+            for (int j = 0; j < outputs.length; j++)
+            {
+                Tester.equal("Only the decided output should be set", outputs[j], j == expected ? 1 : 0, 0.0);
+            }
+        }
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testBatchMatchesSeparateEvaluation()
+    {
+        Rand.getInstance().setRandomSeed(6);
+        int treeCount = 100;
+        DecisionTree[] trees = new DecisionTree[treeCount];
+        double[][] inputs = new double[treeCount][3];
+        for (int i = 0; i < treeCount; i++)
+        {
+            trees[i] = new DecisionTree(5, 3, 4);
+            for (int j = 0; j < 3; j++)
+            {
+                inputs[i][j] = Rand.getInstance().getRandomPositiveDouble();
+            }
+        }
+        DecisionTreeBatch batch = new DecisionTreeBatch(3);
+        for (int i = 0; i < treeCount; i++)
+        {
+            batch.add(trees[i], inputs[i]);
+        }
+        Tester.equal("Batch should hold every tree", batch.getSize(), treeCount);
+        batch.evaluate();
+        Tester.equal("Evaluating should empty the batch", batch.getSize(), 0);
+        for (int i = 0; i < treeCount; i++)
+        {
+            double[] batchedOutputs = trees[i].outputs().clone();
+            double[] separateOutputs = trees[i].outputs(inputs[i]);
+            Tester.isTrue("Batched outputs should match evaluating the tree on its own",
+                    Arrays.equals(batchedOutputs, separateOutputs));
+        }
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    private static int walkTree(DecisionTree tree, double[] inputs)
+    {
+        double[] thresholds = tree.getThresholds();
+        int[] indices = tree.getIndices();
+        int node = 0;
+        while (indices[node] >= 0)
+        {
+            node = inputs[indices[node]] < thresholds[node] ? 2 * node + 1 : 2 * node + 2;
+        }
+        return indices[node] + Integer.MIN_VALUE;
+    }
 }
@@ -0,0 +1,67 @@
+package io.vivarium.core.processor;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.test.FastTest;
+import io.vivarium.test.UnitTest;
+import io.vivarium.util.Rand;
+
+public class MultiplexerTest
+{
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testLoneProcessorIsEvaluatedOnce()
+    {
+        NeuralNetworkBlueprint blueprint = NeuralNetworkBlueprint.makeDefault(4, 3);
+        Multiplexer multiplexer = Multiplexer.makeWithSequentialProcessors(4, 3,
+                new ProcessorBlueprint[] { blueprint });
+        Processor[] processors = new Processor[] { blueprint.makeProcessor() };
+        double[] inputs = new double[] { 0.1, -0.4, 0.7, 1 };
+
+        Rand.getInstance().setRandomSeed(8);
+        double[] expected = processors[0].outputs(inputs).clone();
+        long expectedNext = Rand.getInstance().getRandomLong();
+
+        Rand.getInstance().setRandomSeed(8);
+        double[] outputs = multiplexer.outputs(inputs, processors);
+        for (int i = 0; i < expected.length; i++)
+        {
+            Tester.equal("Multiplexer output " + i + " should match the network", outputs[i], expected[i], 0.0);
+        }
+        Tester.equal("Multiplexer should draw one evaluation's random numbers", Rand.getInstance().getRandomLong(),
+                expectedNext);
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testSequentialProcessorsChainOutputs()
+    {
+        NeuralNetworkBlueprint first = NeuralNetworkBlueprint.makeDefault(4, 6);
+        NeuralNetworkBlueprint second = NeuralNetworkBlueprint.makeDefault(6, 2);
+        Multiplexer multiplexer = Multiplexer.makeWithSequentialProcessors(4, 2,
+                new ProcessorBlueprint[] { first, second });
+        Processor[] processors = new Processor[] { first.makeProcessor(), second.makeProcessor() };
+        double[] inputs = new double[] { 0.3, 0.2, -0.9, 0.5 };
+
+        Rand.getInstance().setRandomSeed(9);
+        double[] expected = processors[1].outputs(processors[0].outputs(inputs)).clone();
+
+        Rand.getInstance().setRandomSeed(9);
+        double[] outputs = multiplexer.outputs(inputs, processors, multiplexer.makeInputBuffers(), new double[2][]);
+        Tester.equal("Multiplexer should output the last processor's outputs", outputs.length, 2);
+        for (int i = 0; i < expected.length; i++)
+        {
+            Tester.equal("Multiplexer output " + i + " should match chaining the networks", outputs[i], expected[i],
+                    0.0);
+        }
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+}
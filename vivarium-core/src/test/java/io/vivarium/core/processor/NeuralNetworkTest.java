@@ -8,6 +8,7 @@ import com.johnuckele.vtest.Tester;
 import io.vivarium.test.FastTest;
 import io.vivarium.test.UnitTest;
 import io.vivarium.util.Functions;
+import io.vivarium.util.Rand;
 
 public class NeuralNetworkTest
 {
@@ -25,6 +26,86 @@ public class NeuralNetworkTest
         Tester.equal("Normalized network should match the new target length", nn.getGenomeLength(), length, 0.01);
     }
 
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testReducedPrecisionTracksDoublePrecision()
+    {
+        NeuralNetwork doubleNetwork = makeSeededNetwork(WeightPrecision.DOUBLE);
+        NeuralNetwork floatNetwork = makeSeededNetwork(WeightPrecision.FLOAT);
+        NeuralNetwork byteNetwork = makeSeededNetwork(WeightPrecision.INT8);
+        Tester.isTrue("Float network should report its precision",
+                floatNetwork.getWeightPrecision() == WeightPrecision.FLOAT);
+        Tester.isTrue("Byte network should report its precision",
+                byteNetwork.getWeightPrecision() == WeightPrecision.INT8);
+        for (int i = 0; i < doubleNetwork.getOutputCount(); i++)
+        {
+            double largestWeight = 0;
+            for (int j = 0; j < doubleNetwork.getInputCount() + 2; j++)
+            {
+                largestWeight = Math.max(largestWeight, Math.abs(doubleNetwork.getWeight(i, j)));
+            }
+            for (int j = 0; j < doubleNetwork.getInputCount() + 2; j++)
+            {
+                Tester.equal("Float weights should round the double weights", floatNetwork.getWeight(i, j),
+                        doubleNetwork.getWeight(i, j), 1e-6);
+                Tester.equal("Byte weights should be within half a step of the double weights",
+                        byteNetwork.getWeight(i, j), doubleNetwork.getWeight(i, j), largestWeight / 254 + 1e-9);
+            }
+        }
+
+        double[] inputs = { 1.0, 0.5, 0.0, -0.5, -1.0 };
+        double[] doubleOutputs = runSeeded(doubleNetwork, inputs);
+        double[] floatOutputs = runSeeded(floatNetwork, inputs);
+        double[] byteOutputs = runSeeded(byteNetwork, inputs);
+        for (int i = 0; i < doubleOutputs.length; i++)
+        {
+            Tester.equal("Float outputs should track double outputs", floatOutputs[i], doubleOutputs[i], 1e-6);
+            Tester.equal("Byte outputs should track double outputs", byteOutputs[i], doubleOutputs[i], 0.01);
+        }
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testReducedPrecisionInheritance()
+    {
+        NeuralNetworkBlueprint blueprint = NeuralNetworkBlueprint.makeDefault(5, 3);
+        blueprint.setWeightPrecision(WeightPrecision.INT8);
+        blueprint.setNormalizeAfterMutation(2);
+        NeuralNetwork parent1 = NeuralNetwork.makeWithProcessorBlueprint(blueprint);
+        NeuralNetwork parent2 = NeuralNetwork.makeWithProcessorBlueprint(blueprint);
+        NeuralNetwork child = blueprint.makeProcessorWithParents(parent1, parent2);
+        Tester.isTrue("Offspring should take the blueprint's precision",
+                child.getWeightPrecision() == WeightPrecision.INT8);
+        Tester.equal("Offspring should be normalized before rounding", child.getGenomeLength(), 2, 0.05);
+        child.normalizeWeights(1);
+        Tester.equal("Normalization should work on byte weights", child.getGenomeLength(), 1, 0.05);
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testApproximateActivationFunctions()
+    {
+        double[] inputs = { 1.0, 0.5, 0.0, -0.5, -1.0 };
+        // Long weight vectors push some nodes out past the ranges the approximations cover
+        double[] exactOutputs = runSeeded(makeSeededNetwork(ActivationFunction.EXACT), inputs);
+        double[] rationalOutputs = runSeeded(makeSeededNetwork(ActivationFunction.RATIONAL), inputs);
+        double[] tableOutputs = runSeeded(makeSeededNetwork(ActivationFunction.LOOKUP_TABLE), inputs);
+        for (int i = 0; i < exactOutputs.length; i++)
+        {
+            Tester.equal("Rational outputs should track exact outputs", rationalOutputs[i], exactOutputs[i], 7.4e-6);
+            Tester.equal("Table outputs should track exact outputs", tableOutputs[i], exactOutputs[i], 3e-6);
+        }
+
+        NeuralNetworkBlueprint blueprint = NeuralNetworkBlueprint.makeDefault(5, 3);
+        blueprint.setActivationFunction(ActivationFunction.LOOKUP_TABLE);
+        NeuralNetwork parent1 = NeuralNetwork.makeWithProcessorBlueprint(blueprint);
+        NeuralNetwork parent2 = NeuralNetwork.makeWithProcessorBlueprint(blueprint);
+        Tester.isTrue("Networks should take the blueprint's activation function",
+                parent1.getActivationFunction() == ActivationFunction.LOOKUP_TABLE);
+        Tester.isTrue("Offspring should take the blueprint's activation function", blueprint
+                .makeProcessorWithParents(parent1, parent2).getActivationFunction() == ActivationFunction.LOOKUP_TABLE);
+    }
+
     @Test
     @Category({ FastTest.class, UnitTest.class })
     public void testComputeLayerInPlaceConstantBias()
@@ -52,6 +133,57 @@ public class NeuralNetworkTest
         Tester.equal("3 inputs, 4th output", actualOutputs[3], expectedOutputs[3], 0.0);
     }
 
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testHiddenLayerOutputs()
+    {
+        // With every weight at 1, each node is the sigmoid of 1, its stochastic bias, and the sum of the layer before
+        NeuralNetwork nn = new NeuralNetwork(2, 3, 1, 0, 0, WeightPrecision.DOUBLE, ActivationFunction.EXACT);
+        Tester.equal("Hidden layer count should be kept", nn.getHiddenLayerCount(), 1);
+        Tester.equal("Hidden layers should be as wide as the inputs", nn.getFlatWeights().length, (2 + 3) * (2 + 2));
+        double[] inputs = { 0.25, -0.5 };
+        Rand.getInstance().setRandomSeed(19);
+        double[] hidden = new double[2];
+        for (int i = 0; i < hidden.length; i++)
+        {
+            hidden[i] = Functions.sigmoid(1 + Rand.getInstance().getRandomDouble() + inputs[0] + inputs[1]);
+        }
+        double[] expectedOutputs = new double[3];
+        for (int i = 0; i < expectedOutputs.length; i++)
+        {
+            expectedOutputs[i] = Functions.sigmoid(1 + Rand.getInstance().getRandomDouble() + hidden[0] + hidden[1]);
+        }
+        double[] actualOutputs = runSeeded(nn, inputs, 19);
+        for (int i = 0; i < expectedOutputs.length; i++)
+        {
+            Tester.equal("Outputs should be computed from the hidden layer", actualOutputs[i], expectedOutputs[i], 0.0);
+        }
+        Tester.isTrue("Evaluating should reuse the output buffer", nn.outputs(inputs) == nn.outputs(inputs));
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testHiddenLayerInheritance()
+    {
+        NeuralNetworkBlueprint blueprint = NeuralNetworkBlueprint.makeDefault(5, 3);
+        blueprint.setHiddenLayerCount(2);
+        blueprint.setNormalizeAfterMutation(2);
+        NeuralNetwork parent1 = NeuralNetwork.makeWithProcessorBlueprint(blueprint);
+        NeuralNetwork parent2 = NeuralNetwork.makeWithProcessorBlueprint(blueprint);
+        Tester.equal("Networks should take the blueprint's hidden layers", parent1.getHiddenLayerCount(), 2);
+        NeuralNetwork child = blueprint.makeProcessorWithParents(parent1, parent2);
+        Tester.equal("Offspring should keep the parents' hidden layers", child.getHiddenLayerCount(), 2);
+        Tester.equal("Offspring should inherit every layer's weights", child.getFlatWeights().length,
+                parent1.getFlatWeights().length);
+        Tester.equal("Offspring should be normalized over every layer", child.getGenomeLength(), 2, 1e-9);
+
+        Tester.isTrue("A retired network of the same layers should be recycled",
+                blueprint.recycleProcessorWithParents(child, parent1, parent2) == child);
+        NeuralNetwork shallow = new NeuralNetwork(5, 3, 1, 0);
+        Tester.isTrue("A retired network of other layers should not be recycled",
+                blueprint.recycleProcessorWithParents(shallow, parent1, parent2) != shallow);
+    }
+
     @Test
     @Category({ FastTest.class, UnitTest.class })
     public void testComputeLayerInPlaceWithRandomBias()
@@ -88,4 +220,33 @@ public class NeuralNetworkTest
         Tester.lessOrEqual("4th output maximum value", actualOutputs[3], maximumExpectedOutputs[3]);
         Tester.greaterOrEqual("4th output minimum", actualOutputs[3], minimumExpectedOutputs[3]);
     }
+
+    private static NeuralNetwork makeSeededNetwork(ActivationFunction activationFunction)
+    {
+        Rand.getInstance().setRandomSeed(17);
+        NeuralNetwork network = new NeuralNetwork(5, 8, 1, 40, WeightPrecision.DOUBLE, activationFunction);
+        Rand.getInstance().setRandomSeed();
+        return network;
+    }
+
+    private static NeuralNetwork makeSeededNetwork(WeightPrecision precision)
+    {
+        Rand.getInstance().setRandomSeed(11);
+        NeuralNetwork network = new NeuralNetwork(5, 4, 1, 3, precision);
+        Rand.getInstance().setRandomSeed();
+        return network;
+    }
+
+    private static double[] runSeeded(NeuralNetwork network, double[] inputs)
+    {
+        return runSeeded(network, inputs, 13);
+    }
+
+    private static double[] runSeeded(NeuralNetwork network, double[] inputs, int seed)
+    {
+        Rand.getInstance().setRandomSeed(seed);
+        double[] outputs = network.outputs(inputs).clone();
+        Rand.getInstance().setRandomSeed();
+        return outputs;
+    }
 }
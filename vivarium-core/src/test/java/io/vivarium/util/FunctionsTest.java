@@ -38,6 +38,38 @@ public class FunctionsTest
         Tester.equal("sigmoid(4) = 0.9820", 0.9820, Functions.sigmoid(4), 0.0001);
     }
 
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testSigmoidApproximations()
+    {
+        double previousRational = 0;
+        double previousTable = 0;
+        double rationalError = 0;
+        double tableError = 0;
+        // Sweep well past the ends of both approximations, on a step which does not land on the table's entries
+        for (int i = -400_000; i <= 400_000; i++)
+        {
+            double x = i * 0.0001 + 0.00003;
+            double rational = Functions.rationalSigmoid(x);
+            double table = Functions.tableSigmoid(x);
+            rationalError = Math.max(rationalError, Math.abs(rational - Functions.sigmoid(x)));
+            tableError = Math.max(tableError, Math.abs(table - Functions.sigmoid(x)));
+            Tester.greaterOrEqual("Rational sigmoid should be monotonic", rational, previousRational);
+            Tester.greaterOrEqual("Table sigmoid should be monotonic", table, previousTable);
+            previousRational = rational;
+            previousTable = table;
+        }
+        Tester.lessOrEqual("Rational sigmoid error should be as documented", rationalError, 7.4e-6);
+        Tester.lessOrEqual("Table sigmoid error should be as documented", tableError, 3e-6);
+
+        Tester.equal("rationalSigmoid(0) = 0.5", Functions.rationalSigmoid(0), 0.5, 0.0);
+        Tester.equal("tableSigmoid(0) = 0.5", Functions.tableSigmoid(0), 0.5, 0.0);
+        Tester.equal("rationalSigmoid(-inf) = 0", Functions.rationalSigmoid(Double.NEGATIVE_INFINITY), 0, 0.0);
+        Tester.equal("tableSigmoid(inf) = 1", Functions.tableSigmoid(Double.POSITIVE_INFINITY), 1, 0.0);
+        Tester.equal("tableSigmoid just below its limit", Functions.tableSigmoid(Math.nextDown(16.0)),
+                Functions.sigmoid(16), 3e-6);
+    }
+
     @Test
     @Category({ FastTest.class, UnitTest.class })
     public void testLogarithmicAverage()
@@ -134,4 +134,32 @@ public class RandTest
         // Clear the seed
         Rand.getInstance().setRandomSeed();
     }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testFillRandomDoubles()
+    {
+        // Filling an array should draw the same numbers as drawing them one at a time
+        Rand.getInstance().setRandomSeed(1);
+        double[] expected = new double[10];
+        for (int i = 0; i < expected.length; i++)
+        {
+            expected[i] = Rand.getInstance().getRandomDouble();
+        }
+        long expectedNext = Rand.getInstance().getRandomLong();
+
+        Rand.getInstance().setRandomSeed(1);
+        double[] filled = new double[12];
+        Rand.getInstance().fillRandomDoubles(filled, 2, 10);
+        Tester.equal("Values before the offset are untouched", filled[0], 0.0, 0.0);
+        Tester.equal("Values before the offset are untouched", filled[1], 0.0, 0.0);
+        for (int i = 0; i < expected.length; i++)
+        {
+            Tester.equal("Filled random " + i + " matches drawn random", filled[i + 2], expected[i], 0.0);
+        }
+        Tester.equal("The stream continues after the filled randoms", Rand.getInstance().getRandomLong(), expectedNext);
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
 }
@@ -16,7 +16,7 @@ public class GenomeWeightFF extends FitnessFunction
             if (NeuralNetwork.class.isAssignableFrom(processor.getClass()))
             {
                 NeuralNetwork nn = (NeuralNetwork) processor;
-                weights += nn.getWeights()[0][0];
+                weights += nn.getWeight(0, 0);
             }
         }
         return weights;
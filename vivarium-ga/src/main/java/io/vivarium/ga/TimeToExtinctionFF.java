@@ -37,7 +37,11 @@ public class TimeToExtinctionFF extends SimulationBasedFitnessFunction
         GridWorld w = new GridWorld(instanceBlueprint);
         for (int i = 0; i < _initialPopulation; i++)
         {
-            w.addImmigrant(new Creature(instanceCreature));
+            if (!w.addImmigrant(new Creature(instanceCreature)))
+            {
+                // The world is full
+                break;
+            }
         }
 
         // Run simulation
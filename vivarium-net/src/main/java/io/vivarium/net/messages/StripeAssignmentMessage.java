@@ -0,0 +1,80 @@
+package io.vivarium.net.messages;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.vivarium.net.UUIDSerializer;
+import io.vivarium.util.UUID;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Sent by the server to assign a worker one stripe of a world to simulate, see StripeGridWorld.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString
+public class StripeAssignmentMessage extends Message
+{
+    final private UUID _runID;
+    final private int _stripeIndex;
+    final private int _stripeCount;
+    final private int _seed;
+    final private int _tickCount;
+    final private String _dataString;
+
+    public StripeAssignmentMessage(UUID runID, int stripeIndex, int stripeCount, int seed, int tickCount,
+            String dataString)
+    {
+        this(UUID.randomUUID(), runID, stripeIndex, stripeCount, seed, tickCount, dataString);
+    }
+
+    @JsonCreator
+    public StripeAssignmentMessage(
+            @JsonProperty("messageID") @JsonSerialize(using = UUIDSerializer.class) UUID messageID,
+            @JsonProperty("runID") @JsonSerialize(using = UUIDSerializer.class) UUID runID,
+            @JsonProperty("stripeIndex") int stripeIndex, @JsonProperty("stripeCount") int stripeCount,
+            @JsonProperty("seed") int seed, @JsonProperty("tickCount") int tickCount,
+            @JsonProperty("dataString") String dataString)
+    {
+        super(messageID);
+
+        this._runID = runID;
+        this._stripeIndex = stripeIndex;
+        this._stripeCount = stripeCount;
+        this._seed = seed;
+        this._tickCount = tickCount;
+        this._dataString = dataString;
+    }
+
+    @JsonSerialize(using = UUIDSerializer.class)
+    public UUID getRunID()
+    {
+        return _runID;
+    }
+
+    public int getStripeIndex()
+    {
+        return _stripeIndex;
+    }
+
+    public int getStripeCount()
+    {
+        return _stripeCount;
+    }
+
+    public int getSeed()
+    {
+        return _seed;
+    }
+
+    public int getTickCount()
+    {
+        return _tickCount;
+    }
+
+    public String getDataString()
+    {
+        return _dataString;
+    }
+}
@@ -0,0 +1,56 @@
+package io.vivarium.net.messages;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.vivarium.net.UUIDSerializer;
+import io.vivarium.util.UUID;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Sent by a worker to report how many creatures were born in its stripe during an action wave.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString
+public class StripeBirthCountMessage extends Message
+{
+    final private UUID _runID;
+    final private int _stripeIndex;
+    final private int _birthCount;
+
+    public StripeBirthCountMessage(UUID runID, int stripeIndex, int birthCount)
+    {
+        this(UUID.randomUUID(), runID, stripeIndex, birthCount);
+    }
+
+    @JsonCreator
+    public StripeBirthCountMessage(
+            @JsonProperty("messageID") @JsonSerialize(using = UUIDSerializer.class) UUID messageID,
+            @JsonProperty("runID") @JsonSerialize(using = UUIDSerializer.class) UUID runID,
+            @JsonProperty("stripeIndex") int stripeIndex, @JsonProperty("birthCount") int birthCount)
+    {
+        super(messageID);
+
+        this._runID = runID;
+        this._stripeIndex = stripeIndex;
+        this._birthCount = birthCount;
+    }
+
+    @JsonSerialize(using = UUIDSerializer.class)
+    public UUID getRunID()
+    {
+        return _runID;
+    }
+
+    public int getStripeIndex()
+    {
+        return _stripeIndex;
+    }
+
+    public int getBirthCount()
+    {
+        return _birthCount;
+    }
+}
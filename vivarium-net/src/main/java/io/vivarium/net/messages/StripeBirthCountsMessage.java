@@ -0,0 +1,50 @@
+package io.vivarium.net.messages;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.vivarium.net.UUIDSerializer;
+import io.vivarium.util.UUID;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Sent by the server once every stripe has reported its births for an action wave, with the births of every stripe in
+ * stripe order.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString
+public class StripeBirthCountsMessage extends Message
+{
+    final private UUID _runID;
+    final private int[] _birthCounts;
+
+    public StripeBirthCountsMessage(UUID runID, int[] birthCounts)
+    {
+        this(UUID.randomUUID(), runID, birthCounts);
+    }
+
+    @JsonCreator
+    public StripeBirthCountsMessage(
+            @JsonProperty("messageID") @JsonSerialize(using = UUIDSerializer.class) UUID messageID,
+            @JsonProperty("runID") @JsonSerialize(using = UUIDSerializer.class) UUID runID,
+            @JsonProperty("birthCounts") int[] birthCounts)
+    {
+        super(messageID);
+
+        this._runID = runID;
+        this._birthCounts = birthCounts;
+    }
+
+    @JsonSerialize(using = UUIDSerializer.class)
+    public UUID getRunID()
+    {
+        return _runID;
+    }
+
+    public int[] getBirthCounts()
+    {
+        return _birthCounts;
+    }
+}
@@ -0,0 +1,55 @@
+package io.vivarium.net.messages;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.vivarium.net.UUIDSerializer;
+import io.vivarium.util.UUID;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Sent by a worker once it has finished simulating its stripe, with the stripe as it ended.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString
+public class StripeResultMessage extends Message
+{
+    final private UUID _runID;
+    final private int _stripeIndex;
+    final private String _dataString;
+
+    public StripeResultMessage(UUID runID, int stripeIndex, String dataString)
+    {
+        this(UUID.randomUUID(), runID, stripeIndex, dataString);
+    }
+
+    @JsonCreator
+    public StripeResultMessage(@JsonProperty("messageID") @JsonSerialize(using = UUIDSerializer.class) UUID messageID,
+            @JsonProperty("runID") @JsonSerialize(using = UUIDSerializer.class) UUID runID,
+            @JsonProperty("stripeIndex") int stripeIndex, @JsonProperty("dataString") String dataString)
+    {
+        super(messageID);
+
+        this._runID = runID;
+        this._stripeIndex = stripeIndex;
+        this._dataString = dataString;
+    }
+
+    @JsonSerialize(using = UUIDSerializer.class)
+    public UUID getRunID()
+    {
+        return _runID;
+    }
+
+    public int getStripeIndex()
+    {
+        return _stripeIndex;
+    }
+
+    public String getDataString()
+    {
+        return _dataString;
+    }
+}
@@ -0,0 +1,63 @@
+package io.vivarium.net.messages;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.vivarium.net.UUIDSerializer;
+import io.vivarium.util.UUID;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Carries squares from one stripe of a world to a neighbouring stripe, relayed through the server.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString
+public class StripeSquaresMessage extends Message
+{
+    final private UUID _runID;
+    final private int _sourceStripe;
+    final private int _targetStripe;
+    final private String _dataString;
+
+    public StripeSquaresMessage(UUID runID, int sourceStripe, int targetStripe, String dataString)
+    {
+        this(UUID.randomUUID(), runID, sourceStripe, targetStripe, dataString);
+    }
+
+    @JsonCreator
+    public StripeSquaresMessage(@JsonProperty("messageID") @JsonSerialize(using = UUIDSerializer.class) UUID messageID,
+            @JsonProperty("runID") @JsonSerialize(using = UUIDSerializer.class) UUID runID,
+            @JsonProperty("sourceStripe") int sourceStripe, @JsonProperty("targetStripe") int targetStripe,
+            @JsonProperty("dataString") String dataString)
+    {
+        super(messageID);
+
+        this._runID = runID;
+        this._sourceStripe = sourceStripe;
+        this._targetStripe = targetStripe;
+        this._dataString = dataString;
+    }
+
+    @JsonSerialize(using = UUIDSerializer.class)
+    public UUID getRunID()
+    {
+        return _runID;
+    }
+
+    public int getSourceStripe()
+    {
+        return _sourceStripe;
+    }
+
+    public int getTargetStripe()
+    {
+        return _targetStripe;
+    }
+
+    public String getDataString()
+    {
+        return _dataString;
+    }
+}
@@ -0,0 +1,25 @@
+package io.vivarium.net.messages;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.test.FastTest;
+import io.vivarium.test.UnitTest;
+import io.vivarium.util.UUID;
+
+public class StripeAssignmentMessageTest
+{
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testSerializeDeserialize() throws Exception
+    {
+        ObjectMapper mapper = new ObjectMapper();
+        StripeAssignmentMessage assignment = new StripeAssignmentMessage(UUID.randomUUID(), 1, 3, 42, 100, "The data");
+        String jsonEncoding = mapper.writeValueAsString(assignment);
+        Message decodedMessage = mapper.readValue(jsonEncoding, Message.class);
+        Tester.equal("Decoded object should be the same as the original object", assignment, decodedMessage);
+    }
+}
@@ -0,0 +1,43 @@
+package io.vivarium.net.messages;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.test.FastTest;
+import io.vivarium.test.UnitTest;
+import io.vivarium.util.UUID;
+
+public class StripeSquaresMessageTest
+{
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testSerializeDeserialize() throws Exception
+    {
+        ObjectMapper mapper = new ObjectMapper();
+        StripeSquaresMessage stripeSquares = new StripeSquaresMessage(UUID.randomUUID(), 2, 1, "The data");
+        String jsonEncoding = mapper.writeValueAsString(stripeSquares);
+        Message decodedMessage = mapper.readValue(jsonEncoding, Message.class);
+        Tester.equal("Decoded object should be the same as the original object", stripeSquares, decodedMessage);
+    }
+
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testEqualsAndHashCode()
+    {
+        StripeSquaresMessage message1;
+        Message message2;
+
+        UUID messageID = UUID.randomUUID();
+        UUID runID = UUID.randomUUID();
+        message1 = new StripeSquaresMessage(messageID, runID, 0, 1, "The data");
+        message2 = new StripeSquaresMessage(messageID, runID, 0, 1, "The data");
+        Tester.equal("Two messages that are the same are equal", message1, message2);
+
+        message1 = new StripeSquaresMessage(messageID, runID, 0, 1, "The data");
+        message2 = new StripeSquaresMessage(messageID, runID, 1, 0, "The data");
+        Tester.notEqual("Two messages between different stripes should not be equal", message1, message2);
+    }
+}
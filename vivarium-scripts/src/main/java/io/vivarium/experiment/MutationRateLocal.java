@@ -1,26 +1,21 @@
 package io.vivarium.experiment;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.LinkedList;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ForkJoinPool;
 
 import io.vivarium.audit.ActionFrequencyBlueprint;
 import io.vivarium.audit.AuditBlueprint;
 import io.vivarium.audit.CensusBlueprint;
 import io.vivarium.core.CreatureBlueprint;
+import io.vivarium.core.GridWorld;
 import io.vivarium.core.GridWorldBlueprint;
 import io.vivarium.core.processor.NeuralNetworkBlueprint;
-import io.vivarium.scripts.CreateWorld;
-import io.vivarium.scripts.RunSimulation;
 import io.vivarium.serialization.FileIO;
 import io.vivarium.serialization.Format;
 import io.vivarium.util.Functions;
 import io.vivarium.util.Rand;
 import io.vivarium.util.concurrency.ThreadRandAllocator;
+import io.vivarium.util.concurrency.WorldBatchRunner;
 
 public class MutationRateLocal
 {
@@ -38,17 +33,17 @@ public class MutationRateLocal
      * Hypothesis: There is an optimal mutation rate for population health.
      *
      * @param args
-     * @throws InterruptedException
-     *             Not really...
      */
-    public static void main(String[] args) throws InterruptedException
+    public static void main(String[] args)
     {
         // If we're running multi-threaded code, we need to use a multi-threaded random allocator
         Rand.setAllocator(new ThreadRandAllocator());
 
         // Set up thread pool
-        ExecutorService executorService = Executors.newFixedThreadPool(PEAK_THREAD_THROUGHPUT);
-        Collection<WorldRunner> tasks = new LinkedList<>();
+        ForkJoinPool pool = new ForkJoinPool(PEAK_THREAD_THROUGHPUT);
+        WorldBatchRunner runner = new WorldBatchRunner(pool);
+        String[] names = new String[MAX_SIMULATIONS];
+        GridWorld[] worlds = new GridWorld[MAX_SIMULATIONS];
 
         double[] mutationRates = Functions.generateDitherArray(MIN_MUTATION_EXPONENT, MAX_MUTATION_EXPONENT,
                 MAX_SIMULATIONS);
@@ -58,6 +53,7 @@ public class MutationRateLocal
 
             // Record the thread name
             String name = "mutation=2^" + mutationRateExponent;
+            names[i] = name;
 
             // Make a world blueprint
             GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
@@ -81,57 +77,22 @@ public class MutationRateLocal
             // Save the world blueprint
             FileIO.saveSerializer(worldBlueprint, name + "_blueprint.viv", Format.JSON);
 
-            // Create callable
-            log("Generating world blueprint " + name);
-            tasks.add(new WorldRunner(name));
+            // Create the world
+            log("Generating world " + name);
+            worlds[i] = new GridWorld(worldBlueprint);
+            FileIO.saveSerializer(worlds[i], name + "_initial.viv", Format.JSON);
+            runner.addWorld(worlds[i], TICKS_PER_SIMULATION, i + 1);
         }
 
         // Do the work!
-        executorService.invokeAll(tasks);
-        log("Awating");
-        executorService.shutdown();
-        executorService.awaitTermination(10_000, TimeUnit.DAYS);
-        log("Completed");
-    }
-
-    private static class WorldRunner implements Callable<Object>
-    {
-
-        private final String _name;
-
-        WorldRunner(String name)
-        {
-            this._name = name;
-        }
-
-        @Override
-        public Object call()
+        log("Starting simulations");
+        runner.run();
+        pool.shutdown();
+        for (int i = 0; i < MAX_SIMULATIONS; i++)
         {
-            try
-            {
-                // Create a world
-                {
-                    log("Generating world " + _name);
-                    String[] args = { "-b", _name + "_blueprint.viv", "-o", _name + "_initial.viv" };
-                    CreateWorld.main(args);
-                }
-
-                // Run the world
-                {
-                    log("Starting simulation of world " + _name);
-                    String[] args = { "-i", _name + "_initial.viv", "-o", _name + "_complete.viv", "-t",
-                            "" + TICKS_PER_SIMULATION };
-                    RunSimulation.main(args);
-                    log("Completeing simulation of world " + _name);
-                }
-            }
-            catch (Exception e)
-            {
-                e.printStackTrace();
-            }
-
-            return null;
+            FileIO.saveSerializer(worlds[i], names[i] + "_complete.viv", Format.JSON);
         }
+        log("Completed at " + runner.getCreatureTicksPerSecond() + " creature-ticks/sec");
     }
 
     private synchronized static void log(String event)
@@ -0,0 +1,179 @@
+package io.vivarium.scripts;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+
+import io.vivarium.core.processor.ActivationFunction;
+import io.vivarium.core.processor.NeuralNetwork;
+import io.vivarium.core.processor.WeightPrecision;
+import io.vivarium.util.Rand;
+
+public class RunActivationBenchmark extends CommonsScript
+{
+    private static final String ITERATIONS = "iterations";
+    private static final String RANGE = "range";
+    private static final String ACTIVATION = "activation";
+
+    private static final int DEFAULT_ITERATIONS = 10_000_000;
+    private static final double DEFAULT_RANGE = 8;
+    private static final int INPUT_COUNT = 12;
+    private static final int OUTPUT_COUNT = 6;
+    private static final int NETWORK_COUNT = 256;
+    private static final int SAMPLE_COUNT = 4096;
+    private static final int TRIALS = 5;
+
+    public RunActivationBenchmark(String[] args)
+    {
+        super(args);
+    }
+
+    @Override
+    protected List<Option> getScriptSpecificOptions()
+    {
+        LinkedList<Option> options = new LinkedList<>();
+        options.add(Option
+                .builder("n")
+                .required(false)
+                .longOpt(ITERATIONS)
+                .hasArg(true)
+                .argName("ITERATIONS")
+                .desc("number of activations to time in each trial, defaults to " + DEFAULT_ITERATIONS)
+                .build());
+        options.add(Option
+                .builder("r")
+                .required(false)
+                .longOpt(RANGE)
+                .hasArg(true)
+                .argName("RANGE")
+                .desc("activations are timed on inputs uniform between plus and minus this, defaults to "
+                        + DEFAULT_RANGE)
+                .build());
+        options.add(Option
+                .builder("a")
+                .required(false)
+                .longOpt(ACTIVATION)
+                .hasArg(true)
+                .argName("ACTIVATION")
+                .desc("only time this activation function, which keeps the others from sharing its call sites in the"
+                        + " JIT compiled code, defaults to timing all of them")
+                .build());
+        return options;
+    }
+
+    @Override
+    protected String getExtraArgString()
+    {
+        return "";
+    }
+
+    @Override
+    protected String getUsageHeader()
+    {
+        return "Run a benchmark of the accuracy and speed of each neural network activation function.";
+    }
+
+    @Override
+    protected void run(CommandLine commandLine)
+    {
+        int iterations = commandLine.hasOption(ITERATIONS)
+                ? Integer.parseInt(commandLine.getOptionValue(ITERATIONS)) : DEFAULT_ITERATIONS;
+        double range = commandLine.hasOption(RANGE) ? Double.parseDouble(commandLine.getOptionValue(RANGE))
+                : DEFAULT_RANGE;
+        ActivationFunction[] activationFunctions = commandLine.hasOption(ACTIVATION)
+                ? new ActivationFunction[] { ActivationFunction.valueOf(commandLine.getOptionValue(ACTIVATION)) }
+                : ActivationFunction.values();
+
+        Rand.getInstance().setRandomSeed(SAMPLE_COUNT);
+        double[] samples = new double[SAMPLE_COUNT];
+        for (int i = 0; i < SAMPLE_COUNT; i++)
+        {
+            samples[i] = Rand.getInstance().getRandomDouble() * range;
+        }
+        double[][] inputs = new double[NETWORK_COUNT][INPUT_COUNT];
+        for (int i = 0; i < NETWORK_COUNT; i++)
+        {
+            for (int j = 0; j < INPUT_COUNT; j++)
+            {
+                inputs[i][j] = Rand.getInstance().getRandomDouble();
+            }
+        }
+
+        System.out.println("activation,max error,activations/s,forward passes/s");
+        for (ActivationFunction activationFunction : activationFunctions)
+        {
+            NeuralNetwork[] networks = new NeuralNetwork[NETWORK_COUNT];
+            for (int i = 0; i < NETWORK_COUNT; i++)
+            {
+                networks[i] = new NeuralNetwork(INPUT_COUNT, OUTPUT_COUNT, 1, 0, WeightPrecision.DOUBLE,
+                        activationFunction);
+            }
+
+            // Do this just to give the JIT Compiler some stuff to optimize
+            timeActivations(activationFunction, samples, iterations / 10);
+            timeForwardPasses(networks, inputs, iterations / 100);
+
+            double activations = 0;
+            double forwardPasses = 0;
+            for (int trial = 0; trial < TRIALS; trial++)
+            {
+                activations = Math.max(activations, timeActivations(activationFunction, samples, iterations));
+                forwardPasses = Math.max(forwardPasses, timeForwardPasses(networks, inputs, iterations / 10));
+            }
+            System.out.println(activationFunction + "," + String.format("%.2e", maximumError(activationFunction))
+                    + "," + (long) activations + "," + (long) forwardPasses);
+        }
+        Rand.getInstance().setRandomSeed();
+    }
+
+    /**
+     * @return the largest difference from the exact sigmoid, sweeping past the ranges the approximations cover
+     */
+    private static double maximumError(ActivationFunction activationFunction)
+    {
+        double maximumError = 0;
+        for (int i = -40_000_000; i <= 40_000_000; i++)
+        {
+            double x = i * 0.000001 + 0.0000003;
+            maximumError = Math.max(maximumError,
+                    Math.abs(activationFunction.apply(x) - ActivationFunction.EXACT.apply(x)));
+        }
+        return maximumError;
+    }
+
+    private static double timeActivations(ActivationFunction activationFunction, double[] samples, int iterations)
+    {
+        double checksum = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+        {
+            checksum += activationFunction.apply(samples[i & (SAMPLE_COUNT - 1)]);
+        }
+        return perSecond(iterations, startTime, checksum);
+    }
+
+    private static double timeForwardPasses(NeuralNetwork[] networks, double[][] inputs, int iterations)
+    {
+        double checksum = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+        {
+            checksum += networks[i % NETWORK_COUNT].outputs(inputs[i % NETWORK_COUNT])[0];
+        }
+        return perSecond(iterations, startTime, checksum);
+    }
+
+    private static double perSecond(int iterations, long startTime, double checksum)
+    {
+        long totalTime = Math.max(System.nanoTime() - startTime, 1);
+        // Using the checksum keeps the timed work from being optimized away
+        return checksum == Double.MAX_VALUE ? 0 : iterations / (totalTime / 1_000_000_000.0);
+    }
+
+    public static void main(String[] args)
+    {
+        new RunActivationBenchmark(args);
+    }
+}
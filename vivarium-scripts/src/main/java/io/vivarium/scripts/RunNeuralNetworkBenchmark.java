@@ -0,0 +1,158 @@
+package io.vivarium.scripts;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+
+import io.vivarium.core.processor.NeuralNetwork;
+import io.vivarium.core.processor.NeuralNetworkBlueprint;
+import io.vivarium.util.Rand;
+
+public class RunNeuralNetworkBenchmark extends CommonsScript
+{
+    private static final String INPUTS = "inputs";
+    private static final String OUTPUTS = "outputs";
+    private static final String ITERATIONS = "iterations";
+
+    private static final int DEFAULT_INPUTS = 12;
+    private static final int DEFAULT_OUTPUTS = 6;
+    private static final int DEFAULT_ITERATIONS = 1_000_000;
+    private static final int NETWORK_COUNT = 256;
+    private static final int TRIALS = 5;
+
+    public RunNeuralNetworkBenchmark(String[] args)
+    {
+        super(args);
+    }
+
+    @Override
+    protected List<Option> getScriptSpecificOptions()
+    {
+        LinkedList<Option> options = new LinkedList<>();
+        options.add(Option
+                .builder("i")
+                .required(false)
+                .longOpt(INPUTS)
+                .hasArg(true)
+                .argName("INPUTS")
+                .desc("number of network inputs, defaults to " + DEFAULT_INPUTS)
+                .build());
+        options.add(Option
+                .builder("o")
+                .required(false)
+                .longOpt(OUTPUTS)
+                .hasArg(true)
+                .argName("OUTPUTS")
+                .desc("number of network outputs, defaults to " + DEFAULT_OUTPUTS)
+                .build());
+        options.add(Option
+                .builder("n")
+                .required(false)
+                .longOpt(ITERATIONS)
+                .hasArg(true)
+                .argName("ITERATIONS")
+                .desc("number of operations to time in each trial, defaults to " + DEFAULT_ITERATIONS)
+                .build());
+        return options;
+    }
+
+    @Override
+    protected String getExtraArgString()
+    {
+        return "";
+    }
+
+    @Override
+    protected String getUsageHeader()
+    {
+        return "Run a benchmark of neural network forward passes, crossover, and weight normalization.";
+    }
+
+    @Override
+    protected void run(CommandLine commandLine)
+    {
+        int inputCount = commandLine.hasOption(INPUTS) ? Integer.parseInt(commandLine.getOptionValue(INPUTS))
+                : DEFAULT_INPUTS;
+        int outputCount = commandLine.hasOption(OUTPUTS) ? Integer.parseInt(commandLine.getOptionValue(OUTPUTS))
+                : DEFAULT_OUTPUTS;
+        int iterations = commandLine.hasOption(ITERATIONS)
+                ? Integer.parseInt(commandLine.getOptionValue(ITERATIONS)) : DEFAULT_ITERATIONS;
+
+        Rand.getInstance().setRandomSeed(inputCount * outputCount);
+        NeuralNetworkBlueprint blueprint = NeuralNetworkBlueprint.makeDefault(inputCount, outputCount);
+        NeuralNetwork[] networks = new NeuralNetwork[NETWORK_COUNT];
+        double[][] inputs = new double[NETWORK_COUNT][inputCount];
+        for (int i = 0; i < NETWORK_COUNT; i++)
+        {
+            networks[i] = NeuralNetwork.makeWithProcessorBlueprint(blueprint);
+            for (int j = 0; j < inputCount; j++)
+            {
+                inputs[i][j] = Rand.getInstance().getRandomDouble();
+            }
+        }
+
+        // Do this just to give the JIT Compiler some stuff to optimize
+        timeForwardPasses(networks, inputs, iterations / 10);
+        timeCrossovers(blueprint, networks, iterations / 100);
+        timeNormalizations(networks, iterations / 10);
+
+        System.out.println("trial,forward passes/s,crossovers/s,normalizations/s");
+        for (int trial = 0; trial < TRIALS; trial++)
+        {
+            double forwardPasses = timeForwardPasses(networks, inputs, iterations);
+            double crossovers = timeCrossovers(blueprint, networks, iterations / 10);
+            double normalizations = timeNormalizations(networks, iterations);
+            System.out.println(trial + "," + (long) forwardPasses + "," + (long) crossovers + ","
+                    + (long) normalizations);
+        }
+        Rand.getInstance().setRandomSeed();
+    }
+
+    private static double timeForwardPasses(NeuralNetwork[] networks, double[][] inputs, int iterations)
+    {
+        double checksum = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+        {
+            checksum += networks[i % NETWORK_COUNT].outputs(inputs[i % NETWORK_COUNT])[0];
+        }
+        return perSecond(iterations, startTime, checksum);
+    }
+
+    private static double timeCrossovers(NeuralNetworkBlueprint blueprint, NeuralNetwork[] networks, int iterations)
+    {
+        double checksum = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+        {
+            NeuralNetwork child = new NeuralNetwork(blueprint, networks[i % NETWORK_COUNT],
+                    networks[(i + 1) % NETWORK_COUNT]);
+            checksum += child.getGenomeLength();
+        }
+        return perSecond(iterations, startTime, checksum);
+    }
+
+    private static double timeNormalizations(NeuralNetwork[] networks, int iterations)
+    {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+        {
+            networks[i % NETWORK_COUNT].normalizeWeights(1);
+        }
+        return perSecond(iterations, startTime, 0);
+    }
+
+    private static double perSecond(int iterations, long startTime, double checksum)
+    {
+        long totalTime = Math.max(System.nanoTime() - startTime, 1);
+        // Using the checksum keeps the timed work from being optimized away
+        return checksum == Double.MAX_VALUE ? 0 : iterations / (totalTime / 1_000_000_000.0);
+    }
+
+    public static void main(String[] args)
+    {
+        new RunNeuralNetworkBenchmark(args);
+    }
+}
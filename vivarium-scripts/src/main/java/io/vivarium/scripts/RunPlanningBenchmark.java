@@ -0,0 +1,218 @@
+package io.vivarium.scripts;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+
+import io.vivarium.core.GridWorld;
+import io.vivarium.core.GridWorldBlueprint;
+import io.vivarium.core.processor.NeuralNetwork;
+import io.vivarium.core.processor.NeuralNetworkBatch;
+import io.vivarium.util.Rand;
+
+public class RunPlanningBenchmark extends CommonsScript
+{
+    private static final String TICKS = "ticks";
+    private static final String SIZE = "size";
+    private static final String NETWORKS = "networks";
+
+    private static final int DEFAULT_TICKS = 200;
+    private static final int DEFAULT_SIZE = 200;
+    private static final int DEFAULT_NETWORKS = 4096;
+    private static final int INPUT_COUNT = 12;
+    private static final int OUTPUT_COUNT = 6;
+    private static final int NETWORK_ROUNDS = 200;
+    private static final int TRIALS = 5;
+
+    public RunPlanningBenchmark(String[] args)
+    {
+        super(args);
+    }
+
+    @Override
+    protected List<Option> getScriptSpecificOptions()
+    {
+        LinkedList<Option> options = new LinkedList<>();
+        options.add(Option
+                .builder("t")
+                .required(false)
+                .longOpt(TICKS)
+                .hasArg(true)
+                .argName("TICKS")
+                .desc("number of ticks to time for each world, defaults to " + DEFAULT_TICKS)
+                .build());
+        options.add(Option
+                .builder("s")
+                .required(false)
+                .longOpt(SIZE)
+                .hasArg(true)
+                .argName("SIZE")
+                .desc("size of the world to time, defaults to " + DEFAULT_SIZE)
+                .build());
+        options.add(Option
+                .builder("n")
+                .required(false)
+                .longOpt(NETWORKS)
+                .hasArg(true)
+                .argName("NETWORKS")
+                .desc("number of networks in the isolated evaluation comparison, defaults to " + DEFAULT_NETWORKS)
+                .build());
+        return options;
+    }
+
+    @Override
+    protected String getExtraArgString()
+    {
+        return "";
+    }
+
+    @Override
+    protected String getUsageHeader()
+    {
+        return "Run a benchmark comparing per creature neural network evaluation against batched evaluation.";
+    }
+
+    @Override
+    protected void run(CommandLine commandLine)
+    {
+        int ticks = commandLine.hasOption(TICKS) ? Integer.parseInt(commandLine.getOptionValue(TICKS)) : DEFAULT_TICKS;
+        int size = commandLine.hasOption(SIZE) ? Integer.parseInt(commandLine.getOptionValue(SIZE)) : DEFAULT_SIZE;
+        int networkCount = commandLine.hasOption(NETWORKS)
+                ? Integer.parseInt(commandLine.getOptionValue(NETWORKS)) : DEFAULT_NETWORKS;
+
+        // Do this just to give the JIT Compiler some stuff to optimize
+        timeNetworks(networkCount, false);
+        timeNetworks(networkCount, true);
+        timeWorld(size / 4, ticks, false);
+        timeWorld(size / 4, ticks, true);
+
+        System.out.println("trial,per network evals/s,batched evals/s,speedup,per creature cts,batched cts,speedup,"
+                + "per creature plans/s,batched plans/s");
+        for (int trial = 0; trial < TRIALS; trial++)
+        {
+            double perNetwork = timeNetworks(networkCount, false);
+            double batchedNetworks = timeNetworks(networkCount, true);
+            PlanTimingWorld perCreature = timeWorld(size, ticks, false);
+            PlanTimingWorld batchedWorld = timeWorld(size, ticks, true);
+            System.out.println(trial + "," + (long) perNetwork + "," + (long) batchedNetworks + ","
+                    + String.format("%.2f", batchedNetworks / perNetwork) + "," + (int) perCreature.getTickRate() + ","
+                    + (int) batchedWorld.getTickRate() + ","
+                    + String.format("%.2f", batchedWorld.getTickRate() / perCreature.getTickRate()) + ","
+                    + (int) perCreature.getPlanRate() + "," + (int) batchedWorld.getPlanRate());
+        }
+    }
+
+    /**
+     * Times the evaluation of a population of networks on their own, with no world around them.
+     */
+    private static double timeNetworks(int networkCount, boolean batched)
+    {
+        Rand.getInstance().setRandomSeed(networkCount);
+        NeuralNetwork[] networks = new NeuralNetwork[networkCount];
+        double[][] inputs = new double[networkCount][INPUT_COUNT];
+        for (int i = 0; i < networkCount; i++)
+        {
+            networks[i] = new NeuralNetwork(INPUT_COUNT, OUTPUT_COUNT, 1, 0);
+            for (int j = 0; j < INPUT_COUNT; j++)
+            {
+                inputs[i][j] = Rand.getInstance().getRandomDouble();
+            }
+        }
+        NeuralNetworkBatch batch = new NeuralNetworkBatch(INPUT_COUNT, OUTPUT_COUNT);
+        long startTime = System.nanoTime();
+        for (int round = 0; round < NETWORK_ROUNDS; round++)
+        {
+            if (batched)
+            {
+                for (int i = 0; i < networkCount; i++)
+                {
+                    batch.add(networks[i], inputs[i]);
+                }
+                batch.evaluate();
+            }
+            else
+            {
+                for (int i = 0; i < networkCount; i++)
+                {
+                    networks[i].outputs(inputs[i]);
+                }
+            }
+        }
+        long endTime = System.nanoTime();
+        Rand.getInstance().setRandomSeed();
+        return (double) networkCount * NETWORK_ROUNDS / (Math.max(endTime - startTime, 1) / 1_000_000_000.0);
+    }
+
+    private static PlanTimingWorld timeWorld(int size, int ticks, boolean batchedPlanning)
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(size);
+        worldBlueprint.getCreatureBlueprints().get(0).setMaximumFood(Integer.MAX_VALUE); // Prevent starvation
+        // Seed both modes identically so they time the same population
+        Rand.getInstance().setRandomSeed(size);
+        PlanTimingWorld world = new PlanTimingWorld(worldBlueprint);
+        world.setBatchedPlanning(batchedPlanning);
+        for (int i = 0; i < ticks; i++)
+        {
+            world.tick();
+        }
+        Rand.getInstance().setRandomSeed();
+        return world;
+    }
+
+    /**
+     * A GridWorld which times its ticks, and the plan phase of its ticks on their own.
+     */
+    @SuppressWarnings("serial") // Default serialization is never used for a durable store
+    private static class PlanTimingWorld extends GridWorld
+    {
+        private long _creatureTicks;
+        private long _tickTime;
+        private long _planTime;
+
+        public PlanTimingWorld(GridWorldBlueprint gridWorldBlueprint)
+        {
+            super(gridWorldBlueprint);
+        }
+
+        @Override
+        public void tick()
+        {
+            _creatureTicks += getCreatureCount();
+            long startTime = System.nanoTime();
+            super.tick();
+            _tickTime += System.nanoTime() - startTime;
+        }
+
+        @Override
+        protected void letCreaturesPlan()
+        {
+            long startTime = System.nanoTime();
+            super.letCreaturesPlan();
+            _planTime += System.nanoTime() - startTime;
+        }
+
+        /**
+         * @return creature ticks per second
+         */
+        public double getTickRate()
+        {
+            return _creatureTicks / (Math.max(_tickTime, 1) / 1_000_000_000.0);
+        }
+
+        /**
+         * @return creature plans per second, timing the plan phase alone
+         */
+        public double getPlanRate()
+        {
+            return _creatureTicks / (Math.max(_planTime, 1) / 1_000_000_000.0);
+        }
+    }
+
+    public static void main(String[] args)
+    {
+        new RunPlanningBenchmark(args);
+    }
+}
@@ -0,0 +1,128 @@
+package io.vivarium.scripts;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+
+import io.vivarium.core.CreatureBlueprint;
+import io.vivarium.core.GridWorld;
+import io.vivarium.core.GridWorldBlueprint;
+import io.vivarium.core.simulation.Simulation;
+import io.vivarium.util.Rand;
+
+public class RunSoundBenchmark extends CommonsScript
+{
+    private static final String RADIUS = "radius";
+    private static final String TICKS = "ticks";
+    private static final String MAX_SIZE = "max-size";
+
+    private static final int DEFAULT_RADIUS = 10;
+    private static final int DEFAULT_TICKS = 50;
+    private static final int DEFAULT_MAX_SIZE = 200;
+    private static final int MIN_SIZE = 25;
+
+    public RunSoundBenchmark(String[] args)
+    {
+        super(args);
+    }
+
+    @Override
+    protected List<Option> getScriptSpecificOptions()
+    {
+        LinkedList<Option> options = new LinkedList<>();
+        options.add(Option
+                .builder("r")
+                .required(false)
+                .longOpt(RADIUS)
+                .hasArg(true)
+                .argName("RADIUS")
+                .desc("sound cutoff radius for the bucketed runs, defaults to " + DEFAULT_RADIUS)
+                .build());
+        options.add(Option
+                .builder("t")
+                .required(false)
+                .longOpt(TICKS)
+                .hasArg(true)
+                .argName("TICKS")
+                .desc("number of ticks to time for each world, defaults to " + DEFAULT_TICKS)
+                .build());
+        options.add(Option
+                .builder("s")
+                .required(false)
+                .longOpt(MAX_SIZE)
+                .hasArg(true)
+                .argName("SIZE")
+                .desc("largest world size to time, sizes double from " + MIN_SIZE + ", defaults to "
+                        + DEFAULT_MAX_SIZE)
+                .build());
+        return options;
+    }
+
+    @Override
+    protected String getExtraArgString()
+    {
+        return "";
+    }
+
+    @Override
+    protected String getUsageHeader()
+    {
+        return "Run a benchmark comparing all-pairs sound against radius bounded sound as the world grows.";
+    }
+
+    @Override
+    protected void run(CommandLine commandLine)
+    {
+        int radius = commandLine.hasOption(RADIUS) ? Integer.parseInt(commandLine.getOptionValue(RADIUS))
+                : DEFAULT_RADIUS;
+        int ticks = commandLine.hasOption(TICKS) ? Integer.parseInt(commandLine.getOptionValue(TICKS)) : DEFAULT_TICKS;
+        int maxSize = commandLine.hasOption(MAX_SIZE) ? Integer.parseInt(commandLine.getOptionValue(MAX_SIZE))
+                : DEFAULT_MAX_SIZE;
+
+        // Do this just to give the JIT Compiler some stuff to optimize
+        timeSoundWorld(MIN_SIZE, radius, false, ticks);
+        timeSoundWorld(MIN_SIZE, radius, true, ticks);
+
+        System.out.println("size,creatures,all-pairs cts,bucketed cts,speedup");
+        for (int size = MIN_SIZE; size <= maxSize; size *= 2)
+        {
+            double[] allPairs = timeSoundWorld(size, 0, true, ticks);
+            double[] bucketed = timeSoundWorld(size, radius, false, ticks);
+            System.out.println(size + "," + (int) allPairs[0] + "," + (int) allPairs[1] + "," + (int) bucketed[1] + ","
+                    + String.format("%.2f", bucketed[1] / allPairs[1]));
+        }
+    }
+
+    private static double[] timeSoundWorld(int size, int soundCutoffRadius, boolean allPairsSound, int ticks)
+    {
+        CreatureBlueprint creatureBlueprint = CreatureBlueprint.makeDefault(0, 2, 0);
+        creatureBlueprint.setMaximumFood(Integer.MAX_VALUE); // Prevent creatures from starving during the benchmark
+        ArrayList<CreatureBlueprint> creatureBlueprints = new ArrayList<>();
+        creatureBlueprints.add(creatureBlueprint);
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(size);
+        worldBlueprint.setSoundEnabled(true);
+        worldBlueprint.setSoundCutoffRadius(soundCutoffRadius);
+        worldBlueprint.setCreatureBlueprints(creatureBlueprints);
+        // Seed both modes identically so they time the same population
+        Rand.getInstance().setRandomSeed(size);
+        GridWorld world = new GridWorld(worldBlueprint);
+        world.setAllPairsSound(allPairsSound);
+        int worldPopulation = world.getCreatureCount();
+        long startTime = System.currentTimeMillis();
+        Simulation.runForUpTo(world, ticks);
+        long endTime = System.currentTimeMillis();
+        Rand.getInstance().setRandomSeed();
+        long totalTime = Math.max(endTime - startTime, 1);
+        double creatureTicksPerSecond = worldPopulation * (double) ticks / (totalTime / 1000.0);
+        return new double[] { worldPopulation, creatureTicksPerSecond };
+    }
+
+    public static void main(String[] args)
+    {
+        new RunSoundBenchmark(args);
+    }
+}
@@ -0,0 +1,209 @@
+package io.vivarium.scripts;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+
+import io.vivarium.core.CreatureBlueprint;
+import io.vivarium.core.processor.NeuralNetwork;
+import io.vivarium.core.processor.NeuralNetworkBlueprint;
+import io.vivarium.core.processor.WeightPrecision;
+import io.vivarium.serialization.JSONConverter;
+import io.vivarium.util.Rand;
+
+public class RunWeightPrecisionBenchmark extends CommonsScript
+{
+    private static final String POPULATION = "population";
+    private static final String ROUNDS = "rounds";
+
+    private static final int DEFAULT_POPULATION = 200_000;
+    private static final int DEFAULT_ROUNDS = 20;
+    private static final int SERIALIZED_SAMPLE = 1000;
+    private static final int NETWORK_SEED = 7;
+    private static final int INPUT_SEED = 8;
+    private static final int NOISE_SEED = 9;
+
+    public RunWeightPrecisionBenchmark(String[] args)
+    {
+        super(args);
+    }
+
+    @Override
+    protected List<Option> getScriptSpecificOptions()
+    {
+        LinkedList<Option> options = new LinkedList<>();
+        options.add(Option
+                .builder("p")
+                .required(false)
+                .longOpt(POPULATION)
+                .hasArg(true)
+                .argName("POPULATION")
+                .desc("number of creature networks to build for each precision, defaults to " + DEFAULT_POPULATION)
+                .build());
+        options.add(Option
+                .builder("r")
+                .required(false)
+                .longOpt(ROUNDS)
+                .hasArg(true)
+                .argName("ROUNDS")
+                .desc("number of times to evaluate the whole population, defaults to " + DEFAULT_ROUNDS)
+                .build());
+        return options;
+    }
+
+    @Override
+    protected String getExtraArgString()
+    {
+        return "";
+    }
+
+    @Override
+    protected String getUsageHeader()
+    {
+        return "Run a benchmark comparing the memory, throughput, and behaviour of each neural network weight"
+                + " precision.";
+    }
+
+    @Override
+    protected void run(CommandLine commandLine)
+    {
+        int population = commandLine.hasOption(POPULATION)
+                ? Integer.parseInt(commandLine.getOptionValue(POPULATION)) : DEFAULT_POPULATION;
+        int rounds = commandLine.hasOption(ROUNDS) ? Integer.parseInt(commandLine.getOptionValue(ROUNDS))
+                : DEFAULT_ROUNDS;
+
+        // Networks shaped like those of the default creature
+        CreatureBlueprint creatureBlueprint = CreatureBlueprint.makeDefault();
+        int inputCount = creatureBlueprint.getMultiplexerInputCount();
+        int outputCount = creatureBlueprint.getMultiplexerOutputCount();
+        int actionCount = creatureBlueprint.getHardProcessorOutputs();
+        double[][] inputs = new double[population][inputCount];
+        Rand.getInstance().setRandomSeed(INPUT_SEED);
+        for (int i = 0; i < population; i++)
+        {
+            for (int j = 0; j < inputCount; j++)
+            {
+                inputs[i][j] = Rand.getInstance().getRandomDouble();
+            }
+        }
+
+        double[][] doubleOutputs = null;
+        System.out.println("precision,heap bytes/network,json bytes/network,evals/s,mean output drift,"
+                + "max output drift,action agreement");
+        for (WeightPrecision precision : WeightPrecision.values())
+        {
+            long heapBefore = usedHeap();
+            NeuralNetwork[] networks = makeNetworks(population, inputCount, outputCount, precision);
+            long heapAfter = usedHeap();
+
+            // Evaluate once for the drift comparison, then time the rest of the rounds
+            double[][] outputs = evaluate(networks, inputs);
+            long startTime = System.nanoTime();
+            double checksum = 0;
+            for (int round = 1; round < rounds; round++)
+            {
+                for (int i = 0; i < population; i++)
+                {
+                    checksum += networks[i].outputs(inputs[i])[0];
+                }
+            }
+            long totalTime = Math.max(System.nanoTime() - startTime, 1);
+            // Using the checksum keeps the timed work from being optimized away
+            double evaluationsPerSecond = checksum == Double.MAX_VALUE ? 0
+                    : (double) population * (rounds - 1) / (totalTime / 1_000_000_000.0);
+
+            if (doubleOutputs == null)
+            {
+                doubleOutputs = outputs;
+            }
+            double totalDrift = 0;
+            double maximumDrift = 0;
+            int agreements = 0;
+            for (int i = 0; i < population; i++)
+            {
+                for (int j = 0; j < outputCount; j++)
+                {
+                    double drift = Math.abs(outputs[i][j] - doubleOutputs[i][j]);
+                    totalDrift += drift;
+                    maximumDrift = Math.max(maximumDrift, drift);
+                }
+                if (chooseAction(outputs[i], actionCount) == chooseAction(doubleOutputs[i], actionCount))
+                {
+                    agreements++;
+                }
+            }
+
+            long jsonLength = 0;
+            for (int i = 0; i < SERIALIZED_SAMPLE; i++)
+            {
+                jsonLength += JSONConverter.serializerToJSONString(networks[i]).length();
+            }
+
+            System.out.println(precision + "," + (heapAfter - heapBefore) / population + ","
+                    + jsonLength / SERIALIZED_SAMPLE + "," + (long) evaluationsPerSecond + ","
+                    + String.format("%.2e", totalDrift / population / outputCount) + ","
+                    + String.format("%.2e", maximumDrift) + ","
+                    + String.format("%.4f", (double) agreements / population));
+        }
+    }
+
+    private static NeuralNetwork[] makeNetworks(int population, int inputCount, int outputCount,
+            WeightPrecision precision)
+    {
+        // Seed each precision identically so that reduced networks are rounded copies of the double networks
+        NeuralNetworkBlueprint blueprint = NeuralNetworkBlueprint.makeDefault(inputCount, outputCount);
+        blueprint.setWeightPrecision(precision);
+        blueprint.setRandomInitializationProportion(1);
+        Rand.getInstance().setRandomSeed(NETWORK_SEED);
+        NeuralNetwork[] networks = new NeuralNetwork[population];
+        for (int i = 0; i < population; i++)
+        {
+            networks[i] = NeuralNetwork.makeWithProcessorBlueprint(blueprint);
+        }
+        Rand.getInstance().setRandomSeed();
+        return networks;
+    }
+
+    private static double[][] evaluate(NeuralNetwork[] networks, double[][] inputs)
+    {
+        // Seed the stochastic bias identically for every precision
+        Rand.getInstance().setRandomSeed(NOISE_SEED);
+        double[][] outputs = new double[networks.length][];
+        for (int i = 0; i < networks.length; i++)
+        {
+            outputs[i] = networks[i].outputs(inputs[i]).clone();
+        }
+        Rand.getInstance().setRandomSeed();
+        return outputs;
+    }
+
+    private static int chooseAction(double[] outputs, int actionCount)
+    {
+        int action = 0;
+        for (int i = 1; i < actionCount; i++)
+        {
+            if (outputs[i] > outputs[action])
+            {
+                action = i;
+            }
+        }
+        return action;
+    }
+
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args)
+    {
+        new RunWeightPrecisionBenchmark(args);
+    }
+}
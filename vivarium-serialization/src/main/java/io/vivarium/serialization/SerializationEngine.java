@@ -121,9 +121,12 @@ public class SerializationEngine
         {
             if (!_referenceMap.containsKey(object))
             {
+                // Objects are keyed by value, so bring them up to date before they are stored
+                object.prepareSerialization();
                 storeReferenceToID(object);
                 HashMap<String, Object> map;
                 map = serializeMapSerializer(object);
+                object.completeSerialization();
                 _collection.addObject(map);
             }
         }
@@ -244,7 +247,8 @@ public class SerializationEngine
 
     private boolean isPrimitive(Class<?> clazz)
     {
-        return clazz.isPrimitive() || clazz == Boolean.class || clazz == Integer.class || clazz == Double.class;
+        return clazz.isPrimitive() || clazz == Boolean.class || clazz == Byte.class || clazz == Integer.class
+                || clazz == Float.class || clazz == Double.class;
     }
 
     private Set<Field> getSerializedParameters(VivariumObject object)
@@ -397,6 +401,16 @@ public class SerializationEngine
             {
                 return parsePrimitive(clazz, (String) object);
             }
+            // Formats such as JSON do not distinguish integer widths, so narrow bytes back down
+            else if ((clazz == Byte.class || clazz == byte.class) && object instanceof Number)
+            {
+                return ((Number) object).byteValue();
+            }
+            // Likewise floats may come back as doubles
+            else if ((clazz == Float.class || clazz == float.class) && object instanceof Number)
+            {
+                return ((Number) object).floatValue();
+            }
             else
             {
                 return object;
@@ -418,10 +432,18 @@ public class SerializationEngine
         {
             return Boolean.parseBoolean(s);
         }
+        else if (clazz == Byte.class || clazz == byte.class)
+        {
+            return Byte.parseByte(s);
+        }
         else if (clazz == Integer.class || clazz == int.class)
         {
             return Integer.parseInt(s);
         }
+        else if (clazz == Float.class || clazz == float.class)
+        {
+            return Float.parseFloat(s);
+        }
         else if (clazz == Double.class || clazz == double.class)
         {
             return Double.parseDouble(s);
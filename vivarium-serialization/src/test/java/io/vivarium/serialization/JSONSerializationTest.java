@@ -2,16 +2,25 @@ package io.vivarium.serialization;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.ArrayList;
+
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import com.google.common.collect.Lists;
 
 import io.vivarium.core.CreatureBlueprint;
+import io.vivarium.core.FlatGridWorld;
 import io.vivarium.core.GridWorld;
 import io.vivarium.core.GridWorldBlueprint;
+import io.vivarium.core.PopulationGridWorld;
+import io.vivarium.core.processor.ActivationFunction;
+import io.vivarium.core.processor.NeuralNetwork;
+import io.vivarium.core.processor.NeuralNetworkBlueprint;
+import io.vivarium.core.processor.WeightPrecision;
 import io.vivarium.test.FastTest;
 import io.vivarium.test.IntegrationTest;
+import io.vivarium.util.Rand;
 
 public class JSONSerializationTest
 {
@@ -34,4 +43,114 @@ public class JSONSerializationTest
         // Deep compare of the worlds
         assertEquals(world, deserializeWorld);
     }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testFlatWorldSerializeAndDeserialize()
+    {
+        // Build a world with creatures
+        CreatureBlueprint creatureBlueprint = CreatureBlueprint.makeDefault();
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setCreatureBlueprints(Lists.newArrayList(creatureBlueprint));
+        FlatGridWorld world = new FlatGridWorld(worldBlueprint);
+
+        // Convert to json
+        String jsonString = JSONConverter.serializerToJSONString(world);
+
+        // Deserialize
+        FlatGridWorld deserializeWorld = JSONConverter.jsonStringToSerializerCollection(jsonString)
+                .getFirst(FlatGridWorld.class);
+
+        // Deep compare of the worlds
+        assertEquals(world, deserializeWorld);
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testPopulationWorldSerializeAndDeserialize()
+    {
+        // Build a world with creatures whose state has moved on from their starting fields
+        CreatureBlueprint creatureBlueprint = CreatureBlueprint.makeDefault();
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setCreatureBlueprints(Lists.newArrayList(creatureBlueprint));
+        PopulationGridWorld world = new PopulationGridWorld(worldBlueprint);
+        for (int i = 0; i < 10; i++)
+        {
+            world.tick();
+        }
+
+        // Convert to json
+        String jsonString = JSONConverter.serializerToJSONString(world);
+
+        // Deserialize
+        PopulationGridWorld deserializeWorld = JSONConverter.jsonStringToSerializerCollection(jsonString)
+                .getFirst(PopulationGridWorld.class);
+
+        // Deep compare of the worlds
+        assertEquals(world, deserializeWorld);
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testReducedPrecisionWorldSerializeAndDeserialize()
+    {
+        // Build a world with creatures of each reduced weight precision
+        ArrayList<CreatureBlueprint> creatureBlueprints = new ArrayList<>();
+        for (WeightPrecision precision : new WeightPrecision[] { WeightPrecision.FLOAT, WeightPrecision.INT8 })
+        {
+            CreatureBlueprint creatureBlueprint = CreatureBlueprint.makeDefault();
+            ((NeuralNetworkBlueprint) creatureBlueprint.getProcessorBlueprints()[0]).setWeightPrecision(precision);
+            creatureBlueprints.add(creatureBlueprint);
+        }
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setCreatureBlueprints(creatureBlueprints);
+        GridWorld world = new GridWorld(worldBlueprint);
+
+        // Convert to json
+        String jsonString = JSONConverter.serializerToJSONString(world);
+
+        // Deserialize
+        GridWorld deserializeWorld = JSONConverter.jsonStringToSerializerCollection(jsonString).getFirst(GridWorld.class);
+
+        // Deep compare of the worlds
+        assertEquals(world, deserializeWorld);
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testNeuralNetworkSerializeAndDeserialize()
+    {
+        double[] inputs = { 1.0, 0.5, 0.0, -0.5, -1.0 };
+        for (WeightPrecision precision : WeightPrecision.values())
+        {
+            // Build a network with hidden layers, whose weights are stored flat in the chosen precision
+            NeuralNetwork network = new NeuralNetwork(5, 3, 2, 1, 0, precision, ActivationFunction.EXACT);
+
+            // Convert to json
+            String jsonString = JSONConverter.serializerToJSONString(network);
+
+            // Deserialize
+            NeuralNetwork deserializeNetwork = JSONConverter.jsonStringToSerializerCollection(jsonString)
+                    .getFirst(NeuralNetwork.class);
+
+            // Deep compare of the networks, and check that they still compute the same outputs
+            assertEquals(network, deserializeNetwork);
+            assertEquals(precision, deserializeNetwork.getWeightPrecision());
+            assertEquals(5, deserializeNetwork.getInputCount());
+            assertEquals(3, deserializeNetwork.getOutputCount());
+            assertEquals(2, deserializeNetwork.getHiddenLayerCount());
+            assertEquals(network.getWeight(2, 4), deserializeNetwork.getWeight(2, 4), 0.0);
+            Rand.getInstance().setRandomSeed(23);
+            double[] outputs = network.outputs(inputs).clone();
+            Rand.getInstance().setRandomSeed(23);
+            double[] deserializeOutputs = deserializeNetwork.outputs(inputs).clone();
+            for (int i = 0; i < outputs.length; i++)
+            {
+                assertEquals(outputs[i], deserializeOutputs[i], 0.0);
+            }
+        }
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
 }
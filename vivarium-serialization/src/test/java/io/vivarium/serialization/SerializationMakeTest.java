@@ -1,5 +1,9 @@
 package io.vivarium.serialization;
 
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
@@ -11,12 +15,16 @@ import io.vivarium.core.GridWorld;
 import io.vivarium.core.GridWorldBlueprint;
 import io.vivarium.core.processor.DecisionTree;
 import io.vivarium.core.processor.DecisionTreeBlueprint;
+import io.vivarium.core.processor.Multiplexer;
 import io.vivarium.core.processor.NeuralNetwork;
 import io.vivarium.core.processor.NeuralNetworkBlueprint;
+import io.vivarium.core.processor.Processor;
+import io.vivarium.core.processor.ProcessorBlueprint;
 import io.vivarium.core.processor.RandomGenerator;
 import io.vivarium.core.processor.RandomGeneratorBlueprint;
 import io.vivarium.test.FastTest;
 import io.vivarium.test.IntegrationTest;
+import io.vivarium.util.Rand;
 
 public class SerializationMakeTest
 {
@@ -76,6 +84,20 @@ public class SerializationMakeTest
         Tester.isNotNull("NeuralNetwork copy should exist", processorCopy);
     }
 
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testNeuralNetworkDropsSerializedWeightsAfterSerializing() throws Exception
+    {
+        NeuralNetwork processor = NeuralNetworkBlueprint.makeDefault(7, 3).makeProcessor();
+        NeuralNetwork processorCopy = new SerializationEngine().makeCopy(processor);
+        Tester.equal("NeuralNetwork copy should match the original", processorCopy, processor);
+        Field weights = NeuralNetwork.class.getDeclaredField("_weights");
+        weights.setAccessible(true);
+        Tester.isTrue("A serialized network should not keep its weights as rows", weights.get(processor) == null);
+        Tester.isTrue("A deserialized network should not keep its weights as rows",
+                weights.get(processorCopy) == null);
+    }
+
     @Test
     @Category({ FastTest.class, IntegrationTest.class })
     public void testDecisionTreeMakeDefault() throws Exception
@@ -139,4 +161,110 @@ public class SerializationMakeTest
         GridWorld copy = new SerializationEngine().makeCopy(world);
         Tester.isNotNull("World copy should exist", copy);
     }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testWorldCopyTicksIdentically() throws Exception
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(30);
+        worldBlueprint.setSoundEnabled(true);
+        worldBlueprint.setSignEnabled(true);
+        GridWorld world = new GridWorld(worldBlueprint);
+        for (int i = 0; i < 50; i++)
+        {
+            world.tick();
+        }
+
+        // The copy rebuilds its creature index from the grid, while the original has been maintaining its index
+        // incrementally, so both should visit the same creatures in the same order from here on
+        GridWorld copy = new SerializationEngine().makeCopy(world);
+        Rand.getInstance().setRandomSeed(7);
+        for (int i = 0; i < 50; i++)
+        {
+            world.tick();
+        }
+        Rand.getInstance().setRandomSeed(7);
+        for (int i = 0; i < 50; i++)
+        {
+            copy.tick();
+        }
+
+        Tester.greaterThan("World should still be populated", world.getCreatureCount(), 0);
+        Tester.equal("Creature counts should match", copy.getCreatureCount(), world.getCreatureCount());
+        for (int r = 0; r < world.getHeight(); r++)
+        {
+            for (int c = 0; c < world.getWidth(); c++)
+            {
+                Creature creature = world.getCreature(r, c);
+                Creature creatureCopy = copy.getCreature(r, c);
+                if (creature == null)
+                {
+                    Tester.isTrue("Square should be empty at " + r + "," + c, creatureCopy == null);
+                }
+                else
+                {
+                    Tester.equal("Creature IDs should match at " + r + "," + c, creatureCopy.getID(),
+                            creature.getID());
+                }
+            }
+        }
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
+
+    @Test
+    @Category({ FastTest.class, IntegrationTest.class })
+    public void testMultiplexerGathersMixedWiring() throws Exception
+    {
+        NeuralNetworkBlueprint first = NeuralNetworkBlueprint.makeDefault(4, 6);
+        NeuralNetworkBlueprint second = NeuralNetworkBlueprint.makeDefault(6, 2);
+        Multiplexer sequential = Multiplexer.makeWithSequentialProcessors(4, 2,
+                new ProcessorBlueprint[] { first, second });
+
+        // Rewire the second processor to take a mix of multiplexer inputs and permuted outputs of the first, a wiring
+        // which can only be loaded from a serialized multiplexer
+        int[] source = new int[] { -1, 0, 0, -1, 0, 0 };
+        int[] index = new int[] { 2, 5, 0, 1, 3, 4 };
+        SerializationEngine engine = new SerializationEngine();
+        MapCollection collection = engine.serialize(sequential);
+        for (HashMap<String, Object> map : collection)
+        {
+            if (sequential.getUUID().toString().equals(map.get(SerializationEngine.ID_KEY)))
+            {
+                map.put("source", Arrays.asList(Arrays.asList(-1, -1, -1, -1), Arrays.asList(-1, 0, 0, -1, 0, 0)));
+                map.put("index", Arrays.asList(Arrays.asList(0, 1, 2, 3), Arrays.asList(2, 5, 0, 1, 3, 4)));
+            }
+        }
+        Multiplexer multiplexer = (Multiplexer) engine.deserializeCollection(collection)
+                .getObject(sequential.getUUID());
+
+        double[][] inputBuffers = multiplexer.makeInputBuffers();
+        Tester.isTrue("Processor fed by the multiplexer inputs should have no buffer", inputBuffers[0] == null);
+        Tester.equal("Gathered processor should have a buffer of its inputs", inputBuffers[1].length, 6);
+
+        Processor[] processors = new Processor[] { first.makeProcessor(), second.makeProcessor() };
+        double[] inputs = new double[] { 0.3, 0.2, -0.9, 0.5 };
+        Rand.getInstance().setRandomSeed(10);
+        double[] firstOutputs = processors[0].outputs(inputs).clone();
+        double[] gathered = new double[source.length];
+        for (int j = 0; j < source.length; j++)
+        {
+            gathered[j] = source[j] == -1 ? inputs[index[j]] : firstOutputs[index[j]];
+        }
+        double[] expected = processors[1].outputs(gathered).clone();
+
+        Rand.getInstance().setRandomSeed(10);
+        double[] outputs = multiplexer.outputs(inputs, processors, inputBuffers, new double[2][]);
+        Tester.equal("Multiplexer should output the last processor's outputs", outputs.length, 2);
+        for (int i = 0; i < expected.length; i++)
+        {
+            Tester.equal("Multiplexer output " + i + " should match gathering inputs element by element", outputs[i],
+                    expected[i], 0.0);
+        }
+
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+    }
 }
@@ -2,7 +2,7 @@ package io.vivarium.visualizer;
 
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -29,6 +29,7 @@ import com.google.common.collect.Lists;
 import io.vivarium.core.Action;
 import io.vivarium.core.Creature;
 import io.vivarium.core.CreatureBlueprint;
+import io.vivarium.core.CreatureVisitor;
 import io.vivarium.core.DynamicBalancer;
 import io.vivarium.core.GridWorld;
 import io.vivarium.core.GridWorldBlueprint;
@@ -55,6 +56,7 @@ public class Vivarium extends ApplicationAdapter implements InputProcessor
     private boolean _enableInterpolation = false;
     private Map<Integer, GridCreatureDelegate> _animationCreatureDelegates = new HashMap<>();
     private Creature _selectedCreature;
+    private GenerationTotal _generationTotal = new GenerationTotal();
 
     // Low Level Graphics information
     private SpriteBatch _batch;
@@ -108,7 +110,7 @@ public class Vivarium extends ApplicationAdapter implements InputProcessor
         _gridWorld.setDynamicBalancer(DynamicBalancer.makeDefault());
 
         // Start with selected creature
-        LinkedList<Creature> creatures = _gridWorld.getCreatures();
+        List<Creature> creatures = _gridWorld.getSortedCreatures();
         if (creatures.size() > 41)
         {
             _selectedCreature = creatures.get(41);
@@ -393,13 +395,9 @@ public class Vivarium extends ApplicationAdapter implements InputProcessor
     {
         fpsLabel.setText("fps: " + Gdx.graphics.getFramesPerSecond());
         populationLabel.setText("population: " + _gridWorld.getCreatureCount());
-        LinkedList<Creature> creatures = _gridWorld.getCreatures();
-        double generation = 0;
-        for (Creature creature : creatures)
-        {
-            generation += creature.getGeneration();
-        }
-        generation /= creatures.size();
+        _generationTotal._generation = 0;
+        _gridWorld.forEachCreature(_generationTotal);
+        double generation = _generationTotal._generation / _gridWorld.getCreatureCount();
         generationLabel.setText("generation: " + ((int) (generation * 100) / 100.0));
         foodSupplyLabel.setText("food: " + _gridWorld.getItemCount());
         foodSpawnRateLabel
@@ -784,4 +782,15 @@ public class Vivarium extends ApplicationAdapter implements InputProcessor
         stage.scrolled(amount);
         return false;
     }
+
+    private static class GenerationTotal implements CreatureVisitor
+    {
+        private double _generation;
+
+        @Override
+        public void visit(Creature creature)
+        {
+            _generation += creature.getGeneration();
+        }
+    }
 }
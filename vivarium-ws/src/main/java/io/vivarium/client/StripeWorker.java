@@ -0,0 +1,186 @@
+package io.vivarium.client;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.java_websocket.WebSocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.vivarium.core.StripeExchange;
+import io.vivarium.core.StripeGridWorld;
+import io.vivarium.core.StripeSquares;
+import io.vivarium.net.messages.Message;
+import io.vivarium.net.messages.StripeAssignmentMessage;
+import io.vivarium.net.messages.StripeBirthCountMessage;
+import io.vivarium.net.messages.StripeBirthCountsMessage;
+import io.vivarium.net.messages.StripeResultMessage;
+import io.vivarium.net.messages.StripeSquaresMessage;
+import io.vivarium.serialization.JSONConverter;
+import io.vivarium.util.Rand;
+import io.vivarium.util.concurrency.ForkJoinParallelExecutor;
+import io.vivarium.util.concurrency.TaskRandAllocator;
+
+/**
+ * Simulates the stripe of a world a worker has been assigned, see StripeGridWorld. The stripe is ticked on its own
+ * thread, drawing from a random stream seeded by the assignment, and exchanges squares and birth counts with the other
+ * stripes through the server. Once every tick has run the stripe is sent back to the server.
+ */
+public class StripeWorker implements Runnable, StripeExchange
+{
+    private final WebSocket _webSocket;
+    private final StripeAssignmentMessage _assignment;
+    private final ObjectMapper _mapper = new ObjectMapper();
+    private final TaskRandAllocator _randAllocator = TaskRandAllocator.install();
+    // Messages are built and squares deserialized drawing from this stream, leaving the stripe's stream untouched
+    private final Rand _exchangeRand = new Rand();
+    private final BlockingQueue<StripeSquaresMessage> _squaresFromAbove = new LinkedBlockingQueue<>();
+    private final BlockingQueue<StripeSquaresMessage> _squaresFromBelow = new LinkedBlockingQueue<>();
+    private final BlockingQueue<int[]> _birthCounts = new LinkedBlockingQueue<>();
+
+    public StripeWorker(WebSocket webSocket, StripeAssignmentMessage assignment)
+    {
+        _webSocket = webSocket;
+        _assignment = assignment;
+    }
+
+    public void acceptSquares(StripeSquaresMessage message)
+    {
+        if (message.getSourceStripe() < message.getTargetStripe())
+        {
+            _squaresFromAbove.add(message);
+        }
+        else
+        {
+            _squaresFromBelow.add(message);
+        }
+    }
+
+    public void acceptBirthCounts(StripeBirthCountsMessage message)
+    {
+        _birthCounts.add(message.getBirthCounts());
+    }
+
+    @Override
+    public void run()
+    {
+        final StripeGridWorld[] stripe = new StripeGridWorld[1];
+        _randAllocator.runWith(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                stripe[0] = JSONConverter.jsonStringToSerializerCollection(_assignment.getDataString())
+                        .getFirst(StripeGridWorld.class);
+            }
+        }, _exchangeRand);
+        ForkJoinParallelExecutor executor = new ForkJoinParallelExecutor();
+        stripe[0].setPlanExecutor(executor);
+        stripe[0].setActionExecutor(executor);
+        stripe[0].setExchange(this);
+
+        Rand stripeRand = new Rand();
+        stripeRand.setRandomSeed(_assignment.getSeed());
+        _randAllocator.runWith(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                for (int tick = 0; tick < _assignment.getTickCount(); tick++)
+                {
+                    stripe[0].tick();
+                }
+            }
+        }, stripeRand);
+
+        _randAllocator.runWith(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                send(new StripeResultMessage(_assignment.getRunID(), _assignment.getStripeIndex(),
+                        JSONConverter.serializerToJSONString(stripe[0])));
+            }
+        }, _exchangeRand);
+    }
+
+    @Override
+    public int[] exchangeBirthCounts(final int births)
+    {
+        final int[][] birthCounts = new int[1][];
+        _randAllocator.runWith(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                send(new StripeBirthCountMessage(_assignment.getRunID(), _assignment.getStripeIndex(), births));
+                birthCounts[0] = take(_birthCounts);
+            }
+        }, _exchangeRand);
+        return birthCounts[0];
+    }
+
+    @Override
+    public StripeSquares[] exchangeSquares(final StripeSquares toAbove, final StripeSquares toBelow)
+    {
+        final StripeSquares[] received = new StripeSquares[2];
+        _randAllocator.runWith(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                int stripeIndex = _assignment.getStripeIndex();
+                if (toAbove != null)
+                {
+                    send(new StripeSquaresMessage(_assignment.getRunID(), stripeIndex, stripeIndex - 1,
+                            JSONConverter.serializerToJSONString(toAbove)));
+                }
+                if (toBelow != null)
+                {
+                    send(new StripeSquaresMessage(_assignment.getRunID(), stripeIndex, stripeIndex + 1,
+                            JSONConverter.serializerToJSONString(toBelow)));
+                }
+                if (toAbove != null)
+                {
+                    received[0] = takeSquares(_squaresFromAbove);
+                }
+                if (toBelow != null)
+                {
+                    received[1] = takeSquares(_squaresFromBelow);
+                }
+            }
+        }, _exchangeRand);
+        return received;
+    }
+
+    private void send(Message message)
+    {
+        try
+        {
+            _webSocket.send(_mapper.writeValueAsString(message));
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static StripeSquares takeSquares(BlockingQueue<StripeSquaresMessage> queue)
+    {
+        String dataString = take(queue).getDataString();
+        return JSONConverter.jsonStringToSerializerCollection(dataString).getFirst(StripeSquares.class);
+    }
+
+    private static <T> T take(BlockingQueue<T> queue)
+    {
+        try
+        {
+            return queue.take();
+        }
+        catch (InterruptedException e)
+        {
+            throw new IllegalStateException("Interrupted while waiting on the other stripes", e);
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package io.vivarium.client;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.channels.NotYetConnectedException;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.java_websocket.handshake.ServerHandshake;
 
@@ -11,17 +14,28 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.vivarium.net.Constants;
+import io.vivarium.net.messages.Message;
+import io.vivarium.net.messages.StripeAssignmentMessage;
+import io.vivarium.net.messages.StripeBirthCountsMessage;
+import io.vivarium.net.messages.StripeSquaresMessage;
 import io.vivarium.net.messages.WorkerPledgeMessage;
 import io.vivarium.server.ClientConnectionManager;
+import io.vivarium.util.UUID;
 
 public class WorkerClient extends VivariumResearchClient
 {
     private final WorkerConfig _config;
     private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<UUID, StripeWorker> _stripeWorkers = new HashMap<>();
 
     public WorkerClient(WorkerConfig config) throws URISyntaxException
     {
-        super(new URI("ws", null, "localhost", Constants.DEFAULT_PORT, "/", null, null), config.workerID);
+        this(config, new URI("ws", null, "localhost", Constants.DEFAULT_PORT, "/", null, null));
+    }
+
+    public WorkerClient(WorkerConfig config, URI serverURI)
+    {
+        super(serverURI, config.workerID);
         _config = config;
     }
 
@@ -42,7 +56,62 @@ public class WorkerClient extends VivariumResearchClient
     @Override
     public void onMessage(String message)
     {
-        System.out.println("WORKER: message received " + message);
+        try
+        {
+            Message untypedMessage = mapper.readValue(message, Message.class);
+            if (untypedMessage instanceof StripeAssignmentMessage)
+            {
+                startStripe((StripeAssignmentMessage) untypedMessage);
+            }
+            else if (untypedMessage instanceof StripeSquaresMessage)
+            {
+                StripeSquaresMessage squaresMessage = (StripeSquaresMessage) untypedMessage;
+                getStripeWorker(squaresMessage.getRunID()).acceptSquares(squaresMessage);
+            }
+            else if (untypedMessage instanceof StripeBirthCountsMessage)
+            {
+                StripeBirthCountsMessage birthCountsMessage = (StripeBirthCountsMessage) untypedMessage;
+                getStripeWorker(birthCountsMessage.getRunID()).acceptBirthCounts(birthCountsMessage);
+            }
+            else
+            {
+                System.out.println("WORKER: message received " + message);
+            }
+        }
+        catch (IOException e)
+        {
+            e.printStackTrace();
+        }
+    }
+
+    private synchronized void startStripe(final StripeAssignmentMessage assignment)
+    {
+        final StripeWorker stripeWorker = new StripeWorker(getConnection(), assignment);
+        _stripeWorkers.put(assignment.getRunID(), stripeWorker);
+        Thread stripeThread = new Thread(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                stripeWorker.run();
+                removeStripeWorker(assignment.getRunID());
+            }
+        }, "Stripe " + assignment.getStripeIndex() + " of run " + assignment.getRunID());
+        stripeThread.start();
+    }
+
+    private synchronized StripeWorker getStripeWorker(UUID runID)
+    {
+        if (!_stripeWorkers.containsKey(runID))
+        {
+            throw new IllegalStateException("No stripe of run " + runID + " is assigned to this worker");
+        }
+        return _stripeWorkers.get(runID);
+    }
+
+    private synchronized void removeStripeWorker(UUID runID)
+    {
+        _stripeWorkers.remove(runID);
     }
 
     @Override
@@ -61,10 +61,11 @@ public class ClientConnectionManager implements StartableStoppable
     public synchronized void stop()
     {
         _webSocketToWorkerID.clear();
-        for (UUID uuid : _workerIDToConnection.keySet())
+        for (ClientConnection connection : _workerIDToConnection.values())
         {
-            _workerIDToConnection.remove(uuid).stop();
+            connection.stop();
         }
+        _workerIDToConnection.clear();
     }
 
     private void internalDeregisterWorker(UUID workerID, WebSocket workerSocket)
@@ -17,6 +17,9 @@ import io.vivarium.net.messages.Message;
 import io.vivarium.net.messages.RequestResourceMessage;
 import io.vivarium.net.messages.ResourceFormat;
 import io.vivarium.net.messages.SendResourceMessage;
+import io.vivarium.net.messages.StripeBirthCountMessage;
+import io.vivarium.net.messages.StripeResultMessage;
+import io.vivarium.net.messages.StripeSquaresMessage;
 import io.vivarium.net.messages.WorkerPledgeMessage;
 import io.vivarium.persistence.CreateWorldJobModel;
 import io.vivarium.persistence.JobModel;
@@ -37,14 +40,16 @@ public class MessageRouter implements StartableStoppable
     private final PersistenceModule _persistenceModule;
     private final ClientConnectionManager _connectionManager;
     private final VoidFunctionScheduler _enforcerScheduler;
+    private final StripeCoordinator _stripeCoordinator;
     private final ObjectMapper mapper = new ObjectMapper();
 
     public MessageRouter(PersistenceModule persistenceModule, ClientConnectionManager connectionManager,
-            VoidFunctionScheduler enforcerScheduler)
+            VoidFunctionScheduler enforcerScheduler, StripeCoordinator stripeCoordinator)
     {
         _persistenceModule = persistenceModule;
         _connectionManager = connectionManager;
         _enforcerScheduler = enforcerScheduler;
+        _stripeCoordinator = stripeCoordinator;
     }
 
     @Override
@@ -94,6 +99,18 @@ public class MessageRouter implements StartableStoppable
                 System.out.println("CreateJobMessage: " + message);
                 acceptJob(conn, (CreateJobMessage) untypedMessage);
             }
+            else if (untypedMessage instanceof StripeSquaresMessage)
+            {
+                _stripeCoordinator.relaySquares((StripeSquaresMessage) untypedMessage);
+            }
+            else if (untypedMessage instanceof StripeBirthCountMessage)
+            {
+                _stripeCoordinator.acceptBirthCount((StripeBirthCountMessage) untypedMessage);
+            }
+            else if (untypedMessage instanceof StripeResultMessage)
+            {
+                _stripeCoordinator.acceptResult((StripeResultMessage) untypedMessage);
+            }
             else
             {
                 System.err.println("SERVER: Unhandled message of type " + untypedMessage.getClass().getSimpleName());
@@ -0,0 +1,162 @@
+package io.vivarium.server;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import org.java_websocket.WebSocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.vivarium.core.GridWorld;
+import io.vivarium.core.StripeGridWorld;
+import io.vivarium.net.messages.Message;
+import io.vivarium.net.messages.StripeAssignmentMessage;
+import io.vivarium.net.messages.StripeBirthCountMessage;
+import io.vivarium.net.messages.StripeBirthCountsMessage;
+import io.vivarium.net.messages.StripeResultMessage;
+import io.vivarium.net.messages.StripeSquaresMessage;
+import io.vivarium.serialization.JSONConverter;
+import io.vivarium.util.UUID;
+import io.vivarium.util.concurrency.SimpleFuture;
+
+/**
+ * Simulates a world split into stripes across several workers, see StripeGridWorld. Each worker is sent one stripe,
+ * and the server relays the squares and birth counts the stripes exchange while they tick. Once every worker has sent
+ * back its stripe, the stripes are assembled into a single world.
+ */
+public class StripeCoordinator
+{
+    private final ClientConnectionManager _connectionManager;
+    private final ObjectMapper _mapper = new ObjectMapper();
+    private final Map<UUID, StripeRun> _runs = new HashMap<>();
+
+    public StripeCoordinator(ClientConnectionManager connectionManager)
+    {
+        _connectionManager = connectionManager;
+    }
+
+    /**
+     * Splits a world into one stripe per worker and starts the workers ticking them. The results match ticking the
+     * world itself, with a plan executor and an action executor set, after seeding the random stream with the same
+     * seed.
+     *
+     * @param world
+     *            the world to simulate, which is split up and should not be used afterwards
+     * @param workerIDs
+     *            the connected workers to simulate the stripes, from the top of the world down
+     * @param haloDepth
+     *            the number of rows each stripe holds copies of on either side, see StripeGridWorld.split
+     * @param seed
+     *            the seed for the random stream of every stripe
+     * @param tickCount
+     *            the number of ticks to simulate
+     * @return the world as it is after the last tick, once every stripe has finished
+     */
+    public synchronized Future<GridWorld> startRun(GridWorld world, List<UUID> workerIDs, int haloDepth, int seed,
+            int tickCount)
+    {
+        StripeGridWorld[] stripes = StripeGridWorld.split(world, workerIDs.size(), haloDepth);
+        StripeRun run = new StripeRun(stripes.length);
+        UUID runID = UUID.randomUUID();
+        _runs.put(runID, run);
+        for (int i = 0; i < stripes.length; i++)
+        {
+            run._webSockets[i] = getWebSocket(workerIDs.get(i));
+        }
+        for (int i = 0; i < stripes.length; i++)
+        {
+            String dataString = JSONConverter.serializerToJSONString(stripes[i]);
+            send(run._webSockets[i],
+                    new StripeAssignmentMessage(runID, i, stripes.length, seed, tickCount, dataString));
+        }
+        return run._result;
+    }
+
+    public synchronized void relaySquares(StripeSquaresMessage message)
+    {
+        StripeRun run = getRun(message.getRunID());
+        send(run._webSockets[message.getTargetStripe()], message);
+    }
+
+    public synchronized void acceptBirthCount(StripeBirthCountMessage message)
+    {
+        StripeRun run = getRun(message.getRunID());
+        run._birthCounts[message.getStripeIndex()] = message.getBirthCount();
+        run._birthCountsReceived++;
+        // No stripe can report the births of its next wave until it has heard back about this one
+        if (run._birthCountsReceived == run._webSockets.length)
+        {
+            StripeBirthCountsMessage response = new StripeBirthCountsMessage(message.getRunID(), run._birthCounts);
+            for (WebSocket webSocket : run._webSockets)
+            {
+                send(webSocket, response);
+            }
+            run._birthCounts = new int[run._webSockets.length];
+            run._birthCountsReceived = 0;
+        }
+    }
+
+    public synchronized void acceptResult(StripeResultMessage message)
+    {
+        StripeRun run = getRun(message.getRunID());
+        run._stripes[message.getStripeIndex()] = JSONConverter
+                .jsonStringToSerializerCollection(message.getDataString()).getFirst(StripeGridWorld.class);
+        run._stripesReceived++;
+        if (run._stripesReceived == run._stripes.length)
+        {
+            _runs.remove(message.getRunID());
+            run._result.put(StripeGridWorld.assemble(run._stripes));
+        }
+    }
+
+    private StripeRun getRun(UUID runID)
+    {
+        if (!_runs.containsKey(runID))
+        {
+            throw new IllegalStateException("Striped run " + runID + " is not known.");
+        }
+        return _runs.get(runID);
+    }
+
+    private WebSocket getWebSocket(UUID workerID)
+    {
+        ClientConnection connection = _connectionManager.getConnectionForWorker(workerID);
+        if (!connection.getWebSocket().isPresent())
+        {
+            throw new IllegalStateException("Worker " + workerID + " is not connected.");
+        }
+        return connection.getWebSocket().get();
+    }
+
+    private void send(WebSocket webSocket, Message message)
+    {
+        try
+        {
+            webSocket.send(_mapper.writeValueAsString(message));
+        }
+        catch (JsonProcessingException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class StripeRun
+    {
+        private final WebSocket[] _webSockets;
+        private final StripeGridWorld[] _stripes;
+        private final SimpleFuture<GridWorld> _result = new SimpleFuture<>();
+        private int[] _birthCounts;
+        private int _birthCountsReceived;
+        private int _stripesReceived;
+
+        private StripeRun(int stripeCount)
+        {
+            _webSockets = new WebSocket[stripeCount];
+            _stripes = new StripeGridWorld[stripeCount];
+            _birthCounts = new int[stripeCount];
+        }
+    }
+}
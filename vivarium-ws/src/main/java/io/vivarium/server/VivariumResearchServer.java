@@ -52,7 +52,9 @@ public class VivariumResearchServer implements StartableStoppable
         WorkloadEnforcer workloadEnforcer = new WorkloadEnforcer(persistenceModule, jobAssignmentThreadFactory);
         VoidFunctionScheduler enforcerScheduler = new VoidFunctionScheduler(workloadEnforcer,
                 WorkloadEnforcer.DEFAULT_ENFORCE_TIME_GAP_IN_MS);
-        MessageRouter messageRouter = new MessageRouter(persistenceModule, clientConnectionManager, enforcerScheduler);
+        StripeCoordinator stripeCoordinator = new StripeCoordinator(clientConnectionManager);
+        MessageRouter messageRouter = new MessageRouter(persistenceModule, clientConnectionManager, enforcerScheduler,
+                stripeCoordinator);
         InetSocketAddress port = new InetSocketAddress(Constants.DEFAULT_PORT);
         ServerNetworkModule networkModule = new ServerNetworkModule(port, messageRouter);
 
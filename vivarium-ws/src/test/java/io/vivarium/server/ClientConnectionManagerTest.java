@@ -1,6 +1,9 @@
 package io.vivarium.server;
 
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import org.java_websocket.WebSocket;
 import org.junit.Test;
@@ -44,4 +47,27 @@ public class ClientConnectionManagerTest
                 fetchedConnection.getWebSocket().get() == fetchedConnection2.getWebSocket().get());
     }
 
+    @Test
+    @Category({ FastTest.class, UnitTest.class })
+    public void testStopClosesEveryWorker()
+    {
+        // Create CCM
+        ClientConnectionFactory factory = new ClientConnectionFactory();
+        ClientConnectionManager manager = new ClientConnectionManager(factory);
+
+        // Register several workers, stopping each must not disturb the iteration over the rest
+        WebSocket[] workerSockets = new WebSocket[3];
+        for (int i = 0; i < workerSockets.length; i++)
+        {
+            workerSockets[i] = mock(WebSocket.class);
+            manager.registerWorker(UUID.randomUUID(), workerSockets[i]);
+        }
+
+        manager.stop();
+
+        for (WebSocket workerSocket : workerSockets)
+        {
+            verify(workerSocket).close(eq(ClientConnectionManager.SERVER_SHUTDOWN), anyString());
+        }
+    }
 }
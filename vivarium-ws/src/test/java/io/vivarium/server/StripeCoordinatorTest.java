@@ -0,0 +1,194 @@
+package io.vivarium.server;
+
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.johnuckele.vtest.Tester;
+
+import io.vivarium.client.WorkerClient;
+import io.vivarium.client.WorkerConfig;
+import io.vivarium.core.Creature;
+import io.vivarium.core.GridWorld;
+import io.vivarium.core.GridWorldBlueprint;
+import io.vivarium.core.StripeGridWorld;
+import io.vivarium.core.TerrainType;
+import io.vivarium.net.Constants;
+import io.vivarium.persistence.PersistenceModule;
+import io.vivarium.serialization.FileIO;
+import io.vivarium.serialization.JSONConverter;
+import io.vivarium.test.FastTest;
+import io.vivarium.test.SystemTest;
+import io.vivarium.util.Rand;
+import io.vivarium.util.UUID;
+import io.vivarium.util.concurrency.ForkJoinParallelExecutor;
+import io.vivarium.util.concurrency.VoidFunctionScheduler;
+
+public class StripeCoordinatorTest
+{
+    private static final int PORT = Constants.DEFAULT_PORT + 2;
+    private static final int WORKER_COUNT = 3;
+    private static final int RUN_SEED = 7;
+    private static final int TICK_COUNT = 60;
+
+    @Test
+    @Category({ FastTest.class, SystemTest.class })
+    public void testStripedRunsMatchWorld() throws Exception
+    {
+        // Make sure the stripe classes are registered before the workers deserialize them
+        Class.forName(StripeGridWorld.class.getName());
+        String worldJSON = JSONConverter.serializerToJSONString(buildWorld());
+
+        GridWorld referenceWorld = JSONConverter.jsonStringToSerializerCollection(worldJSON).getFirst(GridWorld.class);
+        ForkJoinParallelExecutor executor = new ForkJoinParallelExecutor();
+        referenceWorld.setPlanExecutor(executor);
+        referenceWorld.setActionExecutor(executor);
+        Rand.getInstance().setRandomSeed(RUN_SEED);
+        for (int i = 0; i < TICK_COUNT; i++)
+        {
+            referenceWorld.tick();
+        }
+        // Clear the seed
+        Rand.getInstance().setRandomSeed();
+
+        ClientConnectionManager connectionManager = new ClientConnectionManager(new ClientConnectionFactory());
+        StripeCoordinator coordinator = new StripeCoordinator(connectionManager);
+        MessageRouter router = new MessageRouter(mock(PersistenceModule.class), connectionManager,
+                mock(VoidFunctionScheduler.class), coordinator);
+        ServerNetworkModule networkModule = new ServerNetworkModule(new InetSocketAddress(PORT), router);
+        networkModule.start();
+
+        List<UUID> workerIDs = new ArrayList<>();
+        List<WorkerClient> workers = new ArrayList<>();
+        for (int i = 0; i < WORKER_COUNT; i++)
+        {
+            UUID workerID = UUID.randomUUID();
+            File configFile = File.createTempFile("worker_config", ".json");
+            configFile.deleteOnExit();
+            FileIO.saveStringToFile("{\"workerID\":\"" + workerID + "\",\"throughputs\":[1]}", configFile);
+            WorkerClient worker = new WorkerClient(WorkerConfig.loadWorkerConfig(configFile, false),
+                    new URI("ws", null, "localhost", PORT, "/", null, null));
+            Tester.isTrue("Worker should connect", worker.connectBlocking());
+            workerIDs.add(workerID);
+            workers.add(worker);
+        }
+        awaitRegistration(connectionManager, workerIDs);
+
+        try
+        {
+            for (int stripeCount = 1; stripeCount <= WORKER_COUNT; stripeCount++)
+            {
+                GridWorld world = JSONConverter.jsonStringToSerializerCollection(worldJSON).getFirst(GridWorld.class);
+                GridWorld stripedWorld = coordinator
+                        .startRun(world, workerIDs.subList(0, stripeCount), 4, RUN_SEED, TICK_COUNT)
+                        .get(60, TimeUnit.SECONDS);
+                assertWorldsMatch(referenceWorld, stripedWorld, stripeCount);
+            }
+        }
+        finally
+        {
+            for (WorkerClient worker : workers)
+            {
+                worker.closeBlocking();
+            }
+            networkModule.stop();
+        }
+    }
+
+    private static GridWorld buildWorld()
+    {
+        GridWorldBlueprint worldBlueprint = GridWorldBlueprint.makeDefault();
+        worldBlueprint.setSize(64);
+        worldBlueprint.setSoundEnabled(true);
+        worldBlueprint.setSoundCutoffRadius(4);
+        worldBlueprint.setSignEnabled(true);
+        GridWorld world = new GridWorld(worldBlueprint);
+        // Put emitters on either side of the stripe edges
+        int[] emitterRows = { 15, 16, 31, 32 };
+        for (int i = 0; i < emitterRows.length; i++)
+        {
+            int c = 8 + 12 * i;
+            world.removeCreature(emitterRows[i], c);
+            world.removeFood(emitterRows[i], c);
+            world.setTerrain(i % 2 == 0 ? TerrainType.FLAMETHROWER : TerrainType.FOOD_GENERATOR, emitterRows[i], c);
+        }
+        // Births are rare for unevolved creatures, so make the females pregnant with births spread over the run
+        for (Creature creature : world.getCreatures())
+        {
+            if (creature.getIsFemale())
+            {
+                creature.setGestation(creature.getBlueprint().getMaximumGestation() - creature.getID() % 40);
+                creature.setFetus(new Creature(creature));
+            }
+        }
+        return world;
+    }
+
+    private static void awaitRegistration(ClientConnectionManager connectionManager, List<UUID> workerIDs)
+            throws InterruptedException
+    {
+        for (UUID workerID : workerIDs)
+        {
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (true)
+            {
+                try
+                {
+                    connectionManager.getConnectionForWorker(workerID);
+                    break;
+                }
+                catch (IllegalStateException e)
+                {
+                    if (System.currentTimeMillis() > deadline)
+                    {
+                        throw e;
+                    }
+                    Thread.sleep(10);
+                }
+            }
+        }
+    }
+
+    private static void assertWorldsMatch(GridWorld expected, GridWorld actual, int stripeCount)
+    {
+        String run = " with " + stripeCount + " stripes";
+        Tester.greaterThan("World should still be populated", expected.getCreatureCount(), 0);
+        Tester.equal("Creature counts should match" + run, actual.getCreatureCount(), expected.getCreatureCount());
+        Tester.equal("Item counts should match" + run, actual.getItemCount(), expected.getItemCount());
+        Tester.equal("Terrain counts should match" + run, actual.getTerrainCount(), expected.getTerrainCount());
+        Tester.equal("Maximum creature IDs should match" + run, actual.getMaximimCreatureID(),
+                expected.getMaximimCreatureID());
+        for (int r = 0; r < expected.getHeight(); r++)
+        {
+            for (int c = 0; c < expected.getWidth(); c++)
+            {
+                String square = " at " + r + "," + c + run;
+                Tester.equal("Items should match" + square, actual.getItem(r, c), expected.getItem(r, c));
+                Tester.equal("Terrain should match" + square, actual.getTerrain(r, c), expected.getTerrain(r, c));
+                Creature creature = expected.getCreature(r, c);
+                Creature otherCreature = actual.getCreature(r, c);
+                if (creature == null)
+                {
+                    Tester.isTrue("Square should be empty" + square, otherCreature == null);
+                }
+                else
+                {
+                    Tester.isNotNull("Square should have a creature" + square, otherCreature);
+                    Tester.equal("Creature IDs should match" + square, otherCreature.getID(), creature.getID());
+                    Tester.equal("Creature food should match" + square, otherCreature.getFood(), creature.getFood());
+                    Tester.equal("Creature health should match" + square, otherCreature.getHealth(),
+                            creature.getHealth());
+                    Tester.equal("Creature ages should match" + square, otherCreature.getAge(), creature.getAge());
+                }
+            }
+        }
+    }
+}